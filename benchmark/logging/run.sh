@@ -0,0 +1,87 @@
+#!/usr/bin/env bash
+# Сравнительный прогон: пропускная способность и p99 с логированием по умолчанию (SQL, DEBUG,
+# синхронная запись в файл) и в режиме prod (асинхронная запись, прореживание, только медленный SQL).
+# Используются данные и сценарий wrk из benchmark/virtual-threads.
+#
+# Требуется: JDK 17+, docker compose, wrk, curl.
+# Использование: benchmark/logging/run.sh [длительность] [соединений]
+# Результаты: benchmark/logging/results/<время>/summary.csv и сырые отчеты wrk.
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+
+DURATION=${1:-60s}
+CONNECTIONS=${2:-200}
+WRK_THREADS=${WRK_THREADS:-8}
+WARMUP=${WARMUP:-20s}
+ENDPOINTS=(bus-by-id bus-page route-summary)
+BASE_URL=http://localhost:8080
+JAR=build/libs/TransportSchedule-0.0.1-SNAPSHOT.jar
+DATA_DIR=benchmark/virtual-threads
+OUT=benchmark/logging/results/$(date +%Y%m%d-%H%M%S)
+
+export SPRING_DATASOURCE_URL=jdbc:postgresql://localhost:5432/station_db
+export SPRING_DATASOURCE_USERNAME=postgres
+export SPRING_DATASOURCE_PASSWORD=postgres
+export SPRING_DATA_REDIS_HOST=localhost
+
+mkdir -p "$OUT"
+docker compose up -d postgres redis
+./gradlew -q bootJar
+
+# Запуск приложения с заданным профилем; лог пишется туда же, куда и в эксплуатации (logs/application.log)
+start_app() {
+  local mode=$1 profiles=$2
+  rm -f logs/application.log
+  java -Xms1g -Xmx1g -jar "$JAR" --spring.profiles.active="$profiles" > "$OUT/$mode-app.log" 2>&1 &
+  APP_PID=$!
+
+  for _ in $(seq 1 120); do
+    if curl -fs "$BASE_URL/api/buses/route/summary?city=City0" > /dev/null; then
+      return
+    fi
+    sleep 1
+  done
+  echo "Приложение ($mode) не запустилось, см. $OUT/$mode-app.log" >&2
+  kill "$APP_PID"
+  exit 1
+}
+
+stop_app() {
+  kill "$APP_PID"
+  wait "$APP_PID" || true
+}
+
+# Пропускная способность (запросов/с) и p99 (мс) из отчета wrk --latency
+parse_report() {
+  local report=$1
+  local rps p99
+  rps=$(awk '/Requests\/sec/ {print $2}' "$report")
+  p99=$(awk '$1 == "99%" {v=$2; if (v ~ /us$/) {sub(/us$/, "", v); v=v/1000} else if (v ~ /ms$/) {sub(/ms$/, "", v)} else if (v ~ /s$/) {sub(/s$/, "", v); v=v*1000}; print v}' "$report")
+  echo "$rps,$p99"
+}
+
+echo "mode,endpoint,requests_per_sec,p99_ms,log_bytes" > "$OUT/summary.csv"
+
+# Данные загружаются после первого запуска, который создает схему миграциями
+start_app prepare default
+docker compose exec -T postgres psql -q -U postgres station_db < "$DATA_DIR/seed.sql"
+stop_app
+
+for mode in default prod; do
+  docker compose exec -T redis redis-cli flushall > /dev/null
+  start_app "$mode" "$mode"
+
+  for endpoint in "${ENDPOINTS[@]}"; do
+    wrk -t"$WRK_THREADS" -c"$CONNECTIONS" -d"$WARMUP" -s "$DATA_DIR/random-paths.lua" "$BASE_URL" -- "$endpoint" > /dev/null
+    before=$(stat -c %s logs/application.log 2>/dev/null || echo 0)
+    wrk -t"$WRK_THREADS" -c"$CONNECTIONS" -d"$DURATION" --latency -s "$DATA_DIR/random-paths.lua" "$BASE_URL" -- "$endpoint" \
+      > "$OUT/$mode-$endpoint.txt"
+    after=$(stat -c %s logs/application.log 2>/dev/null || echo 0)
+    echo "$mode,$endpoint,$(parse_report "$OUT/$mode-$endpoint.txt"),$((after - before))" >> "$OUT/summary.csv"
+  done
+
+  stop_app
+done
+
+column -s, -t < "$OUT/summary.csv"
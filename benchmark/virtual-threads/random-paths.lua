@@ -0,0 +1,22 @@
+-- Сценарий wrk: каждый запрос идет на случайный ресурс выбранного эндпоинта.
+-- Эндпоинт задается аргументом после "--": bus-by-id, bus-page или route-summary.
+local endpoint
+local maxId
+
+function init(args)
+    endpoint = args[1] or "bus-by-id"
+    maxId = tonumber(args[2] or "200000")
+    math.randomseed(42)
+end
+
+function request()
+    local path
+    if endpoint == "bus-page" then
+        path = "/api/buses?page=" .. math.random(0, 199) .. "&size=20"
+    elseif endpoint == "route-summary" then
+        path = "/api/buses/route/summary?city=City" .. math.random(0, 49)
+    else
+        path = "/api/buses/" .. math.random(1, maxId)
+    end
+    return wrk.format("GET", path)
+end
@@ -0,0 +1,94 @@
+#!/usr/bin/env bash
+# Сравнительный прогон: пропускная способность и p99 в режиме потоков платформы и виртуальных потоков
+# на одних и тех же эндпоинтах, одной сборке (Java 21) и одних и тех же данных.
+#
+# Требуется: JDK 21, docker compose, wrk, curl.
+# Использование: benchmark/virtual-threads/run.sh [длительность] [соединений]
+# Результаты: benchmark/virtual-threads/results/<время>/summary.csv и сырые отчеты wrk.
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+
+DURATION=${1:-60s}
+CONNECTIONS=${2:-400}
+WRK_THREADS=${WRK_THREADS:-8}
+WARMUP=${WARMUP:-20s}
+ENDPOINTS=(bus-by-id bus-page route-summary)
+BASE_URL=http://localhost:8080
+JAR=build/libs/TransportSchedule-0.0.1-SNAPSHOT.jar
+BENCH_DIR=benchmark/virtual-threads
+OUT=$BENCH_DIR/results/$(date +%Y%m%d-%H%M%S)
+
+export SPRING_DATASOURCE_URL=jdbc:postgresql://localhost:5432/station_db
+export SPRING_DATASOURCE_USERNAME=postgres
+export SPRING_DATASOURCE_PASSWORD=postgres
+export SPRING_DATA_REDIS_HOST=localhost
+
+mkdir -p "$OUT"
+docker compose up -d postgres redis
+./gradlew -q bootJar -PjavaVersion=21
+
+# Запуск приложения в заданном режиме; логирование SQL отключено, чтобы не измерять запись логов
+start_app() {
+  local mode=$1 profiles=$2
+  java -Xms1g -Xmx1g -Djdk.tracePinnedThreads=short -jar "$JAR" \
+    --spring.profiles.active="$profiles" \
+    --spring.jpa.properties.hibernate.show_sql=false \
+    --logging.level.root=WARN \
+    --logging.level.org.hibernate.SQL=WARN \
+    --logging.level.org.hibernate.orm.jdbc.bind=WARN \
+    --logging.level.org.example.transportschedule=WARN \
+    > "$OUT/$mode-app.log" 2>&1 &
+  APP_PID=$!
+
+  for _ in $(seq 1 120); do
+    if curl -fs "$BASE_URL/api/buses/route/summary?city=City0" > /dev/null; then
+      return
+    fi
+    sleep 1
+  done
+  echo "Приложение ($mode) не запустилось, см. $OUT/$mode-app.log" >&2
+  kill "$APP_PID"
+  exit 1
+}
+
+stop_app() {
+  kill "$APP_PID"
+  wait "$APP_PID" || true
+}
+
+# Пропускная способность (запросов/с) и p99 (мс) из отчета wrk --latency
+parse_report() {
+  local report=$1
+  local rps p99
+  rps=$(awk '/Requests\/sec/ {print $2}' "$report")
+  p99=$(awk '$1 == "99%" {v=$2; if (v ~ /us$/) {sub(/us$/, "", v); v=v/1000} else if (v ~ /ms$/) {sub(/ms$/, "", v)} else if (v ~ /s$/) {sub(/s$/, "", v); v=v*1000}; print v}' "$report")
+  echo "$rps,$p99"
+}
+
+echo "mode,endpoint,requests_per_sec,p99_ms" > "$OUT/summary.csv"
+
+# Схема создается миграциями при первом запуске, поэтому данные загружаются после него,
+# а замеры идут на новых запусках, где индекс маршрутов построен уже по этим данным
+start_app prepare default
+docker compose exec -T postgres psql -q -U postgres station_db < "$BENCH_DIR/seed.sql"
+stop_app
+
+for mode in platform virtual; do
+  if [ "$mode" = virtual ]; then profiles=virtual; else profiles=default; fi
+  # Оба режима начинают с пустого кэша
+  docker compose exec -T redis redis-cli flushall > /dev/null
+  start_app "$mode" "$profiles"
+
+  for endpoint in "${ENDPOINTS[@]}"; do
+    wrk -t"$WRK_THREADS" -c"$CONNECTIONS" -d"$WARMUP" -s "$BENCH_DIR/random-paths.lua" "$BASE_URL" -- "$endpoint" > /dev/null
+    wrk -t"$WRK_THREADS" -c"$CONNECTIONS" -d"$DURATION" --latency -s "$BENCH_DIR/random-paths.lua" "$BASE_URL" -- "$endpoint" \
+      > "$OUT/$mode-$endpoint.txt"
+    echo "$mode,$endpoint,$(parse_report "$OUT/$mode-$endpoint.txt")" >> "$OUT/summary.csv"
+  done
+
+  stop_app
+done
+
+column -s, -t < "$OUT/summary.csv"
+echo "Закрепления виртуальных потоков (если были) записаны в $OUT/virtual-app.log"
@@ -0,0 +1,19 @@
+-- Тестовое расписание для сравнительного прогона: 200 000 автобусов между 50 городами на 60 дней вперед.
+-- Генератор детерминирован (без random()), поэтому данные одинаковы от прогона к прогону.
+-- Идентификаторы задаются явно (1..200000): последовательность после V6 увеличивается на 50,
+-- и без этого id шли бы с шагом 50, а запросы /api/buses/{id} из random-paths.lua попадали бы мимо рейсов.
+truncate buses;
+
+insert into buses (id, city_from, city_to, date_of_departure, date_of_arrival, price)
+select n,
+       'City' || (n % 50),
+       'City' || ((n * 7 + 1) % 50),
+       date_trunc('day', now()) + (n % 60) * interval '1 day' + (n % 1440) * interval '1 minute',
+       date_trunc('day', now()) + (n % 60) * interval '1 day' + (n % 1440 + 180) * interval '1 minute',
+       300 + (n % 2000)
+from generate_series(1, 200000) as n;
+
+-- Как в V6: значение последовательности — верхняя граница уже выданного диапазона из 50 id
+select setval('buses_id_seq', (select max(id) from buses) + 50, true);
+
+analyze buses;
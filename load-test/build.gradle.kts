@@ -0,0 +1,61 @@
+import org.springframework.boot.gradle.plugin.SpringBootPlugin
+
+plugins {
+    java
+    application
+    id("io.spring.dependency-management")
+}
+
+group = "org.example"
+version = "0.0.1-SNAPSHOT"
+
+val javaVersion = (findProperty("javaVersion") as String?)?.toInt() ?: 17
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(javaVersion)
+    }
+}
+
+configurations {
+    compileOnly {
+        extendsFrom(configurations.annotationProcessor.get())
+    }
+}
+
+repositories {
+    mavenCentral()
+}
+
+// Версии библиотек берутся из BOM Spring Boot основного приложения
+dependencyManagement {
+    imports {
+        mavenBom(SpringBootPlugin.BOM_COORDINATES)
+    }
+}
+
+dependencies {
+    implementation("org.testcontainers:postgresql")
+    implementation("org.postgresql:postgresql")
+    implementation("org.flywaydb:flyway-core")
+    implementation("org.flywaydb:flyway-database-postgresql")
+    implementation("io.lettuce:lettuce-core")
+    implementation("org.springframework.security:spring-security-crypto")
+    implementation("com.fasterxml.jackson.core:jackson-databind")
+    implementation("org.hdrhistogram:HdrHistogram:2.2.2")
+    compileOnly("org.projectlombok:lombok")
+    annotationProcessor("org.projectlombok:lombok")
+    runtimeOnly("org.slf4j:slf4j-simple")
+}
+
+application {
+    mainClass = "org.example.transportschedule.loadtest.LoadTestApplication"
+}
+
+// Нагрузочный прогон: ./gradlew :load-test:run --args="--profile=mixed --duration=5m"
+// Пути (jar приложения, миграции, результаты) отсчитываются от корня проекта
+tasks.named<JavaExec>("run") {
+    dependsOn(":bootJar")
+    workingDir = rootDir
+    jvmArgs("-Xms512m", "-Xmx2g")
+}
@@ -0,0 +1,104 @@
+package org.example.transportschedule.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * HTTP-клиент к REST API. Запросы идут с токеном администратора, токен обновляется заранее,
+ * до истечения срока действия. Тело ответа читается полностью (как его читал бы клиент) и отбрасывается.
+ */
+final class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long TOKEN_REFRESH_MARGIN_NANOS = Duration.ofMinutes(1).toNanos();
+
+    /**
+     * Запрос к API. Тело (для записи) сериализуется в JSON.
+     */
+    record Request(String method, String path, Map<String, Object> body) {
+
+        static Request get(String path) {
+            return new Request("GET", path, null);
+        }
+    }
+
+    /**
+     * Код ответа и размер тела в байтах.
+     */
+    record Response(int status, long bytes) {
+    }
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    private volatile String token;
+    private volatile long tokenRefreshAt;
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    Response send(Request request) throws IOException, InterruptedException {
+        HttpRequest.BodyPublisher body = request.body() == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(json(request.body()));
+
+        HttpRequest httpRequest = HttpRequest.newBuilder(URI.create(baseUrl + request.path()))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token())
+                .header("Content-Type", "application/json")
+                .method(request.method(), body)
+                .build();
+
+        HttpResponse<byte[]> response = http.send(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+        return new Response(response.statusCode(), response.body().length);
+    }
+
+    private String token() throws IOException, InterruptedException {
+        if (token == null || System.nanoTime() > tokenRefreshAt) {
+            synchronized (this) {
+                if (token == null || System.nanoTime() > tokenRefreshAt) {
+                    login();
+                }
+            }
+        }
+        return token;
+    }
+
+    private void login() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json(Map.of(
+                        "username", ScheduleSeeder.ADMIN_USERNAME,
+                        "password", ScheduleSeeder.ADMIN_PASSWORD))))
+                .build();
+
+        HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with status " + response.statusCode());
+        }
+
+        JsonNode tokenDTO = objectMapper.readTree(response.body());
+        long expiresIn = Duration.ofSeconds(tokenDTO.get("expiresIn").asLong()).toNanos();
+        tokenRefreshAt = System.nanoTime() + Math.max(expiresIn - TOKEN_REFRESH_MARGIN_NANOS, expiresIn / 2);
+        token = tokenDTO.get("accessToken").asText();
+    }
+
+    private byte[] json(Map<String, Object> body) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(body);
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.transportschedule.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Приложение, запущенное отдельным процессом из собранного jar против Postgres и Redis стенда.
+ * Ограничение частоты запросов отключается (иначе замерялся бы лимитер, а не сервис),
+ * логирование SQL и отладочные логи выключены, как в боевом окружении.
+ */
+@Slf4j
+final class ApplicationProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final Process process;
+    private final String baseUrl;
+
+    private ApplicationProcess(Process process, String baseUrl) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    static ApplicationProcess start(LoadTestSettings settings, ScheduleStand stand) throws IOException, InterruptedException {
+        if (!Files.exists(settings.appJar())) {
+            throw new IllegalStateException("Application jar not found: " + settings.appJar().toAbsolutePath()
+                    + ", run ./gradlew bootJar first");
+        }
+
+        Path appLog = settings.output().resolve("app.log");
+        List<String> command = List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xms1g", "-Xmx1g",
+                "-jar", settings.appJar().toAbsolutePath().toString(),
+                "--server.port=" + settings.appPort(),
+                "--spring.data.redis.host=" + stand.redisHost(),
+                "--spring.data.redis.port=" + stand.redisPort(),
+                "--schedule.rate-limit.enabled=false",
+                "--spring.jpa.properties.hibernate.show_sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.orm.jdbc.bind=WARN",
+                "--logging.level.org.example.transportschedule=WARN");
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(appLog.toFile());
+        builder.environment().putAll(Map.of(
+                "SPRING_DATASOURCE_URL", stand.jdbcUrl(),
+                "SPRING_DATASOURCE_USERNAME", stand.dbUser(),
+                "SPRING_DATASOURCE_PASSWORD", stand.dbPassword()));
+
+        log.info("Запуск приложения {}, лог: {}", settings.appJar(), appLog);
+        ApplicationProcess application = new ApplicationProcess(builder.start(), "http://localhost:" + settings.appPort());
+        application.awaitReady(appLog);
+        return application;
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    private void awaitReady(Path appLog) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + process.exitValue() + ", see " + appLog);
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Порт еще не открыт
+            }
+            Thread.sleep(1000);
+        }
+        close();
+        throw new IllegalStateException("Application did not become healthy in " + STARTUP_TIMEOUT + ", see " + appLog);
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            process.waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.transportschedule.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.loadtest.ApiClient.Request;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Генератор нагрузки: concurrency клиентов шлют запросы по профилю трафика в течение фазы.
+ * Без заданной интенсивности каждый клиент отправляет следующий запрос сразу после ответа (замкнутая модель).
+ * С интенсивностью клиенты идут по расписанию, а задержка отсчитывается от запланированного момента:
+ * если сервер не успевает, время ожидания в очереди попадает в перцентили.
+ */
+@Slf4j
+final class LoadDriver {
+
+    private final ApiClient api;
+    private final Workload workload;
+    private final LoadTestSettings settings;
+    private final SplittableRandom random;
+
+    LoadDriver(ApiClient api, Workload workload, LoadTestSettings settings) {
+        this.api = api;
+        this.workload = workload;
+        this.settings = settings;
+        this.random = new SplittableRandom(settings.seed() + 2);
+    }
+
+    /**
+     * Выполняет фазу прогона.
+     *
+     * @param name     название фазы для лога
+     * @param duration длительность
+     * @return статистика по видам запросов, длительность фазы
+     */
+    PhaseResult run(String name, Duration duration) throws InterruptedException {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+
+        log.info("Фаза '{}': профиль {}, клиентов {}, интенсивность {}, длительность {}", name, settings.profile(),
+                settings.concurrency(), settings.rate() == 0 ? "без ограничения" : settings.rate() + " запросов/с",
+                duration);
+
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        List<Thread> clients = new ArrayList<>(settings.concurrency());
+        for (int i = 0; i < settings.concurrency(); i++) {
+            SplittableRandom clientRandom = random.split();
+            long firstStart = settings.rate() == 0 ? started : started + i * intervalNanos() / settings.concurrency();
+            Thread client = new Thread(() -> drive(clientRandom, firstStart, deadline, stats), "load-client-" + i);
+            clients.add(client);
+            client.start();
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        Map<Operation, OperationStats.Snapshot> snapshots = new EnumMap<>(Operation.class);
+        stats.forEach((operation, operationStats) -> snapshots.put(operation, operationStats.snapshot()));
+        return new PhaseResult(snapshots, elapsed);
+    }
+
+    private void drive(SplittableRandom random, long firstStart, long deadline, Map<Operation, OperationStats> stats) {
+        long interval = intervalNanos();
+        long scheduled = firstStart;
+
+        while (scheduled < deadline && !Thread.currentThread().isInterrupted()) {
+            if (interval > 0) {
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                scheduled = System.nanoTime();
+            }
+
+            Operation operation = settings.profile().next(random);
+            Request request = workload.request(operation, random);
+            try {
+                ApiClient.Response response = api.send(request);
+                stats.get(operation).record(micros(System.nanoTime() - scheduled), response);
+            } catch (IOException e) {
+                stats.get(operation).recordFailure(micros(System.nanoTime() - scheduled));
+                log.debug("Запрос {} {} не выполнен: {}", request.method(), request.path(), e.toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            scheduled += interval;
+        }
+    }
+
+    /**
+     * Интервал между запросами одного клиента при заданной интенсивности (0 - без ограничения).
+     */
+    private long intervalNanos() {
+        return settings.rate() == 0 ? 0 : TimeUnit.SECONDS.toNanos(settings.concurrency()) / settings.rate();
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    /**
+     * Итог фазы.
+     */
+    record PhaseResult(Map<Operation, OperationStats.Snapshot> operations, Duration elapsed) {
+    }
+}
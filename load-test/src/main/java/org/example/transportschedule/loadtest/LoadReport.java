@@ -0,0 +1,102 @@
+package org.example.transportschedule.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.example.transportschedule.loadtest.LoadDriver.PhaseResult;
+import org.example.transportschedule.loadtest.OperationStats.Snapshot;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Отчет о прогоне: пропускная способность, перцентили задержек и коды ответов по видам запросов и в сумме.
+ * Сводка пишется в консоль и в summary.csv, полные распределения задержек - в файлы .hgrm
+ * (формат HdrHistogram, строятся графики на hdrhistogram.github.io/HdrHistogram/plotFiles.html).
+ */
+final class LoadReport {
+
+    private static final double MICROS_IN_MILLI = 1000.0;
+    private static final String TOTAL = "TOTAL";
+    private static final String HEADER = "operation,requests,requests_per_sec,2xx,3xx,4xx,5xx,failed,"
+            + "p50_ms,p90_ms,p99_ms,p99_9_ms,max_ms,avg_response_bytes";
+
+    private final PhaseResult result;
+    private final LoadTestSettings settings;
+
+    LoadReport(PhaseResult result, LoadTestSettings settings) {
+        this.result = result;
+        this.settings = settings;
+    }
+
+    void write(PrintStream console) throws IOException {
+        Files.createDirectories(settings.output());
+        Histogram total = new Histogram(3);
+        long[] totalStatuses = new long[6];
+        long totalFailures = 0;
+        long totalBytes = 0;
+
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(settings.output().resolve("summary.csv")))) {
+            csv.println(HEADER);
+            console.printf(Locale.ROOT, "%n%-30s %9s %9s %8s %8s %8s %8s %8s %9s %9s %9s %9s %9s%n",
+                    "operation", "requests", "req/s", "2xx", "3xx", "4xx", "5xx", "failed",
+                    "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+            for (Map.Entry<Operation, Snapshot> entry : result.operations().entrySet()) {
+                Snapshot snapshot = entry.getValue();
+                if (snapshot.requests() == 0) {
+                    continue;
+                }
+                row(console, csv, entry.getKey().description(), snapshot.latency(), snapshot.statusClasses(),
+                        snapshot.failures(), snapshot.bytes());
+                writeDistribution(entry.getKey().name().toLowerCase(Locale.ROOT), snapshot.latency());
+
+                total.add(snapshot.latency());
+                for (int i = 0; i < totalStatuses.length; i++) {
+                    totalStatuses[i] += snapshot.status(i);
+                }
+                totalFailures += snapshot.failures();
+                totalBytes += snapshot.bytes();
+            }
+
+            row(console, csv, TOTAL, total, totalStatuses, totalFailures, totalBytes);
+            writeDistribution("total", total);
+        }
+        console.printf("%nРезультаты: %s%n", settings.output().toAbsolutePath());
+    }
+
+    private void row(PrintStream console, PrintWriter csv, String operation, Histogram latency,
+                     long[] statuses, long failures, long bytes) {
+        long requests = latency.getTotalCount();
+        double seconds = result.elapsed().toNanos() / 1e9;
+        double p50 = millis(latency, 50);
+        double p90 = millis(latency, 90);
+        double p99 = millis(latency, 99);
+        double p999 = millis(latency, 99.9);
+        double max = latency.getMaxValue() / MICROS_IN_MILLI;
+        long answered = requests - failures;
+
+        console.printf(Locale.ROOT, "%-30s %9d %9.1f %8d %8d %8d %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                operation, requests, requests / seconds, statuses[2], statuses[3], statuses[4], statuses[5], failures,
+                p50, p90, p99, p999, max);
+        csv.printf(Locale.ROOT, "\"%s\",%d,%.1f,%d,%d,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%d%n",
+                operation, requests, requests / seconds, statuses[2], statuses[3], statuses[4], statuses[5], failures,
+                p50, p90, p99, p999, max, answered == 0 ? 0 : bytes / answered);
+    }
+
+    private void writeDistribution(String name, Histogram latency) throws IOException {
+        Path file = settings.output().resolve(name + ".hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            // Значения записаны в микросекундах, в файле - миллисекунды
+            latency.outputPercentileDistribution(out, MICROS_IN_MILLI);
+        }
+    }
+
+    private static double millis(Histogram latency, double percentile) {
+        return latency.getValueAtPercentile(percentile) / MICROS_IN_MILLI;
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.transportschedule.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.loadtest.LoadDriver.PhaseResult;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+
+/**
+ * Нагрузочный прогон REST API на синтетическом расписании.
+ * <ol>
+ *     <li>поднимает Postgres и Redis (Testcontainers или локальные);</li>
+ *     <li>накатывает миграции приложения и загружает сгенерированное расписание, очищает Redis;</li>
+ *     <li>запускает приложение из jar (или использует уже запущенное по --base-url);</li>
+ *     <li>при --cache=warm прогревает кеши страниц и сводок маршрутов;</li>
+ *     <li>после прогрева JIT и пулов измеряет нагрузку по профилю трафика и пишет отчет.</li>
+ * </ol>
+ * Запуск: ./gradlew :load-test:run --args="--profile=mixed --concurrency=64 --duration=5m".
+ * Для внешнего приложения (--base-url) его нужно перезапустить после загрузки данных:
+ * индекс маршрутов строится при старте.
+ */
+@Slf4j
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        Files.createDirectories(settings.output());
+        TimetableGenerator generator = new TimetableGenerator(settings, LocalDate.now());
+
+        try (ScheduleStand stand = ScheduleStand.start(settings)) {
+            ScheduleSeeder seeder = new ScheduleSeeder(stand, settings);
+            seeder.migrate();
+            seeder.seedDatabase(generator);
+            seeder.resetRedis();
+
+            ApplicationProcess application = settings.launchApplication()
+                    ? ApplicationProcess.start(settings, stand)
+                    : null;
+            try {
+                String baseUrl = application != null ? application.baseUrl() : settings.baseUrl();
+                ApiClient api = new ApiClient(baseUrl);
+                Workload workload = new Workload(generator, settings);
+
+                if (settings.cache().equals("warm")) {
+                    warmCaches(api, workload, generator, settings);
+                }
+
+                LoadDriver driver = new LoadDriver(api, workload, settings);
+                driver.run("прогрев", settings.warmup());
+                PhaseResult result = driver.run("измерение", settings.duration());
+                new LoadReport(result, settings).write(System.out);
+            } finally {
+                if (application != null) {
+                    application.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Заполняет кеши так, как их заполняют клиенты: первые страницы списков и сводки маршрутов всех городов.
+     */
+    private static void warmCaches(ApiClient api, Workload workload, TimetableGenerator generator,
+                                   LoadTestSettings settings) throws Exception {
+        log.info("Прогрев кешей: {} страниц списков, сводки {} городов", settings.warmPages(), generator.cities().size());
+        for (int page = 0; page < settings.warmPages(); page++) {
+            api.send(ApiClient.Request.get(workload.page("/api/trains", page)));
+            api.send(ApiClient.Request.get(workload.page("/api/buses", page)));
+        }
+        for (String city : generator.cities()) {
+            api.send(ApiClient.Request.get("/api/trains/route/summary?city=" + URLEncoder.encode(city, StandardCharsets.UTF_8)));
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package org.example.transportschedule.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Параметры прогона. Задаются аргументами вида --имя=значение, для остальных берутся значения по умолчанию.
+ *
+ * @param stand          где поднимаются Postgres и Redis: containers (Testcontainers) или local (docker compose / свои)
+ * @param jdbcUrl        адрес Postgres для stand=local
+ * @param dbUser         пользователь Postgres для stand=local
+ * @param dbPassword     пароль Postgres для stand=local
+ * @param redisHost      хост Redis для stand=local
+ * @param redisPort      порт Redis для stand=local
+ * @param baseUrl        адрес уже запущенного приложения; если не задан, приложение запускается из appJar
+ * @param appJar         собранное приложение (./gradlew bootJar)
+ * @param appPort        порт запускаемого приложения
+ * @param migrations     каталог миграций Flyway основного приложения
+ * @param cities         количество городов
+ * @param trains         количество поездов
+ * @param buses          количество автобусов
+ * @param days           горизонт расписания в днях от текущей даты
+ * @param maxStops       максимум промежуточных остановок поезда
+ * @param meanStops      среднее количество промежуточных остановок
+ * @param cityPopularity показатель распределения Ципфа для популярности городов (0 - равномерно)
+ * @param trainPrice     медиана цены поезда
+ * @param busPrice       медиана цены автобуса
+ * @param priceSpread    сигма логнормального распределения цен
+ * @param seed           зерно генератора (одинаковое зерно - одинаковое расписание и трафик)
+ * @param profile        профиль трафика
+ * @param concurrency    количество одновременных клиентов
+ * @param rate           целевая интенсивность (запросов/с на все клиенты); 0 - каждый клиент шлет следующий
+ *                       запрос сразу после ответа. При заданной интенсивности задержка считается от запланированного
+ *                       момента отправки, поэтому очередь перед медленным сервером не скрывается
+ * @param warmup         длительность прогрева (результаты не учитываются)
+ * @param duration       длительность измерения
+ * @param cache          состояние кешей перед прогоном: warm (страницы и поиски прогреты) или cold
+ * @param warmPages      сколько первых страниц каждого списка прогревается
+ * @param pageSize       размер страницы списков
+ * @param output         каталог результатов
+ */
+record LoadTestSettings(String stand,
+                        String jdbcUrl,
+                        String dbUser,
+                        String dbPassword,
+                        String redisHost,
+                        int redisPort,
+                        String baseUrl,
+                        Path appJar,
+                        int appPort,
+                        Path migrations,
+                        int cities,
+                        int trains,
+                        int buses,
+                        int days,
+                        int maxStops,
+                        double meanStops,
+                        double cityPopularity,
+                        double trainPrice,
+                        double busPrice,
+                        double priceSpread,
+                        long seed,
+                        TrafficProfile profile,
+                        int concurrency,
+                        int rate,
+                        Duration warmup,
+                        Duration duration,
+                        String cache,
+                        int warmPages,
+                        int pageSize,
+                        Path output) {
+
+    private static final Set<String> STANDS = Set.of("containers", "local");
+    private static final Set<String> CACHE_MODES = Set.of("warm", "cold");
+
+    LoadTestSettings {
+        if (!STANDS.contains(stand)) {
+            throw new IllegalArgumentException("Unknown stand: " + stand + ", expected one of " + STANDS);
+        }
+        if (!CACHE_MODES.contains(cache)) {
+            throw new IllegalArgumentException("Unknown cache mode: " + cache + ", expected one of " + CACHE_MODES);
+        }
+        if (cities < 2 || cities > TimetableGenerator.MAX_CITIES) {
+            throw new IllegalArgumentException("cities must be between 2 and " + TimetableGenerator.MAX_CITIES);
+        }
+        if (maxStops < 1 || maxStops > 10 || maxStops > cities - 2) {
+            throw new IllegalArgumentException("maxStops must be between 1 and min(10, cities - 2)");
+        }
+        if (meanStops <= 0) {
+            throw new IllegalArgumentException("meanStops must be positive");
+        }
+        if (trains < 1 || buses < 1 || days < 1 || concurrency < 1 || pageSize < 1) {
+            throw new IllegalArgumentException("trains, buses, days, concurrency and pageSize must be positive");
+        }
+        if (rate < 0) {
+            throw new IllegalArgumentException("rate must not be negative");
+        }
+    }
+
+    static LoadTestSettings parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        Arguments arguments = new Arguments(values);
+        LoadTestSettings settings = new LoadTestSettings(
+                arguments.string("stand", "containers"),
+                arguments.string("jdbc-url", "jdbc:postgresql://localhost:5432/station_db"),
+                arguments.string("db-user", "postgres"),
+                arguments.string("db-password", "postgres"),
+                arguments.string("redis-host", "localhost"),
+                arguments.integer("redis-port", 6379),
+                arguments.string("base-url", ""),
+                Path.of(arguments.string("app-jar", "build/libs/TransportSchedule-0.0.1-SNAPSHOT.jar")),
+                arguments.integer("app-port", 8080),
+                Path.of(arguments.string("migrations", "src/main/resources/db/migration")),
+                arguments.integer("cities", 40),
+                arguments.integer("trains", 200_000),
+                arguments.integer("buses", 200_000),
+                arguments.integer("days", 60),
+                arguments.integer("max-stops", 10),
+                arguments.decimal("mean-stops", 2.5),
+                arguments.decimal("city-popularity", 1.0),
+                arguments.decimal("train-price", 2500),
+                arguments.decimal("bus-price", 800),
+                arguments.decimal("price-spread", 0.5),
+                arguments.integer("seed", 42),
+                TrafficProfile.valueOf(arguments.string("profile", "mixed").toUpperCase().replace('-', '_')),
+                arguments.integer("concurrency", 64),
+                arguments.integer("rate", 0),
+                Duration.parse("PT" + arguments.string("warmup", "30s").toUpperCase()),
+                Duration.parse("PT" + arguments.string("duration", "2m").toUpperCase()),
+                arguments.string("cache", "warm"),
+                arguments.integer("warm-pages", 50),
+                arguments.integer("page-size", 20),
+                Path.of(arguments.string("output", "build/results/load-test/"
+                        + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")))));
+
+        if (!arguments.unused().isEmpty()) {
+            throw new IllegalArgumentException("Unknown arguments: " + arguments.unused());
+        }
+        return settings;
+    }
+
+    boolean launchApplication() {
+        return baseUrl.isBlank();
+    }
+
+    /**
+     * Значения аргументов с учетом того, какие из них были прочитаны.
+     */
+    private static final class Arguments {
+
+        private final Map<String, String> values;
+
+        Arguments(Map<String, String> values) {
+            this.values = new HashMap<>(values);
+        }
+
+        String string(String name, String defaultValue) {
+            String value = values.remove(name);
+            return value == null ? defaultValue : value;
+        }
+
+        int integer(String name, int defaultValue) {
+            return Integer.parseInt(string(name, String.valueOf(defaultValue)).replace("_", ""));
+        }
+
+        double decimal(String name, double defaultValue) {
+            return Double.parseDouble(string(name, String.valueOf(defaultValue)));
+        }
+
+        Set<String> unused() {
+            return values.keySet();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.transportschedule.loadtest;
+
+/**
+ * Вид запроса в профиле трафика.
+ */
+enum Operation {
+
+    TRAIN_BY_ID("GET /api/trains/{id}", false),
+    BUS_BY_ID("GET /api/buses/{id}", false),
+    TRAIN_PAGE("GET /api/trains?page", false),
+    BUS_PAGE("GET /api/buses?page", false),
+    TRAIN_SEARCH("GET /api/trains/search", false),
+    TRAIN_ROUTE_SUMMARY("GET /api/trains/route/summary", false),
+    TRAIN_UPDATE("PUT /api/trains/{id}", true),
+    BUS_UPDATE("PUT /api/buses/{id}", true),
+    TRAIN_CREATE("POST /api/trains", true);
+
+    private final String description;
+    private final boolean write;
+
+    Operation(String description, boolean write) {
+        this.description = description;
+        this.write = write;
+    }
+
+    String description() {
+        return description;
+    }
+
+    boolean write() {
+        return write;
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.transportschedule.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Статистика одного вида запросов за фазу прогона: гистограмма задержек (в микросекундах),
+ * ответы по классам кодов, сетевые ошибки и объем тел ответов. Запись потокобезопасна и не блокирует.
+ */
+final class OperationStats {
+
+    private final Recorder latency = new Recorder(3);
+    private final LongAdder[] statusClasses = new LongAdder[6];
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    OperationStats() {
+        for (int i = 0; i < statusClasses.length; i++) {
+            statusClasses[i] = new LongAdder();
+        }
+    }
+
+    void record(long latencyMicros, ApiClient.Response response) {
+        latency.recordValue(latencyMicros);
+        statusClasses[Math.min(response.status() / 100, statusClasses.length - 1)].increment();
+        bytes.add(response.bytes());
+    }
+
+    void recordFailure(long latencyMicros) {
+        latency.recordValue(latencyMicros);
+        failures.increment();
+    }
+
+    Snapshot snapshot() {
+        long[] statuses = new long[statusClasses.length];
+        for (int i = 0; i < statuses.length; i++) {
+            statuses[i] = statusClasses[i].sum();
+        }
+        return new Snapshot(latency.getIntervalHistogram(), statuses, failures.sum(), bytes.sum());
+    }
+
+    /**
+     * Итог фазы по виду запросов.
+     *
+     * @param latency       задержки в микросекундах
+     * @param statusClasses количество ответов по классам кодов (индекс - первая цифра кода)
+     * @param failures      запросы без ответа (таймаут, разрыв соединения)
+     * @param bytes         суммарный размер тел ответов
+     */
+    record Snapshot(Histogram latency, long[] statusClasses, long failures, long bytes) {
+
+        long requests() {
+            return latency.getTotalCount();
+        }
+
+        long status(int statusClass) {
+            return statusClasses[statusClass];
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.transportschedule.loadtest;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.loadtest.TimetableGenerator.Trip;
+import org.flywaydb.core.Flyway;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Подготовка данных: схема накатывается миграциями основного приложения, расписание загружается
+ * через COPY (сотни тысяч строк за секунды), Redis очищается. Учетные записи прогона создаются заново.
+ */
+@Slf4j
+final class ScheduleSeeder {
+
+    static final String ADMIN_USERNAME = "loadtest-admin";
+    static final String ADMIN_PASSWORD = "loadtest-admin";
+
+    private static final int COPY_BUFFER_ROWS = 10_000;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final ScheduleStand stand;
+    private final LoadTestSettings settings;
+
+    ScheduleSeeder(ScheduleStand stand, LoadTestSettings settings) {
+        this.stand = stand;
+        this.settings = settings;
+    }
+
+    void migrate() {
+        Flyway.configure()
+                .dataSource(stand.jdbcUrl(), stand.dbUser(), stand.dbPassword())
+                .locations("filesystem:" + settings.migrations().toAbsolutePath())
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+
+    void seedDatabase(TimetableGenerator generator) throws SQLException {
+        // На соединении одновременно может идти только один COPY, поэтому остановки грузятся через второе
+        try (Connection connection = connect();
+             Connection stopConnection = connect();
+             Statement statement = connection.createStatement()) {
+            statement.execute("truncate train_stop_list, trains, buses, schedule_outbox, corridor_daily_stats");
+
+            long started = System.nanoTime();
+            CopyIn trains = copy(connection,
+                    "copy trains (id, city_from, city_to, price, date_of_departure, date_of_arrival) from stdin");
+            CopyIn stops = copy(stopConnection, "copy train_stop_list (train_id, stop_list) from stdin");
+            StringBuilder trainRows = new StringBuilder();
+            StringBuilder stopRows = new StringBuilder();
+            int[] buffered = new int[1];
+            generator.trains(trip -> {
+                appendTrip(trainRows, trip);
+                trip.stops().forEach(stop -> stopRows.append(trip.id()).append('\t').append(stop).append('\n'));
+                if (++buffered[0] == COPY_BUFFER_ROWS) {
+                    write(trains, trainRows);
+                    write(stops, stopRows);
+                    buffered[0] = 0;
+                }
+            });
+            write(trains, trainRows);
+            write(stops, stopRows);
+            trains.endCopy();
+            stops.endCopy();
+
+            CopyIn buses = copy(connection,
+                    "copy buses (id, city_from, city_to, price, date_of_departure, date_of_arrival) from stdin");
+            StringBuilder busRows = new StringBuilder();
+            buffered[0] = 0;
+            generator.buses(trip -> {
+                appendTrip(busRows, trip);
+                if (++buffered[0] == COPY_BUFFER_ROWS) {
+                    write(buses, busRows);
+                    buffered[0] = 0;
+                }
+            });
+            write(buses, busRows);
+            buses.endCopy();
+
+            // Так же, как в V6: значение последовательности - верхняя граница выданного диапазона
+            statement.execute("select setval('trains_id_seq', " + (settings.trains() + 50) + ", true)");
+            statement.execute("select setval('buses_id_seq', " + (settings.buses() + 50) + ", true)");
+            statement.execute("analyze trains");
+            statement.execute("analyze train_stop_list");
+            statement.execute("analyze buses");
+
+            log.info("Загружено {} поездов и {} автобусов за {} мс", settings.trains(), settings.buses(),
+                    (System.nanoTime() - started) / 1_000_000);
+
+            seedAdmin(connection);
+        }
+    }
+
+    /**
+     * Очищает Redis, чтобы в кешах не осталось данных прошлого прогона.
+     */
+    void resetRedis() {
+        RedisClient client = RedisClient.create(RedisURI.create(stand.redisHost(), stand.redisPort()));
+        try (StatefulRedisConnection<String, String> connection = client.connect()) {
+            connection.sync().flushall();
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    private void seedAdmin(Connection connection) throws SQLException {
+        try (PreparedStatement delete = connection.prepareStatement("delete from users where username = ?");
+             PreparedStatement insert = connection.prepareStatement(
+                     "insert into users (username, password, role) values (?, ?, 'ADMIN')")) {
+            delete.setString(1, ADMIN_USERNAME);
+            delete.executeUpdate();
+            insert.setString(1, ADMIN_USERNAME);
+            insert.setString(2, new BCryptPasswordEncoder().encode(ADMIN_PASSWORD));
+            insert.executeUpdate();
+        }
+    }
+
+    private static void appendTrip(StringBuilder rows, Trip trip) {
+        rows.append(trip.id()).append('\t')
+                .append(trip.cityFrom()).append('\t')
+                .append(trip.cityTo()).append('\t')
+                .append(trip.price()).append('\t')
+                .append(TIMESTAMP.format(trip.departure())).append('\t')
+                .append(TIMESTAMP.format(trip.arrival())).append('\n');
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(stand.jdbcUrl(), stand.dbUser(), stand.dbPassword());
+    }
+
+    private static CopyIn copy(Connection connection, String sql) throws SQLException {
+        return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+    }
+
+    private static void write(CopyIn copy, StringBuilder rows) {
+        byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            copy.writeToCopy(bytes, 0, bytes.length);
+        } catch (SQLException e) {
+            throw new IllegalStateException("COPY failed", e);
+        }
+        rows.setLength(0);
+    }
+}
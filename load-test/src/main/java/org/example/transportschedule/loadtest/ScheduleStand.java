@@ -0,0 +1,79 @@
+package org.example.transportschedule.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Инфраструктура прогона: Postgres и Redis. В режиме containers поднимаются через Testcontainers
+ * теми же образами, что и в docker-compose.yaml, в режиме local используются уже запущенные экземпляры.
+ */
+@Slf4j
+final class ScheduleStand implements AutoCloseable {
+
+    private static final String POSTGRES_IMAGE = "postgres:16";
+    private static final String REDIS_IMAGE = "redis:6.2";
+    private static final int REDIS_PORT = 6379;
+
+    private final PostgreSQLContainer<?> postgres;
+    private final GenericContainer<?> redis;
+    private final LoadTestSettings settings;
+
+    private ScheduleStand(LoadTestSettings settings, PostgreSQLContainer<?> postgres, GenericContainer<?> redis) {
+        this.settings = settings;
+        this.postgres = postgres;
+        this.redis = redis;
+    }
+
+    static ScheduleStand start(LoadTestSettings settings) {
+        if (settings.stand().equals("local")) {
+            log.info("Используются локальные Postgres ({}) и Redis ({}:{})",
+                    settings.jdbcUrl(), settings.redisHost(), settings.redisPort());
+            return new ScheduleStand(settings, null, null);
+        }
+
+        PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse(POSTGRES_IMAGE))
+                .withDatabaseName("station_db")
+                // Настройки ближе к серверу, чем к значениям по умолчанию контейнера
+                .withCommand("postgres", "-c", "shared_buffers=512MB", "-c", "max_connections=200",
+                        "-c", "synchronous_commit=off");
+        GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse(REDIS_IMAGE))
+                .withExposedPorts(REDIS_PORT);
+
+        log.info("Запуск контейнеров {} и {}", POSTGRES_IMAGE, REDIS_IMAGE);
+        postgres.start();
+        redis.start();
+        return new ScheduleStand(settings, postgres, redis);
+    }
+
+    String jdbcUrl() {
+        return postgres != null ? postgres.getJdbcUrl() : settings.jdbcUrl();
+    }
+
+    String dbUser() {
+        return postgres != null ? postgres.getUsername() : settings.dbUser();
+    }
+
+    String dbPassword() {
+        return postgres != null ? postgres.getPassword() : settings.dbPassword();
+    }
+
+    String redisHost() {
+        return redis != null ? redis.getHost() : settings.redisHost();
+    }
+
+    int redisPort() {
+        return redis != null ? redis.getMappedPort(REDIS_PORT) : settings.redisPort();
+    }
+
+    @Override
+    public void close() {
+        if (redis != null) {
+            redis.stop();
+        }
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package org.example.transportschedule.loadtest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Генератор синтетического расписания, похожего на реальное:
+ * <ul>
+ *     <li>популярность городов подчиняется закону Ципфа: несколько узловых городов и длинный хвост;</li>
+ *     <li>количество промежуточных остановок распределено геометрически со средним meanStops;</li>
+ *     <li>цены логнормальные вокруг медианы, у поездов растут с длиной маршрута;</li>
+ *     <li>отправления сгущаются в утренний и вечерний пики, время кратно 5 минутам.</li>
+ * </ul>
+ * При одинаковых параметрах и зерне расписание совпадает от прогона к прогону.
+ */
+final class TimetableGenerator {
+
+    private static final List<String> REAL_CITIES = List.of(
+            "Москва", "Санкт-Петербург", "Новосибирск", "Екатеринбург", "Казань", "Нижний Новгород",
+            "Челябинск", "Самара", "Уфа", "Ростов-на-Дону", "Краснодар", "Омск", "Воронеж", "Пермь",
+            "Волгоград", "Саратов", "Тюмень", "Ижевск", "Барнаул", "Ульяновск", "Иркутск", "Хабаровск",
+            "Ярославль", "Владивосток", "Махачкала", "Томск", "Оренбург", "Кемерово", "Рязань", "Астрахань",
+            "Пенза", "Липецк", "Киров", "Чебоксары", "Тула", "Калининград", "Курск", "Ставрополь", "Сочи",
+            "Тверь", "Иваново", "Брянск", "Белгород", "Владимир", "Архангельск", "Калуга", "Смоленск",
+            "Вологда", "Орел", "Мурманск", "Псков", "Петрозаводск", "Кострома", "Тамбов", "Великий Новгород");
+
+    private static final List<String> SYNTHETIC_PREFIXES = List.of(
+            "Ново", "Старо", "Верхне", "Нижне", "Бело", "Красно", "Светло", "Высоко");
+
+    private static final List<String> SYNTHETIC_ROOTS = List.of(
+            "горск", "речье", "польск", "дольск", "озерск", "лесовск", "камск", "полянск", "борск", "ключевск");
+
+    static final int MAX_CITIES = REAL_CITIES.size() + SYNTHETIC_PREFIXES.size() * SYNTHETIC_ROOTS.size();
+
+    /**
+     * Рейс расписания. Для автобусов список остановок пуст.
+     */
+    record Trip(long id, String cityFrom, String cityTo, double price,
+                LocalDateTime departure, LocalDateTime arrival, List<String> stops) {
+    }
+
+    private final LoadTestSettings settings;
+    private final LocalDate firstDay;
+    private final List<String> cities;
+    private final double[] cumulativePopularity;
+
+    TimetableGenerator(LoadTestSettings settings, LocalDate firstDay) {
+        this.settings = settings;
+        this.firstDay = firstDay;
+        this.cities = cityNames(settings.cities());
+        this.cumulativePopularity = new double[cities.size()];
+
+        double total = 0;
+        for (int rank = 0; rank < cities.size(); rank++) {
+            total += 1 / Math.pow(rank + 1, settings.cityPopularity());
+            cumulativePopularity[rank] = total;
+        }
+        for (int rank = 0; rank < cities.size(); rank++) {
+            cumulativePopularity[rank] /= total;
+        }
+    }
+
+    List<String> cities() {
+        return cities;
+    }
+
+    /**
+     * Генерирует поезда с идентификаторами 1..trains.
+     */
+    void trains(Consumer<Trip> consumer) {
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        for (long id = 1; id <= settings.trains(); id++) {
+            consumer.accept(train(random, id));
+        }
+    }
+
+    /**
+     * Генерирует автобусы с идентификаторами 1..buses.
+     */
+    void buses(Consumer<Trip> consumer) {
+        SplittableRandom random = new SplittableRandom(settings.seed() + 1);
+        for (long id = 1; id <= settings.buses(); id++) {
+            consumer.accept(bus(random, id));
+        }
+    }
+
+    Trip train(SplittableRandom random, long id) {
+        String cityFrom = city(random);
+        String cityTo = otherCity(random, cityFrom);
+        int stopCount = Math.min(settings.maxStops(), geometric(random, settings.meanStops()));
+
+        List<String> stops = new ArrayList<>(stopCount);
+        while (stops.size() < stopCount) {
+            String stop = city(random);
+            if (!stop.equals(cityFrom) && !stop.equals(cityTo) && !stops.contains(stop)) {
+                stops.add(stop);
+            }
+        }
+
+        LocalDateTime departure = departure(random);
+        // Примерно 2-5 часов на перегон между остановками
+        long minutes = (stopCount + 1) * (120L + 5 * random.nextInt(37));
+        double price = price(random, settings.trainPrice() * (1 + 0.25 * stopCount));
+        return new Trip(id, cityFrom, cityTo, price, departure, departure.plusMinutes(minutes), stops);
+    }
+
+    Trip bus(SplittableRandom random, long id) {
+        String cityFrom = city(random);
+        String cityTo = otherCity(random, cityFrom);
+        LocalDateTime departure = departure(random);
+        long minutes = 60 + 5L * random.nextInt(120);
+        return new Trip(id, cityFrom, cityTo, price(random, settings.busPrice()),
+                departure, departure.plusMinutes(minutes), List.of());
+    }
+
+    /**
+     * Город с учетом популярности: узловые города выбираются чаще.
+     */
+    String city(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulativePopularity, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return cities.get(Math.min(rank, cities.size() - 1));
+    }
+
+    String otherCity(SplittableRandom random, String city) {
+        String other;
+        do {
+            other = city(random);
+        } while (other.equals(city));
+        return other;
+    }
+
+    private LocalDateTime departure(SplittableRandom random) {
+        LocalDateTime day = firstDay.plusDays(random.nextInt(settings.days())).atStartOfDay();
+        // Пики около 8:00 и 19:00, остальное время равномерно
+        double hour = switch (random.nextInt(3)) {
+            case 0 -> 8 + 1.5 * gaussian(random);
+            case 1 -> 19 + 1.5 * gaussian(random);
+            default -> 24 * random.nextDouble();
+        };
+        int minuteOfDay = Math.floorMod((int) Math.round(hour * 12) * 5, 24 * 60);
+        return day.plusMinutes(minuteOfDay);
+    }
+
+    private double price(SplittableRandom random, double median) {
+        double price = median * Math.exp(settings.priceSpread() * gaussian(random));
+        return Math.round(price * 100) / 100.0;
+    }
+
+    private static int geometric(SplittableRandom random, double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        double p = 1 / (mean + 1);
+        return (int) Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Преобразование Бокса — Мюллера
+        double u1 = 1 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    private static List<String> cityNames(int count) {
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count && i < REAL_CITIES.size(); i++) {
+            names.add(REAL_CITIES.get(i));
+        }
+        for (int i = 0; names.size() < count; i++) {
+            String prefix = SYNTHETIC_PREFIXES.get(i % SYNTHETIC_PREFIXES.size());
+            String root = SYNTHETIC_ROOTS.get(i / SYNTHETIC_PREFIXES.size());
+            names.add(prefix + root);
+        }
+        return List.copyOf(names);
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.transportschedule.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Профиль трафика: доли видов запросов. Следующий запрос выбирается случайно пропорционально долям.
+ */
+enum TrafficProfile {
+
+    /**
+     * Обычный день: чтение по id и списков, поиск, редкие правки администратора.
+     */
+    MIXED(Map.of(
+            Operation.TRAIN_BY_ID, 20,
+            Operation.BUS_BY_ID, 20,
+            Operation.TRAIN_PAGE, 12,
+            Operation.BUS_PAGE, 12,
+            Operation.TRAIN_SEARCH, 25,
+            Operation.TRAIN_ROUTE_SUMMARY, 6,
+            Operation.TRAIN_UPDATE, 2,
+            Operation.BUS_UPDATE, 2,
+            Operation.TRAIN_CREATE, 1)),
+
+    /**
+     * Только чтение: кеши не сбрасываются правками.
+     */
+    READ_ONLY(Map.of(
+            Operation.TRAIN_BY_ID, 20,
+            Operation.BUS_BY_ID, 20,
+            Operation.TRAIN_PAGE, 13,
+            Operation.BUS_PAGE, 13,
+            Operation.TRAIN_SEARCH, 27,
+            Operation.TRAIN_ROUTE_SUMMARY, 7)),
+
+    /**
+     * Только поиск поездов между городами.
+     */
+    SEARCH(Map.of(Operation.TRAIN_SEARCH, 1)),
+
+    /**
+     * Только постраничные списки: поведение кешей страниц.
+     */
+    PAGES(Map.of(
+            Operation.TRAIN_PAGE, 1,
+            Operation.BUS_PAGE, 1)),
+
+    /**
+     * Массовое редактирование расписания на фоне чтения: постоянный сброс кешей страниц.
+     */
+    WRITE_HEAVY(Map.of(
+            Operation.TRAIN_BY_ID, 15,
+            Operation.BUS_BY_ID, 15,
+            Operation.TRAIN_PAGE, 15,
+            Operation.BUS_PAGE, 15,
+            Operation.TRAIN_SEARCH, 20,
+            Operation.TRAIN_UPDATE, 8,
+            Operation.BUS_UPDATE, 8,
+            Operation.TRAIN_CREATE, 4));
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    TrafficProfile(Map<Operation, Integer> weights) {
+        Map<Operation, Integer> ordered = new EnumMap<>(weights);
+        this.operations = ordered.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += ordered.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Operation next(SplittableRandom random) {
+        int point = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = Arrays.binarySearch(cumulativeWeights, point + 1);
+        return operations[index >= 0 ? index : -index - 1];
+    }
+}
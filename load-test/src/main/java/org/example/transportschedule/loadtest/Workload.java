@@ -0,0 +1,96 @@
+package org.example.transportschedule.loadtest;
+
+import org.example.transportschedule.loadtest.ApiClient.Request;
+import org.example.transportschedule.loadtest.TimetableGenerator.Trip;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Построение конкретных запросов для видов операций. Распределения повторяют поведение клиентов:
+ * поиск и сводки чаще касаются популярных городов, списки чаще листают с первых страниц,
+ * правки затрагивают существующие рейсы и пишут данные того же вида, что и в загруженном расписании.
+ */
+final class Workload {
+
+    // Формат дат DTO приложения (@JsonFormat)
+    private static final DateTimeFormatter DTO_DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+    private static final double MEAN_PAGE = 3;
+
+    private final TimetableGenerator generator;
+    private final LoadTestSettings settings;
+
+    Workload(TimetableGenerator generator, LoadTestSettings settings) {
+        this.generator = generator;
+        this.settings = settings;
+    }
+
+    Request request(Operation operation, SplittableRandom random) {
+        return switch (operation) {
+            case TRAIN_BY_ID -> Request.get("/api/trains/" + trainId(random));
+            case BUS_BY_ID -> Request.get("/api/buses/" + busId(random));
+            case TRAIN_PAGE -> Request.get(page("/api/trains", random, settings.trains()));
+            case BUS_PAGE -> Request.get(page("/api/buses", random, settings.buses()));
+            case TRAIN_SEARCH -> {
+                String cityFrom = generator.city(random);
+                String cityTo = generator.otherCity(random, cityFrom);
+                yield Request.get("/api/trains/search?cityFrom=" + encode(cityFrom) + "&cityTo=" + encode(cityTo));
+            }
+            case TRAIN_ROUTE_SUMMARY -> Request.get("/api/trains/route/summary?city=" + encode(generator.city(random)));
+            case TRAIN_UPDATE -> new Request("PUT", "/api/trains/" + trainId(random), trainBody(random));
+            case BUS_UPDATE -> new Request("PUT", "/api/buses/" + busId(random),
+                    tripBody(generator.bus(random, 0)));
+            case TRAIN_CREATE -> new Request("POST", "/api/trains", trainBody(random));
+        };
+    }
+
+    /**
+     * Страница списка по умолчанию (без сортировки в запросе), как ее запрашивают клиенты и прогрев кешей.
+     */
+    String page(String path, int page) {
+        return path + "?page=" + page + "&size=" + settings.pageSize();
+    }
+
+    private String page(String path, SplittableRandom random, int rows) {
+        int lastPage = Math.max(0, (rows - 1) / settings.pageSize());
+        // Геометрическое распределение: первые страницы запрашиваются чаще всего
+        int page = (int) Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - 1 / (MEAN_PAGE + 1)));
+        return page(path, Math.min(page, lastPage));
+    }
+
+    private long trainId(SplittableRandom random) {
+        return 1 + random.nextInt(settings.trains());
+    }
+
+    private long busId(SplittableRandom random) {
+        return 1 + random.nextInt(settings.buses());
+    }
+
+    private Map<String, Object> trainBody(SplittableRandom random) {
+        Trip trip;
+        do {
+            trip = generator.train(random, 0);
+        } while (trip.stops().isEmpty()); // Список остановок поезда при записи не может быть пустым
+        Map<String, Object> body = tripBody(trip);
+        body.put("stopList", trip.stops());
+        return body;
+    }
+
+    private static Map<String, Object> tripBody(Trip trip) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("cityFrom", trip.cityFrom());
+        body.put("cityTo", trip.cityTo());
+        body.put("price", trip.price());
+        body.put("dateOfDeparture", DTO_DATE.format(trip.departure()));
+        body.put("dateOfArrival", DTO_DATE.format(trip.arrival()));
+        return body;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.transportschedule.edge;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveEdgeApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveEdgeApplication.class, args);
+    }
+
+}
@@ -0,0 +1,66 @@
+package org.example.transportschedule.edge.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.ReactiveJwtAuthenticationConverterAdapter;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+/**
+ * Правила доступа совпадают с основным приложением: расписание автобусов открыто всем,
+ * расписание поездов — только аутентифицированным пользователям. Как и в основном приложении,
+ * принимаются HTTP Basic (пользователи читаются из той же таблицы users через R2DBC)
+ * и токены доступа из /api/auth/login (Authorization: Bearer, см. {@link TokenConfig}).
+ */
+@Slf4j
+@Configuration
+@EnableWebFluxSecurity
+public class SecurityConfig {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         ReactiveJwtAuthenticationConverterAdapter jwtAuthenticationConverter) {
+        log.info("Настройка правил безопасности реактивного узла...");
+
+        return http
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers(HttpMethod.GET, "/api/trains/**").authenticated()
+                        .pathMatchers(HttpMethod.GET, "/api/buses/**").permitAll()
+                        // Узел только читает расписание
+                        .anyExchange().denyAll())
+                .httpBasic(Customizer.withDefaults())
+                // Токены доступа основного приложения, проверяемые по подписи без обращения к БД
+                .oauth2ResourceServer(oauth2 -> oauth2
+                        .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter)))
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .build();
+    }
+
+    @Bean
+    public ReactiveUserDetailsService userDetailsService(DatabaseClient databaseClient) {
+        return username -> databaseClient
+                .sql("select username, password, role from users where username = :username")
+                .bind("username", username)
+                .map(row -> User.withUsername(row.get("username", String.class))
+                        .password(row.get("password", String.class))
+                        .authorities(ROLE_PREFIX + row.get("role", String.class))
+                        .build())
+                .one();
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+}
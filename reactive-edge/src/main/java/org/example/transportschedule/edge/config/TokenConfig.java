@@ -0,0 +1,75 @@
+package org.example.transportschedule.edge.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.edge.constant.Constants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.security.oauth2.server.resource.authentication.ReactiveJwtAuthenticationConverterAdapter;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Проверка токенов доступа, выданных основным приложением (JWT, HMAC-SHA256):
+ * тот же ключ подписи, алгоритм, издатель и claim ролей, что в его TokenConfig.
+ * Узел токены не выдает, только проверяет их локально, без обращения к БД.
+ */
+@Slf4j
+@Configuration
+public class TokenConfig {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final SecretKey secretKey;
+
+    /**
+     * @param secret ключ подписи в Base64 (не короче 32 байт); должен совпадать с основным приложением
+     */
+    public TokenConfig(@Value("${schedule.auth.token-secret:}") String secret) {
+        byte[] keyBytes;
+        if (secret.isBlank()) {
+            log.warn("Ключ подписи токенов не задан (schedule.auth.token-secret), используется случайный: " +
+                    "токены основного приложения узлом не принимаются, доступна только HTTP Basic");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret);
+            if (keyBytes.length < 32) {
+                throw new IllegalStateException("Token secret must be at least 256 bits");
+            }
+        }
+        this.secretKey = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+    }
+
+    @Bean
+    public ReactiveJwtDecoder reactiveJwtDecoder() {
+        NimbusReactiveJwtDecoder decoder = NimbusReactiveJwtDecoder.withSecretKey(secretKey)
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(Constants.TOKEN_ISSUER));
+        return decoder;
+    }
+
+    /**
+     * Роли берутся из claim токена и получают префикс ROLE_, как и при входе по паролю.
+     */
+    @Bean
+    public ReactiveJwtAuthenticationConverterAdapter jwtAuthenticationConverter() {
+        JwtGrantedAuthoritiesConverter authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+        authoritiesConverter.setAuthoritiesClaimName(Constants.TOKEN_ROLES_CLAIM);
+        authoritiesConverter.setAuthorityPrefix("ROLE_");
+
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(authoritiesConverter);
+        return new ReactiveJwtAuthenticationConverterAdapter(converter);
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.transportschedule.edge.constant;
+
+/**
+ * Ключи Redis, общие с основным приложением. Значения должны совпадать
+ * с org.example.transportschedule.constant.Constants, иначе узлы перестанут видеть кэш друг друга.
+ */
+public class Constants {
+    // Префикс ключа автобуса для Redis
+    public static final String BUS_CACHE_KEY_PREFIX = "Bus:";
+
+    // Префикс для ключа автобусов по странице для Redis
+    public static final String BUSES_CACHE_KEY_PREFIX_WITH_PAGE = "busesPage:";
+
+    // Префикс ключа поезда для Redis
+    public static final String TRAIN_CACHE_KEY_PREFIX = "Train:";
+
+    // Префикс для ключа поездов по странице для Redis
+    public static final String TRAINS_CACHE_KEY_PREFIX_WITH_PAGE = "trainsPage:";
+
+    // Префикс ключа версии расписания вида транспорта для Redis (основное приложение увеличивает ее после каждой записи)
+    public static final String SCHEDULE_VERSION_KEY_PREFIX = "scheduleVersion:";
+
+    // Claim токена доступа со списком ролей пользователя (без префикса ROLE_)
+    public static final String TOKEN_ROLES_CLAIM = "roles";
+
+    // Издатель (claim iss) токенов доступа
+    public static final String TOKEN_ISSUER = "transport-schedule";
+
+    // Время жизни записей кэша (в минутах), как у основного приложения
+    public static final long CACHE_TTL_MINUTES = 30L;
+}
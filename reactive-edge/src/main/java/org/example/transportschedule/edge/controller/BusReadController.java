@@ -0,0 +1,30 @@
+package org.example.transportschedule.edge.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.transportschedule.edge.model.dto.BusDTO;
+import org.example.transportschedule.edge.service.BusReadService;
+import org.springframework.data.domain.Page;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Неблокирующие версии читающих эндпоинтов BusController основного приложения (те же пути и ответы).
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/buses")
+public class BusReadController {
+
+    private final BusReadService busReadService;
+
+    @GetMapping("/{id}")
+    public Mono<BusDTO> getBusById(@PathVariable long id) {
+        return busReadService.getBusById(id);
+    }
+
+    @GetMapping
+    public Mono<Page<BusDTO>> getAllBuses(@RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "20") int size) {
+        return busReadService.getAllBuses(page, size);
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.transportschedule.edge.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.transportschedule.edge.model.dto.TrainDTO;
+import org.example.transportschedule.edge.service.TrainReadService;
+import org.springframework.data.domain.Page;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Неблокирующие версии читающих эндпоинтов TrainController основного приложения (те же пути и ответы).
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/trains")
+public class TrainReadController {
+
+    private final TrainReadService trainReadService;
+
+    @GetMapping("/{id}")
+    public Mono<TrainDTO> getTrainById(@PathVariable long id) {
+        return trainReadService.getTrainById(id);
+    }
+
+    @GetMapping
+    public Mono<Page<TrainDTO>> getAllTrains(@RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(defaultValue = "20") int size) {
+        return trainReadService.getAllTrains(page, size);
+    }
+
+    @GetMapping("/search")
+    public Mono<List<TrainDTO>> findTrainsByCities(@RequestParam("cityFrom") String cityFrom,
+                                                   @RequestParam("cityTo") String cityTo) {
+        return trainReadService.findTrainsByCities(cityFrom, cityTo);
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.transportschedule.edge.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Автобус в том же JSON-представлении, что и в основном приложении (и в его кэше Redis).
+ */
+public record BusDTO(
+        String cityFrom,
+
+        String cityTo,
+
+        double price,
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd.MM.yyyy HH:mm")
+        LocalDateTime dateOfDeparture,
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd.MM.yyyy HH:mm")
+        LocalDateTime dateOfArrival
+) {
+}
@@ -0,0 +1,14 @@
+package org.example.transportschedule.edge.model.dto;
+
+import java.util.List;
+
+/**
+ * Страница в кэше узла: содержимое вместе с общим количеством элементов,
+ * чтобы страница из кэша отдавала те же totalElements и totalPages, что и прочитанная из БД.
+ */
+public record CachedPage<T>(
+        List<T> content,
+
+        long totalElements
+) {
+}
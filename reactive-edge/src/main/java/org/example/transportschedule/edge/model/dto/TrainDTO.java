@@ -0,0 +1,26 @@
+package org.example.transportschedule.edge.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Поезд в том же JSON-представлении, что и в основном приложении (и в его кэше Redis).
+ */
+public record TrainDTO(
+        String cityFrom,
+
+        String cityTo,
+
+        double price,
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd.MM.yyyy HH:mm")
+        LocalDateTime dateOfDeparture,
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd.MM.yyyy HH:mm")
+        LocalDateTime dateOfArrival,
+
+        List<String> stopList
+) {
+}
@@ -0,0 +1,57 @@
+package org.example.transportschedule.edge.repository;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.example.transportschedule.edge.model.dto.BusDTO;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Неблокирующее чтение автобусов через R2DBC. Выбираются только поля DTO.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BusReadRepository {
+
+    private static final String COLUMNS = "city_from, city_to, price, date_of_departure, date_of_arrival";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<BusDTO> findById(long id) {
+        return databaseClient.sql("select " + COLUMNS + " from buses where id = :id")
+                .bind("id", id)
+                .map(BusReadRepository::toBusDTO)
+                .first();
+    }
+
+    /**
+     * Страница автобусов в порядке прибытия (как сортировка по умолчанию в основном приложении).
+     */
+    public Flux<BusDTO> findPage(int page, int size) {
+        return databaseClient.sql("select " + COLUMNS
+                        + " from buses order by date_of_arrival, id limit :limit offset :offset")
+                .bind("limit", size)
+                .bind("offset", (long) page * size)
+                .map(BusReadRepository::toBusDTO)
+                .all();
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("select count(*) from buses")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private static BusDTO toBusDTO(Readable row) {
+        return new BusDTO(
+                row.get("city_from", String.class),
+                row.get("city_to", String.class),
+                row.get("price", Double.class),
+                row.get("date_of_departure", LocalDateTime.class),
+                row.get("date_of_arrival", LocalDateTime.class));
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.transportschedule.edge.repository;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.example.transportschedule.edge.model.dto.TrainDTO;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Неблокирующее чтение поездов через R2DBC.
+ * Поля поездов выбираются одним запросом, остановки всех найденных поездов — вторым.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TrainReadRepository {
+
+    private static final String COLUMNS = "t.id, t.city_from, t.city_to, t.price, t.date_of_departure, t.date_of_arrival";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<TrainDTO> findById(long id) {
+        return withStops(databaseClient.sql("select " + COLUMNS + " from trains t where t.id = :id")
+                .bind("id", id)
+                .map(TrainReadRepository::toTrainRow)
+                .all())
+                .flatMap(trains -> Mono.justOrEmpty(trains.stream().findFirst()));
+    }
+
+    /**
+     * Страница поездов в порядке прибытия (как сортировка по умолчанию в основном приложении).
+     */
+    public Mono<List<TrainDTO>> findPage(int page, int size) {
+        return withStops(databaseClient.sql("select " + COLUMNS
+                        + " from trains t order by t.date_of_arrival, t.id limit :limit offset :offset")
+                .bind("limit", size)
+                .bind("offset", (long) page * size)
+                .map(TrainReadRepository::toTrainRow)
+                .all());
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("select count(*) from trains")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Поиск поездов между городами: город отправления — начальная станция или остановка,
+     * город прибытия — конечная станция или остановка (как в основном приложении).
+     */
+    public Mono<List<TrainDTO>> findByCities(String cityFrom, String cityTo) {
+        return withStops(databaseClient.sql("select " + COLUMNS + """
+                         from trains t
+                        where (t.city_from = :cityFrom or exists (select 1 from train_stop_list s
+                                                                  where s.train_id = t.id and s.stop_list = :cityFrom))
+                          and (t.city_to = :cityTo or exists (select 1 from train_stop_list s
+                                                              where s.train_id = t.id and s.stop_list = :cityTo))
+                        """)
+                .bind("cityFrom", cityFrom)
+                .bind("cityTo", cityTo)
+                .map(TrainReadRepository::toTrainRow)
+                .all());
+    }
+
+    /**
+     * Дочитывает остановки для набора поездов одним запросом, порядок поездов и остановок сохраняется.
+     */
+    private Mono<List<TrainDTO>> withStops(Flux<TrainRow> rows) {
+        return rows.collectList().flatMap(trains -> {
+            if (trains.isEmpty()) {
+                return Mono.just(List.<TrainDTO>of());
+            }
+            return findStopLists(trains.stream().map(TrainRow::id).toList())
+                    .map(stops -> trains.stream()
+                            .map(train -> train.toTrainDTO(stops.getOrDefault(train.id(), List.of())))
+                            .toList());
+        });
+    }
+
+    private Mono<Map<Long, List<String>>> findStopLists(Collection<Long> trainIds) {
+        // Остановки поезда собираются в порядке маршрута, как в основном приложении (train_stop_list.stop_order)
+        return databaseClient.sql("""
+                        select train_id, stop_list from train_stop_list
+                        where train_id = any(:ids)
+                        order by train_id, stop_order
+                        """)
+                .bind("ids", trainIds.toArray(Long[]::new))
+                .map(row -> Map.entry(row.get("train_id", Long.class), row.get("stop_list", String.class)))
+                .all()
+                .<Map<Long, List<String>>>collect(HashMap::new, (stops, row) ->
+                        stops.computeIfAbsent(row.getKey(), id -> new ArrayList<>()).add(row.getValue()));
+    }
+
+    private static TrainRow toTrainRow(Readable row) {
+        return new TrainRow(
+                row.get("id", Long.class),
+                row.get("city_from", String.class),
+                row.get("city_to", String.class),
+                row.get("price", Double.class),
+                row.get("date_of_departure", LocalDateTime.class),
+                row.get("date_of_arrival", LocalDateTime.class));
+    }
+
+    private record TrainRow(Long id, String cityFrom, String cityTo, double price,
+                            LocalDateTime dateOfDeparture, LocalDateTime dateOfArrival) {
+
+        TrainDTO toTrainDTO(List<String> stopList) {
+            return new TrainDTO(cityFrom, cityTo, price, dateOfDeparture, dateOfArrival, stopList);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.transportschedule.edge.service;
+
+import org.example.transportschedule.edge.model.dto.BusDTO;
+import org.springframework.data.domain.Page;
+import reactor.core.publisher.Mono;
+
+public interface BusReadService {
+    Mono<BusDTO> getBusById(long id);
+    Mono<Page<BusDTO>> getAllBuses(int page, int size);
+}
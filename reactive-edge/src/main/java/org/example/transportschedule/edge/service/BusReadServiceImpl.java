@@ -0,0 +1,83 @@
+package org.example.transportschedule.edge.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.edge.constant.Constants;
+import org.example.transportschedule.edge.exception.NotFoundException;
+import org.example.transportschedule.edge.model.dto.BusDTO;
+import org.example.transportschedule.edge.repository.BusReadRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Чтение автобусов: сначала общий с основным приложением кэш Redis, при промахе — R2DBC.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BusReadServiceImpl implements BusReadService {
+
+    // Основное приложение хранит под busesPage:<версия>_<страница>_<размер> страницу сущностей, а не BusDTO,
+    // поэтому узел кэширует страницы под своим суффиксом
+    private static final String PAGE_KEY_SUFFIX = "edge";
+
+    // Версия расписания автобусов (ключ общий с основным приложением)
+    private static final String VERSION_KEY = Constants.SCHEDULE_VERSION_KEY_PREFIX + "BUS";
+
+    private final BusReadRepository busReadRepository;
+    private final ReactiveCacheService cacheService;
+
+    /**
+     * Получение автобуса по ID.
+     *
+     * @param id идентификатор автобуса
+     * @return автобус или ошибка 404
+     */
+    @Override
+    public Mono<BusDTO> getBusById(long id) {
+        String cacheKey = Constants.BUS_CACHE_KEY_PREFIX + id;
+
+        return cacheService.get(cacheKey, BusDTO.class)
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.debug("Автобус с ID {} не найден в кэше, обращаемся к БД", id);
+                    return busReadRepository.findById(id)
+                            .flatMap(bus -> cacheService.put(cacheKey, bus, Constants.CACHE_TTL_MINUTES)
+                                    .thenReturn(bus));
+                }))
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Автобус с ID " + id + " не найден")));
+    }
+
+    /**
+     * Постраничное получение автобусов.
+     * Ключ кэша содержит версию расписания, прочитанную до обращения к БД (как в основном приложении):
+     * после изменения автобусов версия увеличивается, и старые страницы больше не читаются.
+     * Если версия неизвестна, страница читается из БД без кэша.
+     *
+     * @param page номер страницы
+     * @param size размер страницы
+     * @return страница автобусов
+     */
+    @Override
+    public Mono<Page<BusDTO>> getAllBuses(int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size);
+
+        return cacheService.getVersion(VERSION_KEY)
+                .map(version -> Constants.BUSES_CACHE_KEY_PREFIX_WITH_PAGE + PAGE_KEY_SUFFIX + "_" + version
+                        + "_" + page + "_" + size)
+                .flatMap(cacheKey -> cacheService.getPage(cacheKey, BusDTO.class, pageable)
+                        .switchIfEmpty(Mono.defer(() -> findPage(pageable)
+                                .flatMap(loaded -> cacheService.putPage(cacheKey, loaded, Constants.CACHE_TTL_MINUTES)
+                                        .thenReturn(loaded)))))
+                .switchIfEmpty(Mono.defer(() -> findPage(pageable)));
+    }
+
+    private Mono<Page<BusDTO>> findPage(Pageable pageable) {
+        return busReadRepository.findPage(pageable.getPageNumber(), pageable.getPageSize()).collectList()
+                .flatMap(content -> busReadRepository.count()
+                        .<Page<BusDTO>>map(total -> new PageImpl<>(content, pageable, total)));
+    }
+}
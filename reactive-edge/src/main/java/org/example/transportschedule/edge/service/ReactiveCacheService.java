@@ -0,0 +1,13 @@
+package org.example.transportschedule.edge.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCacheService {
+    <T> Mono<T> get(String key, Class<T> clazz);
+    <T> Mono<Page<T>> getPage(String key, Class<T> clazz, Pageable pageable);
+    Mono<Boolean> put(String key, Object value, long ttlMinutes);
+    Mono<Boolean> putPage(String key, Page<?> page, long ttlMinutes);
+    Mono<String> getVersion(String key);
+}
@@ -0,0 +1,112 @@
+package org.example.transportschedule.edge.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.edge.model.dto.CachedPage;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Неблокирующая работа с кэшем Redis. Недоступность Redis не ломает чтение:
+ * ошибка считается промахом кэша, и данные читаются из БД.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveCacheServiceImpl implements ReactiveCacheService {
+
+    private final ReactiveRedisTemplate<String, Object> redisTemplate;
+    private final ReactiveStringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Получение объекта из кэша.
+     *
+     * @param key   ключ
+     * @param clazz тип объекта
+     * @return объект или пустой Mono при промахе
+     */
+    @Override
+    public <T> Mono<T> get(String key, Class<T> clazz) {
+        return redisTemplate.opsForValue().get(key)
+                .map(value -> objectMapper.convertValue(value, clazz))
+                .onErrorResume(e -> {
+                    log.warn("Ошибка чтения из Redis по ключу {}: {}", key, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Получение страницы из кэша вместе с общим количеством элементов.
+     *
+     * @param key      ключ
+     * @param clazz    тип элементов
+     * @param pageable параметры страницы
+     * @return страница или пустой Mono при промахе
+     */
+    @Override
+    public <T> Mono<Page<T>> getPage(String key, Class<T> clazz, Pageable pageable) {
+        return redisTemplate.opsForValue().get(key)
+                .map(value -> objectMapper.<CachedPage<T>>convertValue(value,
+                        objectMapper.getTypeFactory().constructParametricType(CachedPage.class, clazz)))
+                .<Page<T>>map(cached -> new PageImpl<>(cached.content(), pageable, cached.totalElements()))
+                .onErrorResume(e -> {
+                    log.warn("Ошибка чтения из Redis по ключу {}: {}", key, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Сохранение объекта в кэш.
+     *
+     * @param key        ключ
+     * @param value      значение
+     * @param ttlMinutes время жизни в минутах
+     * @return признак успешной записи (false, если Redis недоступен)
+     */
+    @Override
+    public Mono<Boolean> put(String key, Object value, long ttlMinutes) {
+        return redisTemplate.opsForValue().set(key, value, Duration.ofMinutes(ttlMinutes))
+                .onErrorResume(e -> {
+                    log.warn("Ошибка записи в Redis по ключу {}: {}", key, e.getMessage());
+                    return Mono.just(false);
+                });
+    }
+
+    /**
+     * Сохранение страницы в кэш вместе с общим количеством элементов.
+     *
+     * @param key        ключ
+     * @param page       страница
+     * @param ttlMinutes время жизни в минутах
+     * @return признак успешной записи (false, если Redis недоступен)
+     */
+    @Override
+    public Mono<Boolean> putPage(String key, Page<?> page, long ttlMinutes) {
+        return put(key, new CachedPage<>(page.getContent(), page.getTotalElements()), ttlMinutes);
+    }
+
+    /**
+     * Текущая версия расписания. Основное приложение пишет ее строкой через StringRedisTemplate,
+     * поэтому она читается без JSON-сериализатора.
+     *
+     * @param key ключ версии
+     * @return версия или пустой Mono, если ее нет или Redis недоступен
+     */
+    @Override
+    public Mono<String> getVersion(String key) {
+        return stringRedisTemplate.opsForValue().get(key)
+                .onErrorResume(e -> {
+                    log.warn("Ошибка чтения версии из Redis по ключу {}: {}", key, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
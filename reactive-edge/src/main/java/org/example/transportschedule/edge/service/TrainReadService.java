@@ -0,0 +1,13 @@
+package org.example.transportschedule.edge.service;
+
+import org.example.transportschedule.edge.model.dto.TrainDTO;
+import org.springframework.data.domain.Page;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface TrainReadService {
+    Mono<TrainDTO> getTrainById(long id);
+    Mono<Page<TrainDTO>> getAllTrains(int page, int size);
+    Mono<List<TrainDTO>> findTrainsByCities(String cityFrom, String cityTo);
+}
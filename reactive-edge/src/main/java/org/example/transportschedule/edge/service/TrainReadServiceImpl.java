@@ -0,0 +1,98 @@
+package org.example.transportschedule.edge.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.edge.constant.Constants;
+import org.example.transportschedule.edge.exception.NotFoundException;
+import org.example.transportschedule.edge.model.dto.TrainDTO;
+import org.example.transportschedule.edge.repository.TrainReadRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Чтение поездов: сначала общий с основным приложением кэш Redis, при промахе — R2DBC.
+ * Ключ и формат поезда по ID совпадают с TrainServiceProxy, поэтому этот кэш наполняется обоими приложениями.
+ * Страницы хранятся под собственным суффиксом узла: вместе с содержимым в них хранится общее количество поездов.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrainReadServiceImpl implements TrainReadService {
+
+    // Суффикс ключей страниц узла (формат значения отличается от страниц основного приложения)
+    private static final String PAGE_KEY_SUFFIX = "edge";
+
+    // Версия расписания поездов (ключ общий с основным приложением)
+    private static final String VERSION_KEY = Constants.SCHEDULE_VERSION_KEY_PREFIX + "TRAIN";
+
+    private final TrainReadRepository trainReadRepository;
+    private final ReactiveCacheService cacheService;
+
+    /**
+     * Получение поезда по ID.
+     *
+     * @param id идентификатор поезда
+     * @return поезд или ошибка 404
+     */
+    @Override
+    public Mono<TrainDTO> getTrainById(long id) {
+        String cacheKey = Constants.TRAIN_CACHE_KEY_PREFIX + id;
+
+        return cacheService.get(cacheKey, TrainDTO.class)
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.debug("Поезд с ID {} не найден в кэше, обращаемся к БД", id);
+                    return trainReadRepository.findById(id)
+                            .flatMap(train -> cacheService.put(cacheKey, train, Constants.CACHE_TTL_MINUTES)
+                                    .thenReturn(train));
+                }))
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Поезд с ID " + id + " не найден")));
+    }
+
+    /**
+     * Постраничное получение поездов.
+     * Ключ кэша содержит версию расписания, прочитанную до обращения к БД (как в основном приложении):
+     * после изменения поездов версия увеличивается, и старые страницы больше не читаются.
+     * Если версия неизвестна, страница читается из БД без кэша.
+     *
+     * @param page номер страницы
+     * @param size размер страницы
+     * @return страница поездов
+     */
+    @Override
+    public Mono<Page<TrainDTO>> getAllTrains(int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size);
+
+        return cacheService.getVersion(VERSION_KEY)
+                .map(version -> Constants.TRAINS_CACHE_KEY_PREFIX_WITH_PAGE + PAGE_KEY_SUFFIX + "_" + version
+                        + "_" + page + "_" + size)
+                .flatMap(cacheKey -> cacheService.getPage(cacheKey, TrainDTO.class, pageable)
+                        .switchIfEmpty(Mono.defer(() -> findPage(pageable)
+                                .flatMap(loaded -> cacheService.putPage(cacheKey, loaded, Constants.CACHE_TTL_MINUTES)
+                                        .thenReturn(loaded)))))
+                .switchIfEmpty(Mono.defer(() -> findPage(pageable)));
+    }
+
+    /**
+     * Поиск поездов между двумя городами, включая промежуточные остановки.
+     *
+     * @param cityFrom город отправления
+     * @param cityTo   город прибытия
+     * @return список поездов
+     */
+    @Override
+    public Mono<List<TrainDTO>> findTrainsByCities(String cityFrom, String cityTo) {
+        return trainReadRepository.findByCities(cityFrom, cityTo);
+    }
+
+    private Mono<Page<TrainDTO>> findPage(Pageable pageable) {
+        return trainReadRepository.findPage(pageable.getPageNumber(), pageable.getPageSize())
+                .flatMap(content -> trainReadRepository.count()
+                        .<Page<TrainDTO>>map(total -> new PageImpl<>(content, pageable, total)));
+    }
+}
@@ -1 +1,7 @@
 rootProject.name = "TransportSchedule"
+
+// Необязательный реактивный модуль чтения расписания для пограничных узлов
+include("reactive-edge")
+
+// Нагрузочное тестирование REST API на синтетическом расписании (не входит в сборку приложения)
+include("load-test")
@@ -0,0 +1,72 @@
+package org.example.transportschedule.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.transportschedule.model.dto.BusDTO;
+import org.example.transportschedule.model.dto.TrainDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON-кодирование ответов API: DTO с датами в формате dd.MM.yyyy HH:mm (@JsonFormat),
+ * страница из 20 рейсов и результат поиска из 200 поездов, а также разбор тела запроса.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoJsonBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private ObjectWriter writer;
+    private List<BusDTO> busPage;
+    private List<TrainDTO> searchResult;
+    private TrainDTO train;
+    private byte[] trainJson;
+    private byte[] searchResultJson;
+    private JavaType trainListType;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        SyntheticTimetable timetable = new SyntheticTimetable(42);
+        writer = objectMapper.writer();
+        busPage = timetable.busDTOs(20);
+        searchResult = timetable.trainDTOs(200);
+        train = timetable.trainDTO();
+        trainJson = objectMapper.writeValueAsBytes(train);
+        searchResultJson = objectMapper.writeValueAsBytes(searchResult);
+        trainListType = objectMapper.getTypeFactory().constructCollectionType(List.class, TrainDTO.class);
+    }
+
+    @Benchmark
+    public byte[] writeBusPage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(busPage);
+    }
+
+    @Benchmark
+    public byte[] writeTrainSearchResult() throws JsonProcessingException {
+        return writer.writeValueAsBytes(searchResult);
+    }
+
+    @Benchmark
+    public TrainDTO readTrainRequestBody() throws IOException {
+        return objectMapper.readValue(trainJson, TrainDTO.class);
+    }
+
+    @Benchmark
+    public List<TrainDTO> readTrainSearchResult() throws IOException {
+        return objectMapper.readValue(searchResultJson, trainListType);
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.transportschedule.benchmark;
+
+import org.example.transportschedule.mapper.bus.BusMapper;
+import org.example.transportschedule.mapper.bus.BusMapperImpl;
+import org.example.transportschedule.mapper.train.TrainMapper;
+import org.example.transportschedule.mapper.train.TrainMapperImpl;
+import org.example.transportschedule.model.dto.BusDTO;
+import org.example.transportschedule.model.dto.TrainDTO;
+import org.example.transportschedule.model.entity.Bus;
+import org.example.transportschedule.model.entity.Train;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Преобразования MapStruct между сущностями и DTO на странице из 20 рейсов (размер страницы по умолчанию).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private final BusMapper busMapper = new BusMapperImpl();
+    private final TrainMapper trainMapper = new TrainMapperImpl();
+
+    private List<Bus> buses;
+    private List<Train> trains;
+    private List<TrainDTO> trainDTOs;
+
+    @Setup
+    public void setUp() {
+        SyntheticTimetable timetable = new SyntheticTimetable(42);
+        buses = Stream.generate(timetable::bus).limit(PAGE_SIZE).toList();
+        trains = timetable.trains(PAGE_SIZE);
+        trainDTOs = timetable.trainDTOs(PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BusDTO> busEntitiesToDTOs() {
+        return buses.stream().map(busMapper::mapToBusDTO).toList();
+    }
+
+    @Benchmark
+    public List<TrainDTO> trainEntitiesToDTOs() {
+        return trains.stream().map(trainMapper::mapToTrainDTO).toList();
+    }
+
+    /**
+     * Вариант с заранее загруженными остановками (используется при экспорте и в проекциях).
+     */
+    @Benchmark
+    public List<TrainDTO> trainEntitiesWithPreloadedStopsToDTOs() {
+        return trains.stream().map(train -> trainMapper.mapToTrainDTO(train, train.getStopList())).toList();
+    }
+
+    @Benchmark
+    public List<Train> trainDTOsToEntities() {
+        return trainDTOs.stream().map(trainMapper::mapToTrainEntity).toList();
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.transportschedule.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.transportschedule.config.redis.RedisConfig;
+import org.example.transportschedule.model.dto.TrainDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Путь значения через Redis так, как его проходит RedisServiceImpl: сериализация при записи,
+ * десериализация при чтении и convertValue в нужный тип. Сеть не участвует.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RedisSerializationBenchmark {
+
+    private final GenericJackson2JsonRedisSerializer serializer = RedisConfig.valueSerializer();
+    // ObjectMapper приложения (как у Spring Boot без дополнительных настроек)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private TrainDTO train;
+    private List<TrainDTO> page;
+    private byte[] trainBytes;
+    private byte[] pageBytes;
+    private Object deserializedTrain;
+
+    @Setup
+    public void setUp() {
+        SyntheticTimetable timetable = new SyntheticTimetable(42);
+        train = timetable.trainDTO();
+        page = timetable.trainDTOs(20);
+        trainBytes = serializer.serialize(train);
+        pageBytes = serializer.serialize(page);
+        deserializedTrain = serializer.deserialize(trainBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeTrain() {
+        return serializer.serialize(train);
+    }
+
+    @Benchmark
+    public byte[] serializePage() {
+        return serializer.serialize(page);
+    }
+
+    @Benchmark
+    public Object deserializeTrain() {
+        return serializer.deserialize(trainBytes);
+    }
+
+    @Benchmark
+    public Object deserializePage() {
+        return serializer.deserialize(pageBytes);
+    }
+
+    /**
+     * Дополнительное преобразование в RedisServiceImpl.getFromRedis после десериализации.
+     */
+    @Benchmark
+    public TrainDTO convertValueTrain() {
+        return objectMapper.convertValue(deserializedTrain, TrainDTO.class);
+    }
+
+    /**
+     * Полное чтение одного поезда из кеша: десериализация и convertValue.
+     */
+    @Benchmark
+    public TrainDTO readTrainFromCache() {
+        return objectMapper.convertValue(serializer.deserialize(trainBytes), TrainDTO.class);
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.transportschedule.benchmark;
+
+import org.example.transportschedule.model.dto.RouteDTO;
+import org.example.transportschedule.model.entity.Train;
+import org.example.transportschedule.service.route.RouteIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Индекс маршрутов в памяти: ответ /route/summary для случайного города и инкрементальные изменения.
+ * Чтение замеряется и в несколько потоков, так как блокировка берется на уровне города.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RouteIndexBenchmark {
+
+    @Param({"10000", "100000"})
+    public int trips;
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 4, 1, 12, 0);
+
+    private RouteIndex index;
+    private List<String> cities;
+    private Train[] changes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticTimetable timetable = new SyntheticTimetable(42);
+        index = new RouteIndex();
+        long id = 0;
+        for (Train train : timetable.trains(trips)) {
+            index.put(id++, train.getCityFrom(), train.getCityTo(), train.getStopList(), train.getDateOfDeparture());
+        }
+        cities = SyntheticTimetable.CITIES;
+        changes = timetable.trains(1024).toArray(Train[]::new);
+    }
+
+    @Benchmark
+    public List<RouteDTO> routesFrom() {
+        return index.routesFrom(cities.get(ThreadLocalRandom.current().nextInt(cities.size())), now);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<RouteDTO> routesFromConcurrent() {
+        return index.routesFrom(cities.get(ThreadLocalRandom.current().nextInt(cities.size())), now);
+    }
+
+    /**
+     * Изменение рейса: прежний вариант рейса с тем же id заменяется новым, как при событии обновления.
+     */
+    @Benchmark
+    public void updateTrip() {
+        int id = ThreadLocalRandom.current().nextInt(changes.length);
+        Train train = changes[id];
+        index.put(id, train.getCityFrom(), train.getCityTo(), train.getStopList(), train.getDateOfDeparture());
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.transportschedule.benchmark;
+
+import org.example.transportschedule.model.dto.BusDTO;
+import org.example.transportschedule.model.dto.TrainDTO;
+import org.example.transportschedule.model.entity.Bus;
+import org.example.transportschedule.model.entity.Train;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Синтетическое расписание для бенчмарков: реальные названия городов, длина списка остановок
+ * от 0 до 10 со смещением к коротким, цены с длинным хвостом (логнормальное распределение),
+ * отправления в пределах трех месяцев с шагом 5 минут. Генерация детерминирована (seed).
+ */
+final class SyntheticTimetable {
+
+    static final List<String> CITIES = List.of(
+            "Москва", "Санкт-Петербург", "Казань", "Нижний Новгород", "Владимир", "Ярославль", "Тверь",
+            "Екатеринбург", "Новосибирск", "Самара", "Уфа", "Пермь", "Воронеж", "Ростов-на-Дону", "Краснодар",
+            "Сочи", "Волгоград", "Саратов", "Тула", "Рязань", "Калуга", "Смоленск", "Псков", "Вологда",
+            "Киров", "Ижевск", "Чебоксары", "Пенза", "Ульяновск", "Оренбург", "Челябинск", "Тюмень",
+            "Омск", "Томск", "Красноярск", "Иркутск", "Архангельск", "Мурманск", "Петрозаводск", "Курск");
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    private final SplittableRandom random;
+
+    SyntheticTimetable(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    Train train() {
+        Train train = new Train();
+        fill(train::setCityFrom, train::setCityTo);
+        train.setPrice(price(2500));
+        LocalDateTime departure = departure();
+        train.setDateOfDeparture(departure);
+        train.setDateOfArrival(departure.plusMinutes(60 + random.nextInt(48 * 60)));
+        train.setStopList(stops(train.getCityFrom(), train.getCityTo()));
+        return train;
+    }
+
+    Bus bus() {
+        Bus bus = new Bus();
+        fill(bus::setCityFrom, bus::setCityTo);
+        bus.setPrice(price(800));
+        LocalDateTime departure = departure();
+        bus.setDateOfDeparture(departure);
+        bus.setDateOfArrival(departure.plusMinutes(30 + random.nextInt(12 * 60)));
+        return bus;
+    }
+
+    TrainDTO trainDTO() {
+        Train train = train();
+        return new TrainDTO(train.getCityFrom(), train.getCityTo(), train.getPrice(),
+                train.getDateOfDeparture(), train.getDateOfArrival(), train.getStopList());
+    }
+
+    BusDTO busDTO() {
+        Bus bus = bus();
+        return new BusDTO(bus.getCityFrom(), bus.getCityTo(), bus.getPrice(),
+                bus.getDateOfDeparture(), bus.getDateOfArrival());
+    }
+
+    List<Train> trains(int count) {
+        List<Train> trains = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            trains.add(train());
+        }
+        return trains;
+    }
+
+    List<TrainDTO> trainDTOs(int count) {
+        List<TrainDTO> trains = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            trains.add(trainDTO());
+        }
+        return trains;
+    }
+
+    List<BusDTO> busDTOs(int count) {
+        List<BusDTO> buses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            buses.add(busDTO());
+        }
+        return buses;
+    }
+
+    String city() {
+        return CITIES.get(random.nextInt(CITIES.size()));
+    }
+
+    private void fill(Consumer<String> from, Consumer<String> to) {
+        String cityFrom = city();
+        String cityTo;
+        do {
+            cityTo = city();
+        } while (cityTo.equals(cityFrom));
+        from.accept(cityFrom);
+        to.accept(cityTo);
+    }
+
+    private List<String> stops(String cityFrom, String cityTo) {
+        // Чаще короткие маршруты: 0-3 остановки у большинства, до 10 у немногих
+        int count = Math.min(10, (int) Math.floor(-Math.log(1 - random.nextDouble()) * 2.5));
+        List<String> stops = new ArrayList<>(count);
+        while (stops.size() < count) {
+            String stop = city();
+            if (!stop.equals(cityFrom) && !stop.equals(cityTo) && !stops.contains(stop)) {
+                stops.add(stop);
+            }
+        }
+        return stops;
+    }
+
+    private double price(double median) {
+        double gaussian = gaussian();
+        return Math.round(median * Math.exp(0.5 * gaussian) * 100) / 100.0;
+    }
+
+    private double gaussian() {
+        // Преобразование Бокса — Мюллера
+        double u1 = 1 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    private LocalDateTime departure() {
+        return START.plusMinutes(5L * random.nextInt(90 * 24 * 12));
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.transportschedule.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.example.transportschedule.config.web.BinaryFormatConfig;
+import org.example.transportschedule.model.dto.TrainDTO;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Кодирование и разбор результата поиска из 200 поездов в форматах, доступных через Accept:
+ * JSON (даты строками dd.MM.yyyy HH:mm), CBOR и Smile (даты числом секунд).
+ * Размер закодированного результата выводится в отчете JMH вспомогательным счетчиком payloadBytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private List<TrainDTO> searchResult;
+    private byte[] encoded;
+    private JavaType trainListType;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> binary(new CBORFactory());
+            case "smile" -> binary(new SmileFactory());
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        searchResult = new SyntheticTimetable(42).trainDTOs(200);
+        encoded = objectMapper.writeValueAsBytes(searchResult);
+        trainListType = objectMapper.getTypeFactory().constructCollectionType(List.class, TrainDTO.class);
+    }
+
+    @Benchmark
+    public byte[] write(PayloadSize payloadSize) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(searchResult);
+        payloadSize.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public List<TrainDTO> read(PayloadSize payloadSize) throws IOException {
+        payloadSize.payloadBytes = encoded.length;
+        return objectMapper.readValue(encoded, trainListType);
+    }
+
+    /**
+     * Размер закодированного результата в байтах. Счетчик типа EVENTS не нормируется по времени,
+     * а значение присваивается, а не накапливается, поэтому в отчет попадает сам размер
+     * (при запуске в один поток: значения потоков суммируются).
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long payloadBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            payloadBytes = 0;
+        }
+    }
+
+    private static ObjectMapper binary(JsonFactory factory) {
+        return BinaryFormatConfig.binaryObjectMapper(Jackson2ObjectMapperBuilder.json(), factory);
+    }
+}
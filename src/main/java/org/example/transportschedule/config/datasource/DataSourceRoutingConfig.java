@@ -0,0 +1,65 @@
+package org.example.transportschedule.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Конфигурация маршрутизации чтения на реплики.
+ * Основная БД настраивается стандартными свойствами spring.datasource, реплики — schedule.datasource.replicas.
+ * Миграции Flyway всегда выполняются на основной БД.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+@ConditionalOnProperty(name = "schedule.datasource.routing-enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReplicaRegistry replicaRegistry(ReplicaDataSourceProperties properties, MeterRegistry meterRegistry) {
+        log.info("Настройка маршрутизации чтения на реплики: {}", properties.getReplicas().size());
+        // Пулы реплик не являются бинами, поэтому метрики Hikari подключаются к ним явно
+        ReplicaRegistry registry = new ReplicaRegistry(properties.getReplicas(), properties.getProbeTimeout(),
+                new MicrometerMetricsTrackerFactory(meterRegistry));
+        registry.start(Duration.ofMillis(properties.getLagCheckIntervalMs()));
+        return registry;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRegistry replicaRegistry) {
+        Map<Object, Object> targets = new HashMap<>(replicaRegistry.getDataSources());
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primaryDataSource);
+
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(replicaRegistry);
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.transportschedule.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Источник данных без маршрутизации на реплики: только основная БД, но, как и при маршрутизации,
+ * через LazyConnectionDataSourceProxy. Транзакция получает соединение из пула только при первом запросе
+ * к БД, поэтому read-only транзакция чтения, ответ которой нашелся в Redis, не занимает соединение
+ * на время обращения к кешу.
+ */
+@Configuration
+@ConditionalOnProperty(name = "schedule.datasource.routing-enabled", havingValue = "false", matchIfMissing = true)
+public class PrimaryDataSourceConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource) {
+        return new LazyConnectionDataSourceProxy(primaryDataSource);
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.transportschedule.config.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Настройки маршрутизации читающих транзакций на реплики PostgreSQL.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "schedule.datasource")
+public class ReplicaDataSourceProperties {
+
+    /**
+     * Включает маршрутизацию read-only транзакций на реплики.
+     */
+    private boolean routingEnabled = false;
+
+    /**
+     * Период проверки отставания реплик.
+     */
+    private long lagCheckIntervalMs = 5000;
+
+    /**
+     * Таймаут подключения и запроса при проверке отставания: недоступная реплика не задерживает проверку остальных.
+     */
+    private Duration probeTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Список реплик.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        /**
+         * Имя реплики (используется в логах и как ключ маршрутизации).
+         */
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Максимально допустимое отставание реплики; при большем отставании чтение идет на основную БД.
+         */
+        private Duration maxLag = Duration.ofSeconds(5);
+
+        /**
+         * Размер пула соединений реплики.
+         */
+        private int maxPoolSize = 10;
+    }
+}
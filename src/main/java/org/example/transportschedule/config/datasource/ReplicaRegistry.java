@@ -0,0 +1,215 @@
+package org.example.transportschedule.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Реестр реплик с учетом их отставания.
+ * Периодически измеряет задержку репликации каждой реплики и выдает для чтения
+ * только реплики, укладывающиеся в допустимое отставание (по кругу).
+ * <p>
+ * Проверка выполняется в собственном потоке (общий планировщик занят фоновыми задачами и может надолго
+ * задержать ее) через отдельное соединение с коротким таймаутом. Каждое измерение хранится со временем
+ * проверки: к моменту выбора реплики ее отставание могло вырасти на время, прошедшее с проверки, поэтому
+ * реплика выдается, только пока измеренное отставание плюс это время укладываются в допустимое.
+ * Если проверки остановились, реплики перестают выдаваться и чтение идет на основную БД.
+ */
+@Slf4j
+public class ReplicaRegistry implements AutoCloseable {
+
+    /**
+     * Состояние реплики: работает ли прием WAL, приняты ли и применены все полученные записи,
+     * и сколько секунд прошло с последней примененной транзакции. Без работающего приема WAL реплика
+     * не получает изменений и совпадение принятой и примененной позиции ничего не говорит о свежести.
+     * Прием, не получающий данных, завершается самим PostgreSQL через wal_receiver_timeout.
+     */
+    private static final String LAG_QUERY = """
+            select exists (select 1 from pg_stat_wal_receiver),
+                   pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn(),
+                   extract(epoch from now() - pg_last_xact_replay_timestamp())
+            """;
+
+    /**
+     * Результат проверки реплики.
+     *
+     * @param lagMillis измеренное отставание; отрицательное, если реплика не годится для чтения
+     * @param checkedAt момент проверки (System.nanoTime)
+     */
+    private record LagCheck(long lagMillis, long checkedAt) {
+
+        static final LagCheck UNAVAILABLE = new LagCheck(-1, 0);
+    }
+
+    private final Map<String, HikariDataSource> dataSources = new LinkedHashMap<>();
+    private final Map<String, HikariDataSource> probeDataSources = new LinkedHashMap<>();
+    private final Map<String, Duration> maxLags = new LinkedHashMap<>();
+    private final Map<String, LagCheck> lagChecks = new LinkedHashMap<>();
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private final int probeTimeoutSeconds;
+    private final ScheduledExecutorService probeExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Map<String, LagCheck> lastChecks = Map.of();
+    private volatile List<String> healthyReplicas = List.of();
+
+    /**
+     * @param replicas              настройки реплик
+     * @param probeTimeout          таймаут подключения и запроса проверки отставания
+     * @param metricsTrackerFactory метрики пулов реплик (время ожидания соединения и т.п.), как у основного пула
+     */
+    public ReplicaRegistry(List<ReplicaDataSourceProperties.Replica> replicas, Duration probeTimeout,
+                           MetricsTrackerFactory metricsTrackerFactory) {
+        this.probeTimeoutSeconds = (int) Math.max(1, probeTimeout.toSeconds());
+        for (ReplicaDataSourceProperties.Replica replica : replicas) {
+            HikariDataSource dataSource = dataSource("replica-" + replica.getName(), replica);
+            dataSource.setMaximumPoolSize(replica.getMaxPoolSize());
+            dataSource.setMetricsTrackerFactory(metricsTrackerFactory);
+
+            // Соединение проверки не ждет в очереди пула чтения и не висит до общего таймаута на мертвой реплике
+            HikariDataSource probe = dataSource("replica-" + replica.getName() + "-probe", replica);
+            probe.setMaximumPoolSize(1);
+            probe.setConnectionTimeout(Math.max(250, probeTimeout.toMillis()));
+            probe.addDataSourceProperty("connectTimeout", probeTimeoutSeconds);
+            probe.addDataSourceProperty("socketTimeout", probeTimeoutSeconds * 2);
+
+            dataSources.put(replica.getName(), dataSource);
+            probeDataSources.put(replica.getName(), probe);
+            maxLags.put(replica.getName(), replica.getMaxLag());
+        }
+    }
+
+    public Map<String, HikariDataSource> getDataSources() {
+        return dataSources;
+    }
+
+    /**
+     * Запуск периодической проверки. Первая проверка выполняется сразу, но не задерживает старт:
+     * до ее завершения чтение идет на основную БД.
+     *
+     * @param interval период проверки
+     */
+    public void start(Duration interval) {
+        probeExecutor.scheduleWithFixedDelay(this::checkReplicationLag, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Выбирает следующую реплику, укладывающуюся в допустимое отставание с учетом времени с момента проверки.
+     *
+     * @return имя реплики или пустое значение, если подходящих реплик нет
+     */
+    public Optional<String> nextHealthyReplica() {
+        List<String> candidates = healthyReplicas;
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<String, LagCheck> checks = lastChecks;
+        long now = System.nanoTime();
+        List<String> healthy = candidates.stream()
+                .filter(name -> isFresh(name, checks.get(name), now))
+                .toList();
+        if (healthy.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(healthy.get(Math.floorMod(roundRobin.getAndIncrement(), healthy.size())));
+    }
+
+    /**
+     * Проверка отставания всех реплик.
+     */
+    void checkReplicationLag() {
+        probeDataSources.forEach((name, probe) -> lagChecks.put(name, measureLag(name, probe)));
+        Map<String, LagCheck> checks = Map.copyOf(lagChecks);
+
+        long now = System.nanoTime();
+        List<String> healthy = dataSources.keySet().stream()
+                .filter(name -> isFresh(name, checks.get(name), now))
+                .toList();
+
+        if (!healthy.equals(healthyReplicas)) {
+            log.info("Доступные для чтения реплики: {}", healthy);
+        }
+        lastChecks = checks;
+        healthyReplicas = healthy;
+    }
+
+    private boolean isFresh(String name, LagCheck check, long now) {
+        if (check == null || check.lagMillis() < 0) {
+            return false;
+        }
+        long sinceCheckMillis = TimeUnit.NANOSECONDS.toMillis(now - check.checkedAt());
+        return check.lagMillis() + sinceCheckMillis <= maxLags.get(name).toMillis();
+    }
+
+    private LagCheck measureLag(String name, HikariDataSource probe) {
+        long checkedAt = System.nanoTime();
+        try (Connection connection = probe.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(probeTimeoutSeconds);
+            try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                boolean receiving = resultSet.getBoolean(1);
+                boolean caughtUp = resultSet.getBoolean(2);
+                double replayAgeSeconds = resultSet.getDouble(3);
+                boolean replayAgeKnown = !resultSet.wasNull();
+
+                if (!receiving) {
+                    log.warn("Реплика {} не принимает WAL, чтение переключено на основную БД", name);
+                    return LagCheck.UNAVAILABLE;
+                }
+                if (caughtUp) {
+                    return new LagCheck(0, checkedAt);
+                }
+                if (!replayAgeKnown) {
+                    log.warn("Реплика {} еще не применила ни одной транзакции", name);
+                    return LagCheck.UNAVAILABLE;
+                }
+
+                long lagMillis = (long) (replayAgeSeconds * 1000);
+                if (lagMillis > maxLags.get(name).toMillis()) {
+                    log.warn("Реплика {} отстает на {} с, чтение переключено на основную БД", name, replayAgeSeconds);
+                }
+                return new LagCheck(Math.max(0, lagMillis), checkedAt);
+            }
+        } catch (Exception e) {
+            log.warn("Реплика {} недоступна: {}", name, e.getMessage());
+            return LagCheck.UNAVAILABLE;
+        }
+    }
+
+    private static HikariDataSource dataSource(String poolName, ReplicaDataSourceProperties.Replica replica) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(poolName);
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername());
+        dataSource.setPassword(replica.getPassword());
+        dataSource.setReadOnly(true);
+        // Недоступная реплика не должна мешать старту приложения
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+    @Override
+    public void close() {
+        probeExecutor.shutdownNow();
+        dataSources.values().forEach(HikariDataSource::close);
+        probeDataSources.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.transportschedule.config.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Источник данных, направляющий read-only транзакции на реплики, а остальные — на основную БД.
+ * Должен использоваться через LazyConnectionDataSourceProxy, чтобы решение принималось
+ * после того, как признак read-only транзакции уже установлен.
+ */
+@RequiredArgsConstructor
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaRegistry replicaRegistry;
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return replicaRegistry.nextHealthyReplica().orElse(PRIMARY);
+        }
+        return PRIMARY;
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.transportschedule.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Прореживание сообщений горячих путей: из сообщений уровня {@code level} и ниже от логгеров
+ * с указанными префиксами пропускается одно из {@code sampleRate}. WARN и ERROR проходят всегда.
+ * Счетчик у каждого логгера свой: частые сообщения одного класса не вытесняют редкие сообщения другого,
+ * и первое сообщение каждого логгера проходит. Префиксы должны указывать только на код пути запроса:
+ * сообщения фоновых задач редки, и прореживание оставило бы от них слишком мало.
+ * Фильтр вызывается до проверки уровня логгера, поэтому отклоненное сообщение не форматируется
+ * и не попадает в очередь аппендера. Настраивается в logback-spring.xml:
+ * <pre>
+ * &lt;turboFilter class="...SamplingTurboFilter"&gt;
+ *     &lt;logger&gt;org.example.transportschedule.controller&lt;/logger&gt;
+ *     &lt;level&gt;INFO&lt;/level&gt;
+ *     &lt;sampleRate&gt;100&lt;/sampleRate&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final List<String> loggers = new ArrayList<>();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private Level level = Level.INFO;
+    private int sampleRate = 100;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level eventLevel, String format, Object[] params, Throwable t) {
+        // Вызов без сообщения — проверка isXxxEnabled(); решение принимается при самой записи.
+        // Сообщения ниже уровня логгера отбросит сама проверка уровня, в выборку они не считаются
+        if (format == null || eventLevel.toInt() > level.toInt()
+                || !eventLevel.isGreaterOrEqual(logger.getEffectiveLevel()) || !isSampled(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        AtomicLong counter = counters.computeIfAbsent(logger.getName(), name -> new AtomicLong());
+        return counter.getAndIncrement() % sampleRate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean isSampled(String loggerName) {
+        for (String prefix : loggers) {
+            if (loggerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void addLogger(String logger) {
+        loggers.add(logger);
+    }
+
+    public void setLevel(String level) {
+        this.level = Level.toLevel(level, Level.INFO);
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+}
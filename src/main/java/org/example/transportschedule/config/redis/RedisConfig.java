@@ -19,15 +19,10 @@ public class RedisConfig {
         RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
         redisTemplate.setConnectionFactory(factory);
 
-        // Настройка ObjectMapper для корректной работы с LocalDateTime
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
         // Используем GenericJackson2JsonRedisSerializer для универсальной сериализации
-        redisTemplate.setValueSerializer(new GenericJackson2JsonRedisSerializer(mapper));
-        redisTemplate.setHashValueSerializer(new GenericJackson2JsonRedisSerializer(mapper));
+        GenericJackson2JsonRedisSerializer serializer = valueSerializer();
+        redisTemplate.setValueSerializer(serializer);
+        redisTemplate.setHashValueSerializer(serializer);
 
         // Сериализатор для ключей
         redisTemplate.setKeySerializer(new StringRedisSerializer());
@@ -37,7 +32,15 @@ public class RedisConfig {
         return redisTemplate;
     }
 
+    /**
+     * Сериализатор значений Redis. Вынесен отдельно, чтобы бенчмарки измеряли ту же конфигурацию, что и приложение.
+     */
+    public static GenericJackson2JsonRedisSerializer valueSerializer() {
+        // Настройка ObjectMapper для корректной работы с LocalDateTime
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return new GenericJackson2JsonRedisSerializer(mapper);
+    }
 }
-
-
-
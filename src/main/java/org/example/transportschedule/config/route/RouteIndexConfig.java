@@ -0,0 +1,37 @@
+package org.example.transportschedule.config.route;
+
+import org.example.transportschedule.constant.Constants;
+import org.example.transportschedule.service.route.RouteService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Подписка индекса маршрутов на канал изменений расписания в Redis,
+ * в который публикует ретранслятор outbox.
+ * Контейнер отдельный от SSE-рассылки: изменения одного рейса должны применяться к индексу в порядке
+ * публикации, поэтому сообщения обрабатываются одним потоком, а не параллельно.
+ */
+@Configuration
+public class RouteIndexConfig {
+
+    @Bean
+    public RedisMessageListenerContainer routeIndexListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                     RouteService routeService) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("route-index-changes-");
+        executor.setConcurrencyLimit(1);
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(executor);
+        container.addMessageListener(
+                (message, pattern) -> routeService.onScheduleChange(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(Constants.SCHEDULE_CHANGES_CHANNEL));
+        return container;
+    }
+}
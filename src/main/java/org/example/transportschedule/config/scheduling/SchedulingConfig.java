@@ -0,0 +1,12 @@
+package org.example.transportschedule.config.scheduling;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Включение фоновых задач по расписанию (обслуживание секций таблиц и т.п.).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
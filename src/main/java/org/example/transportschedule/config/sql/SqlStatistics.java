@@ -0,0 +1,123 @@
+package org.example.transportschedule.config.sql;
+
+import java.util.function.Supplier;
+
+/**
+ * Счетчики JDBC-запросов текущего потока: количество выполненных запросов (пачка JDBC-батча считается одним)
+ * и суммарное время их выполнения в БД. Счет ведется только между {@link #start()} и {@link #stop()},
+ * остальные запросы потока не учитываются.
+ */
+public final class SqlStatistics {
+
+    private static final ThreadLocal<Counter> CURRENT = new ThreadLocal<>();
+
+    private SqlStatistics() {
+    }
+
+    /**
+     * Итог измерения.
+     *
+     * @param statements  количество выполненных JDBC-запросов
+     * @param dbTimeNanos суммарное время выполнения запросов
+     */
+    public record Snapshot(long statements, long dbTimeNanos) {
+
+        public long dbTimeMillis() {
+            return dbTimeNanos / 1_000_000;
+        }
+    }
+
+    /**
+     * Начинает счет в текущем потоке (предыдущий счет, если был, сбрасывается).
+     */
+    public static void start() {
+        CURRENT.set(new Counter());
+    }
+
+    /**
+     * Текущие значения без остановки счета.
+     *
+     * @return значения счетчиков или null, если счет в потоке не ведется
+     */
+    public static Snapshot current() {
+        Counter counter = CURRENT.get();
+        return counter == null ? null : counter.snapshot();
+    }
+
+    /**
+     * Останавливает счет в текущем потоке.
+     *
+     * @return итоговые значения или null, если счет не велся
+     */
+    public static Snapshot stop() {
+        Counter counter = CURRENT.get();
+        CURRENT.remove();
+        return counter == null ? null : counter.snapshot();
+    }
+
+    /**
+     * Выполняет действие и считает выполненные им запросы. Счет, который велся до вызова, продолжается после него.
+     *
+     * @param action измеряемое действие
+     * @return значения счетчиков за время действия
+     */
+    public static Snapshot measure(Runnable action) {
+        return measure(() -> {
+            action.run();
+            return null;
+        }).statistics();
+    }
+
+    /**
+     * Выполняет действие и считает выполненные им запросы.
+     *
+     * @param action измеряемое действие
+     * @param <T>    тип результата
+     * @return результат действия и значения счетчиков за время его выполнения
+     */
+    public static <T> Measured<T> measure(Supplier<T> action) {
+        Counter outer = CURRENT.get();
+        Counter counter = new Counter();
+        CURRENT.set(counter);
+        try {
+            T result = action.get();
+            return new Measured<>(result, counter.snapshot());
+        } finally {
+            if (outer != null) {
+                outer.add(counter);
+                CURRENT.set(outer);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public record Measured<T>(T result, Snapshot statistics) {
+    }
+
+    /**
+     * Учет выполненного запроса (вызывается из слушателя JDBC).
+     */
+    static void record(long elapsedNanos) {
+        Counter counter = CURRENT.get();
+        if (counter != null) {
+            counter.statements++;
+            counter.dbTimeNanos += elapsedNanos;
+        }
+    }
+
+    private static final class Counter {
+
+        private long statements;
+        private long dbTimeNanos;
+
+        void add(Counter other) {
+            statements += other.statements;
+            dbTimeNanos += other.dbTimeNanos;
+        }
+
+        Snapshot snapshot() {
+            return new Snapshot(statements, dbTimeNanos);
+        }
+    }
+}
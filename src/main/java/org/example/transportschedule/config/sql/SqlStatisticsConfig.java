@@ -0,0 +1,36 @@
+package org.example.transportschedule.config.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Учет SQL-запросов на HTTP-запрос (см. {@link SqlStatistics}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "schedule.sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatisticsConfig {
+
+    @Bean
+    public SqlStatisticsListener sqlStatisticsListener() {
+        return new SqlStatisticsListener();
+    }
+
+    /**
+     * Фильтр стоит первым, чтобы учитывать запросы из всей цепочки, включая аутентификацию.
+     */
+    @Bean
+    public FilterRegistrationBean<SqlStatisticsFilter> sqlStatisticsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${schedule.sql-stats.max-statements:20}") long maxStatements,
+            @Value("${schedule.sql-stats.max-db-time-ms:500}") long maxDbTimeMs) {
+        FilterRegistrationBean<SqlStatisticsFilter> registration = new FilterRegistrationBean<>(
+                new SqlStatisticsFilter(meterRegistry, maxStatements, maxDbTimeMs));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
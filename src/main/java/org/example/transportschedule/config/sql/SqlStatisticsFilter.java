@@ -0,0 +1,72 @@
+package org.example.transportschedule.config.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Учет JDBC-запросов на HTTP-запрос: метрики количества запросов и времени в БД по эндпоинтам
+ * и предупреждение в лог о запросах, превысивших пороги (типичный признак N+1).
+ * Учитывается синхронная часть обработки; запись асинхронных ответов (SSE, экспорт) идет в других потоках.
+ */
+@Slf4j
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final long maxStatements;
+    private final long maxDbTimeMillis;
+
+    public SqlStatisticsFilter(MeterRegistry meterRegistry, long maxStatements, long maxDbTimeMillis) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+        this.maxDbTimeMillis = maxDbTimeMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatistics.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlStatistics.Snapshot statistics = SqlStatistics.stop();
+            if (statistics != null) {
+                record(request, statistics);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatistics.Snapshot statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("JDBC statements executed per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.statements());
+        Timer.builder("http.server.requests.sql.time")
+                .description("Time spent executing JDBC statements per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.dbTimeNanos(), TimeUnit.NANOSECONDS);
+
+        if (statistics.statements() > maxStatements || statistics.dbTimeMillis() > maxDbTimeMillis) {
+            log.warn("Запрос {} {} выполнил {} SQL-запросов за {} мс (пороги: {} запросов, {} мс)",
+                    request.getMethod(), request.getRequestURI(), statistics.statements(), statistics.dbTimeMillis(),
+                    maxStatements, maxDbTimeMillis);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.transportschedule.config.sql;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Отладочные заголовки с количеством SQL-запросов и временем в БД на момент формирования ответа.
+ * Заголовки добавляются перед записью тела, пока ответ еще не отправлен.
+ * Включается свойством schedule.sql-stats.debug-headers; в эксплуатации раскрывает лишние детали.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "schedule.sql-stats.debug-headers", havingValue = "true")
+public class SqlStatisticsHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String DB_TIME_HEADER = "X-Sql-Time-Ms";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStatistics.Snapshot statistics = SqlStatistics.current();
+        if (statistics != null) {
+            response.getHeaders().set(STATEMENTS_HEADER, String.valueOf(statistics.statements()));
+            response.getHeaders().set(DB_TIME_HEADER, String.valueOf(statistics.dbTimeMillis()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.transportschedule.config.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Слушатель datasource-proxy, передающий каждый выполненный JDBC-запрос в счетчики потока.
+ * Прокси источника данных создает datasource-micrometer; бины QueryExecutionListener он подключает сам.
+ */
+public class SqlStatisticsListener implements QueryExecutionListener {
+
+    private static final String START_KEY = SqlStatisticsListener.class.getName() + ".start";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_KEY, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_KEY, Long.class);
+        SqlStatistics.record(start == null ? 0 : System.nanoTime() - start);
+    }
+}
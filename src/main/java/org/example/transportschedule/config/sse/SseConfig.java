@@ -0,0 +1,38 @@
+package org.example.transportschedule.config.sse;
+
+import org.example.transportschedule.constant.Constants;
+import org.example.transportschedule.service.sse.SseHub;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Подписка SSE-рассылки на канал изменений расписания в Redis,
+ * в который публикует ретранслятор outbox.
+ * Сообщения обрабатываются одним потоком в порядке публикации: рассылка отбрасывает повторы по смещению
+ * и не должна принять за повтор изменение, обогнанное следующим. Обработка сообщения лишь ставит кадр
+ * в очереди соединений, поэтому один поток с ней справляется.
+ */
+@Configuration
+public class SseConfig {
+
+    @Bean
+    public RedisMessageListenerContainer scheduleChangesListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                          SseHub sseHub) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sse-changes-");
+        executor.setConcurrencyLimit(1);
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(executor);
+        container.addMessageListener(
+                (message, pattern) -> sseHub.onScheduleChange(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(Constants.SCHEDULE_CHANGES_CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.transportschedule.config.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Наблюдение (span) на каждый вызов метода компонента: имя span-а — "компонент.метод".
+ * Реестр наблюдений берется лениво, так как перехватчик создается до инициализации бинов.
+ */
+class ObservedInvocationInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<ObservationRegistry> registryProvider;
+    private final String observationName;
+    private final String component;
+
+    private volatile ObservationRegistry registry;
+
+    ObservedInvocationInterceptor(ObjectProvider<ObservationRegistry> registryProvider,
+                                  String observationName, String component) {
+        this.registryProvider = registryProvider;
+        this.observationName = observationName;
+        this.component = component;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (invocation.getMethod().getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+
+        String method = invocation.getMethod().getName();
+        Observation observation = Observation.createNotStarted(observationName, registry())
+                .contextualName(component + "." + method)
+                .lowCardinalityKeyValue("component", component)
+                .lowCardinalityKeyValue("method", method)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private ObservationRegistry registry() {
+        ObservationRegistry current = registry;
+        if (current == null) {
+            current = registryProvider.getIfAvailable(() -> ObservationRegistry.NOOP);
+            registry = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.transportschedule.config.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Экспорт span-ов. Spring Boot передает в обработчик span-ов все бины SpanExporter, поэтому экспортеры
+ * подключаются независимо: OTLP — заданием management.otlp.tracing.endpoint, файловый — свойством ниже.
+ */
+@Configuration
+public class SpanExporterConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "schedule.tracing.file-exporter.enabled", havingValue = "true")
+    public FileSpanExporter fileSpanExporter(@Value("${schedule.tracing.file-exporter.path:logs/spans.jsonl}") String path)
+            throws IOException {
+        return new FileSpanExporter(Path.of(path));
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.transportschedule.config.tracing;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Span-ы для слоев, которые Spring не наблюдает сам.
+ * HTTP-запросы (контроллеры) наблюдаются Spring MVC, JDBC-запросы — datasource-micrometer,
+ * здесь добавляются вызовы методов репозиториев (включая кастомные фрагменты) и мапперов MapStruct.
+ * Ленивая загрузка коллекций при маппинге видна как SQL-запросы внутри span-а маппера.
+ * Решение о кеше и вызовы Redis наблюдаются в TrainServiceProxy и ResilientRedisService.
+ */
+@Configuration
+public class TracingConfig {
+
+    private static final String MAPPER_PACKAGE = "org.example.transportschedule.mapper";
+
+    @Bean
+    public static BeanPostProcessor observedComponentsPostProcessor(ObjectProvider<ObservationRegistry> registry) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                // Перехватчик добавляется в прокси репозитория до его создания в afterPropertiesSet
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(new ObservedInvocationInterceptor(
+                                    registry, "schedule.repository", information.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                Class<?> beanClass = ClassUtils.getUserClass(bean);
+                if (!beanClass.getPackageName().startsWith(MAPPER_PACKAGE) || beanClass.getInterfaces().length == 0) {
+                    return bean;
+                }
+                ProxyFactory proxyFactory = new ProxyFactory(bean);
+                proxyFactory.addAdvice(new ObservedInvocationInterceptor(
+                        registry, "schedule.mapper", beanClass.getInterfaces()[0].getSimpleName()));
+                return proxyFactory.getProxy(beanClass.getClassLoader());
+            }
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.transportschedule.config.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Бинарные форматы для межсервисных клиентов: CBOR (application/cbor) и Smile (application/x-jackson-smile).
+ * Формат выбирается заголовком Accept (тело запроса — заголовком Content-Type), JSON остается форматом
+ * по умолчанию. Структура ответов та же, что в JSON: ObjectMapper строится тем же билдером Spring Boot,
+ * отличаются только кодирование и представление дат (см. {@link CompactDateTimeModule}).
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(binaryObjectMapper(builder, new CBORFactory()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(binaryObjectMapper(builder, new SmileFactory()));
+    }
+
+    /**
+     * ObjectMapper бинарного формата с настройками и модулями приложения.
+     * Модуль компактных дат регистрируется последним, чтобы его сериализаторы имели приоритет над JavaTimeModule.
+     */
+    public static ObjectMapper binaryObjectMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        ObjectMapper mapper = builder.factory(factory).build();
+        mapper.registerModule(new CompactDateTimeModule());
+        return mapper;
+    }
+}
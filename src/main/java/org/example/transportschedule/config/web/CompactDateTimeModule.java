@@ -0,0 +1,62 @@
+package org.example.transportschedule.config.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Компактное представление LocalDateTime для бинарных форматов: целое число секунд от 1970-01-01T00:00
+ * (время расписания без часового пояса). Вместо форматирования и разбора строки "dd.MM.yyyy HH:mm"
+ * пишется и читается одно число. Аннотации @JsonFormat у DTO при этом не учитываются,
+ * поэтому модуль подключается только к ObjectMapper бинарных форматов, JSON не меняется.
+ * При чтении строка в формате DTO тоже принимается.
+ */
+public class CompactDateTimeModule extends SimpleModule {
+
+    private static final DateTimeFormatter DTO_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    public CompactDateTimeModule() {
+        super("CompactDateTimeModule");
+        addSerializer(LocalDateTime.class, new EpochSecondSerializer());
+        addDeserializer(LocalDateTime.class, new EpochSecondDeserializer());
+    }
+
+    private static final class EpochSecondSerializer extends JsonSerializer<LocalDateTime> {
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeNumber(value.toEpochSecond(ZoneOffset.UTC));
+        }
+    }
+
+    private static final class EpochSecondDeserializer extends JsonDeserializer<LocalDateTime> {
+
+        @Override
+        public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return LocalDateTime.ofEpochSecond(parser.getLongValue(), 0, ZoneOffset.UTC);
+            }
+            if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                try {
+                    return LocalDateTime.parse(parser.getText(), DTO_FORMAT);
+                } catch (DateTimeParseException e) {
+                    return (LocalDateTime) context.handleWeirdStringValue(LocalDateTime.class, parser.getText(),
+                            "expected epoch seconds or dd.MM.yyyy HH:mm");
+                }
+            }
+            return (LocalDateTime) context.handleUnexpectedToken(LocalDateTime.class, parser);
+        }
+    }
+}
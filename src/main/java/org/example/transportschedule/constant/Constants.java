@@ -16,4 +16,55 @@ public class Constants {
 
     // Префикс для ключа поездов по странице для Redis
     public static final String TRAINS_CACHE_KEY_PREFIX_WITH_PAGE = "trainsPage:";
+
+    // Префикс ключа снимка маршрутов автобусов из города для Redis
+    public static final String BUS_ROUTES_CACHE_KEY_PREFIX = "busRoutes:";
+
+    // Префикс ключа снимка маршрутов поездов из города для Redis
+    public static final String TRAIN_ROUTES_CACHE_KEY_PREFIX = "trainRoutes:";
+
+    // Время жизни снимка маршрутов в Redis (в минутах)
+    public static final long ROUTES_CACHE_TTL_MINUTES = 24 * 60L;
+
+    // Размер выборки JDBC-курсора при потоковом экспорте (значение для подсказки запроса)
+    public static final String EXPORT_FETCH_SIZE = "500";
+
+    // Количество записей, после которого при экспорте сбрасывается буфер и очищается контекст персистентности
+    public static final int EXPORT_CHUNK_SIZE = 500;
+
+    // Префикс ключа сводки по направлениям для Redis
+    public static final String CORRIDOR_STATS_CACHE_KEY_PREFIX = "corridorStats:";
+
+    // Время жизни закешированной сводки по направлениям (в минутах)
+    public static final long CORRIDOR_STATS_CACHE_TTL_MINUTES = 10L;
+
+    // Максимальный период, за который отдается сводка по направлениям (в днях)
+    public static final int CORRIDOR_STATS_MAX_PERIOD_DAYS = 366;
+
+    // Префикс ключа квитанции асинхронной команды изменения расписания для Redis
+    public static final String COMMAND_RECEIPT_CACHE_KEY_PREFIX = "commandReceipt:";
+
+    // Ключ потока (Redis Stream) изменений расписания; ID записи потока — смещение события
+    public static final String SCHEDULE_CHANGES_STREAM_KEY = "scheduleChanges";
+
+    // Канал Redis pub/sub, в который ретранслятор публикует изменения расписания
+    public static final String SCHEDULE_CHANGES_CHANNEL = "scheduleChanges:live";
+
+    // Максимальное количество изменений в одном ответе /api/changes
+    public static final int SCHEDULE_CHANGES_MAX_LIMIT = 1000;
+
+    // Префикс ключа общего бюджета запросов (счетчик на секундное окно) для Redis
+    public static final String RATE_LIMIT_GLOBAL_KEY_PREFIX = "rateLimit:global:";
+
+    // Claim токена доступа со списком ролей пользователя (без префикса ROLE_)
+    public static final String TOKEN_ROLES_CLAIM = "roles";
+
+    // Издатель (claim iss) токенов доступа
+    public static final String TOKEN_ISSUER = "transport-schedule";
+
+    // Канал Redis pub/sub для сброса закешированных данных пользователя на всех узлах (сообщение — имя пользователя)
+    public static final String USER_DETAILS_EVICT_CHANNEL = "userDetails:evict";
+
+    // Префикс ключа версии расписания вида транспорта для Redis (увеличивается после каждой записи, основа ETag)
+    public static final String SCHEDULE_VERSION_KEY_PREFIX = "scheduleVersion:";
 }
@@ -0,0 +1,47 @@
+package org.example.transportschedule.controller.auth;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.example.transportschedule.model.dto.LoginRequestDTO;
+import org.example.transportschedule.model.dto.TokenDTO;
+import org.example.transportschedule.service.auth.AuthService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@Tag(name = "Authentication", description = "API для получения токенов доступа")
+public class AuthController {
+
+    private final AuthService authService;
+
+    @Operation(
+            summary = "Вход",
+            description = "Проверяет имя пользователя и пароль и возвращает короткоживущий подписанный токен. " +
+                    "Токен передается в заголовке Authorization: Bearer <токен> вместо HTTP Basic")
+    @ApiResponse(
+            responseCode = "200",
+            description = "Токен выдан"
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Не указаны имя пользователя или пароль"
+    )
+    @ApiResponse(
+            responseCode = "401",
+            description = "Неверное имя пользователя или пароль"
+    )
+    @PostMapping("/login")
+    public ResponseEntity<TokenDTO> login(
+            @Parameter(description = "Учетные данные", required = true) @Valid @RequestBody LoginRequestDTO request) {
+        return ResponseEntity.ok(authService.login(request));
+    }
+}
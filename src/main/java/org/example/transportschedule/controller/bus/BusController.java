@@ -6,13 +6,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.transportschedule.controller.support.ScheduleETags;
 import org.example.transportschedule.model.dto.BusDTO;
+import org.example.transportschedule.model.dto.RouteDTO;
+import org.example.transportschedule.model.enums.TransportType;
 import org.example.transportschedule.service.bus.BusService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -22,6 +29,7 @@ import java.util.List;
 @Tag(name = "Bus Controller", description = "Управление расписанием автобусов")
 public class BusController {
     private final BusService busService;
+    private final ScheduleETags scheduleETags;
 
     @Operation(summary = "Получение автобуса по ID", description = "Возвращает информацию об автобусе по его ID")
     @ApiResponse(responseCode = "200", description = "Автобус найден")
@@ -34,9 +42,14 @@ public class BusController {
 
     @Operation(summary = "Получение всех автобусов", description = "Возвращает список всех автобусов с постраничной разбивкой")
     @ApiResponse(responseCode = "200", description = "Список автобусов получен")
+    @ApiResponse(responseCode = "304", description = "Расписание автобусов не менялось с версии из If-None-Match")
     @ApiResponse(responseCode = "500", description = "Ошибка сервера")
     @GetMapping
-    public ResponseEntity<Page<BusDTO>> getAllBuses(@PageableDefault(sort = "dateOfArrival") Pageable pageable) {
+    public ResponseEntity<Page<BusDTO>> getAllBuses(@PageableDefault(sort = "dateOfArrival") Pageable pageable,
+                                                    @Parameter(hidden = true) ServletWebRequest request) {
+        if (scheduleETags.notModified(TransportType.BUS, CacheControl.noCache(), request)) {
+            return null;
+        }
         return ResponseEntity.ok(busService.getAllBuses(pageable));
     }
 
@@ -49,6 +62,24 @@ public class BusController {
         return ResponseEntity.ok(busService.getRouteFromCity(city));
     }
 
+    @Operation(summary = "Сводка маршрутов из указанного города", description = "Возвращает направления из города с количеством рейсов и ближайшим отправлением")
+    @ApiResponse(responseCode = "200", description = "Сводка маршрутов получена")
+    @ApiResponse(responseCode = "400", description = "Некорректный параметр запроса")
+    @GetMapping("/route/summary")
+    public ResponseEntity<List<RouteDTO>> getBusRouteSummary(
+            @Parameter(description = "Город отправления") @RequestParam String city) {
+        return ResponseEntity.ok(busService.getRouteSummaryFromCity(city));
+    }
+
+    @Operation(summary = "Экспорт всех автобусов", description = "Потоково выгружает все автобусы в формате NDJSON (одна запись на строку)")
+    @ApiResponse(responseCode = "200", description = "Выгрузка начата")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBuses() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(busService::exportBuses);
+    }
+
     @Operation(summary = "Добавление нового автобуса", description = "Создает новый автобус с указанными параметрами")
     @ApiResponse(responseCode = "200", description = "Автобус успешно добавлен")
     @ApiResponse(responseCode = "400", description = "Некорректные данные автобуса")
@@ -0,0 +1,34 @@
+package org.example.transportschedule.controller.change;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.example.transportschedule.model.dto.ScheduleChangesDTO;
+import org.example.transportschedule.service.outbox.OutboxService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/changes")
+@Tag(name = "Change Controller", description = "Инкрементальные изменения расписания")
+public class ChangeController {
+
+    private final OutboxService outboxService;
+
+    @Operation(summary = "Изменения расписания после смещения",
+            description = "Возвращает добавления, изменения и удаления рейсов в порядке публикации. "
+                    + "Для следующего запроса передайте nextOffset из ответа в параметре after")
+    @ApiResponse(responseCode = "200", description = "Изменения получены")
+    @ApiResponse(responseCode = "400", description = "Некорректные параметры запроса")
+    @ApiResponse(responseCode = "410", description = "Изменения после смещения удалены по сроку хранения: "
+            + "загрузите расписание заново и продолжайте со смещения, указанного в ответе")
+    @GetMapping
+    public ResponseEntity<ScheduleChangesDTO> getChanges(
+            @Parameter(description = "Последнее обработанное смещение") @RequestParam(defaultValue = "0") long after,
+            @Parameter(description = "Максимальное количество изменений") @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(outboxService.getChanges(after, limit));
+    }
+}
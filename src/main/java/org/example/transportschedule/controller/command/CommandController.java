@@ -0,0 +1,85 @@
+package org.example.transportschedule.controller.command;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.example.transportschedule.model.dto.BusDTO;
+import org.example.transportschedule.model.dto.CommandReceiptDTO;
+import org.example.transportschedule.model.dto.TrainDTO;
+import org.example.transportschedule.service.command.WriteBehindService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/commands")
+@ConditionalOnProperty(name = "schedule.write-behind.enabled", havingValue = "true")
+@Tag(name = "Command Controller", description = "Асинхронный прием правок расписания с квитанциями")
+public class CommandController {
+
+    private final WriteBehindService writeBehindService;
+
+    @Operation(summary = "Добавление автобуса (асинхронно)", description = "Ставит команду в очередь и возвращает квитанцию")
+    @ApiResponse(responseCode = "202", description = "Команда принята в очередь узла. Очередь хранится в памяти: "
+            + "при аварийной остановке узла команда может быть не применена, а квитанция останется QUEUED "
+            + "до истечения срока хранения")
+    @ApiResponse(responseCode = "400", description = "Некорректные данные автобуса")
+    @ApiResponse(responseCode = "503", description = "Очередь команд заполнена или хранилище квитанций недоступно")
+    @PostMapping("/buses")
+    public ResponseEntity<CommandReceiptDTO> addBus(
+            @Parameter(description = "Данные нового автобуса") @RequestBody @Valid BusDTO busDTO) {
+        return ResponseEntity.accepted().body(writeBehindService.submitAddBus(busDTO));
+    }
+
+    @Operation(summary = "Обновление автобуса (асинхронно)", description = "Ставит команду в очередь и возвращает квитанцию")
+    @ApiResponse(responseCode = "202", description = "Команда принята в очередь узла. Очередь хранится в памяти: "
+            + "при аварийной остановке узла команда может быть не применена, а квитанция останется QUEUED "
+            + "до истечения срока хранения")
+    @ApiResponse(responseCode = "400", description = "Некорректные данные автобуса")
+    @ApiResponse(responseCode = "503", description = "Очередь команд заполнена или хранилище квитанций недоступно")
+    @PutMapping("/buses/{id}")
+    public ResponseEntity<CommandReceiptDTO> updateBus(
+            @Parameter(description = "ID обновляемого автобуса") @PathVariable long id,
+            @Parameter(description = "Новые данные автобуса") @RequestBody @Valid BusDTO busDTO) {
+        return ResponseEntity.accepted().body(writeBehindService.submitUpdateBus(id, busDTO));
+    }
+
+    @Operation(summary = "Добавление поезда (асинхронно)", description = "Ставит команду в очередь и возвращает квитанцию")
+    @ApiResponse(responseCode = "202", description = "Команда принята в очередь узла. Очередь хранится в памяти: "
+            + "при аварийной остановке узла команда может быть не применена, а квитанция останется QUEUED "
+            + "до истечения срока хранения")
+    @ApiResponse(responseCode = "400", description = "Некорректные данные поезда")
+    @ApiResponse(responseCode = "503", description = "Очередь команд заполнена или хранилище квитанций недоступно")
+    @PostMapping("/trains")
+    public ResponseEntity<CommandReceiptDTO> addTrain(
+            @Parameter(description = "Данные нового поезда") @RequestBody @Valid TrainDTO trainDTO) {
+        return ResponseEntity.accepted().body(writeBehindService.submitAddTrain(trainDTO));
+    }
+
+    @Operation(summary = "Обновление поезда (асинхронно)", description = "Ставит команду в очередь и возвращает квитанцию")
+    @ApiResponse(responseCode = "202", description = "Команда принята в очередь узла. Очередь хранится в памяти: "
+            + "при аварийной остановке узла команда может быть не применена, а квитанция останется QUEUED "
+            + "до истечения срока хранения")
+    @ApiResponse(responseCode = "400", description = "Некорректные данные поезда")
+    @ApiResponse(responseCode = "503", description = "Очередь команд заполнена или хранилище квитанций недоступно")
+    @PutMapping("/trains/{id}")
+    public ResponseEntity<CommandReceiptDTO> updateTrain(
+            @Parameter(description = "ID обновляемого поезда") @PathVariable long id,
+            @Parameter(description = "Новые данные поезда") @RequestBody @Valid TrainDTO trainDTO) {
+        return ResponseEntity.accepted().body(writeBehindService.submitUpdateTrain(id, trainDTO));
+    }
+
+    @Operation(summary = "Состояние команды", description = "Возвращает квитанцию: в очереди, выполнена или отклонена")
+    @ApiResponse(responseCode = "200", description = "Квитанция найдена")
+    @ApiResponse(responseCode = "404", description = "Квитанция не найдена или срок ее хранения истек")
+    @ApiResponse(responseCode = "503", description = "Хранилище квитанций недоступно")
+    @GetMapping("/{receiptId}")
+    public ResponseEntity<CommandReceiptDTO> getReceipt(
+            @Parameter(description = "Идентификатор квитанции") @PathVariable String receiptId) {
+        return ResponseEntity.ok(writeBehindService.getReceipt(receiptId));
+    }
+}
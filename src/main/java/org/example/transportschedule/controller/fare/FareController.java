@@ -0,0 +1,31 @@
+package org.example.transportschedule.controller.fare;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.example.transportschedule.model.dto.FareAdjustmentDTO;
+import org.example.transportschedule.model.dto.FareAdjustmentResultDTO;
+import org.example.transportschedule.service.fare.FareService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/fares")
+@Tag(name = "Fare Controller", description = "Массовое изменение цен")
+public class FareController {
+
+    private final FareService fareService;
+
+    @Operation(summary = "Массовое изменение цен", description = "Изменяет цены всех рейсов, подпадающих под фильтры правила, на процент и/или фиксированную сумму")
+    @ApiResponse(responseCode = "200", description = "Цены изменены; completed = false, если правило прервано и применено частично")
+    @ApiResponse(responseCode = "400", description = "Некорректное правило")
+    @PostMapping("/adjustments")
+    public ResponseEntity<FareAdjustmentResultDTO> adjustFares(
+            @Parameter(description = "Правило изменения цен") @RequestBody @Valid FareAdjustmentDTO rule) {
+        return ResponseEntity.ok(fareService.adjustFares(rule));
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.transportschedule.controller.history;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.example.transportschedule.model.dto.BusDTO;
+import org.example.transportschedule.model.dto.TrainDTO;
+import org.example.transportschedule.service.history.HistoryService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/history")
+@Tag(name = "History Controller", description = "Архив отправившихся рейсов")
+public class HistoryController {
+
+    private final HistoryService historyService;
+
+    @Operation(summary = "Архив автобусов", description = "Возвращает архивные рейсы автобусов за период с постраничной разбивкой")
+    @ApiResponse(responseCode = "200", description = "Список архивных рейсов получен")
+    @ApiResponse(responseCode = "400", description = "Некорректные параметры запроса")
+    @GetMapping("/buses")
+    public ResponseEntity<Page<BusDTO>> getBusHistory(
+            @Parameter(description = "Город отправления") @RequestParam(required = false) String cityFrom,
+            @Parameter(description = "Начало периода (dd.MM.yyyy HH:mm)")
+            @RequestParam @DateTimeFormat(pattern = "dd.MM.yyyy HH:mm") LocalDateTime from,
+            @Parameter(description = "Конец периода (dd.MM.yyyy HH:mm)")
+            @RequestParam @DateTimeFormat(pattern = "dd.MM.yyyy HH:mm") LocalDateTime to,
+            @PageableDefault(sort = "dateOfDeparture") Pageable pageable) {
+        return ResponseEntity.ok(historyService.getBusHistory(cityFrom, from, to, pageable));
+    }
+
+    @Operation(summary = "Архив поездов", description = "Возвращает архивные рейсы поездов за период с постраничной разбивкой")
+    @ApiResponse(responseCode = "200", description = "Список архивных рейсов получен")
+    @ApiResponse(responseCode = "400", description = "Некорректные параметры запроса")
+    @GetMapping("/trains")
+    public ResponseEntity<Page<TrainDTO>> getTrainHistory(
+            @Parameter(description = "Город отправления") @RequestParam(required = false) String cityFrom,
+            @Parameter(description = "Начало периода (dd.MM.yyyy HH:mm)")
+            @RequestParam @DateTimeFormat(pattern = "dd.MM.yyyy HH:mm") LocalDateTime from,
+            @Parameter(description = "Конец периода (dd.MM.yyyy HH:mm)")
+            @RequestParam @DateTimeFormat(pattern = "dd.MM.yyyy HH:mm") LocalDateTime to,
+            @PageableDefault(sort = "dateOfDeparture") Pageable pageable) {
+        return ResponseEntity.ok(historyService.getTrainHistory(cityFrom, from, to, pageable));
+    }
+}
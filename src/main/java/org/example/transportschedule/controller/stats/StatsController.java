@@ -0,0 +1,41 @@
+package org.example.transportschedule.controller.stats;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.example.transportschedule.model.dto.CorridorStatsDTO;
+import org.example.transportschedule.model.enums.TransportType;
+import org.example.transportschedule.service.stats.CorridorStatsService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/stats")
+@Tag(name = "Stats Controller", description = "Сводная статистика по расписанию")
+public class StatsController {
+
+    private final CorridorStatsService corridorStatsService;
+
+    @Operation(summary = "Сводка по направлениям",
+            description = "Возвращает по дням количество рейсов, минимальную и среднюю цену, первое и последнее отправление")
+    @ApiResponse(responseCode = "200", description = "Сводка получена")
+    @ApiResponse(responseCode = "400", description = "Некорректные параметры запроса")
+    @GetMapping("/corridors")
+    public ResponseEntity<List<CorridorStatsDTO>> getCorridorStats(
+            @Parameter(description = "Вид транспорта") @RequestParam(required = false) TransportType type,
+            @Parameter(description = "Город отправления") @RequestParam(required = false) String cityFrom,
+            @Parameter(description = "Город прибытия") @RequestParam(required = false) String cityTo,
+            @Parameter(description = "Первый день периода (dd.MM.yyyy)")
+            @RequestParam @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate from,
+            @Parameter(description = "Последний день периода (dd.MM.yyyy)")
+            @RequestParam @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate to) {
+        return ResponseEntity.ok(corridorStatsService.getCorridorStats(type, cityFrom, cityTo, from, to));
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.transportschedule.controller.stream;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.example.transportschedule.service.sse.SseHub;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/stream")
+@Tag(name = "Schedule Stream Controller", description = "Подписка на изменения расписания (Server-Sent Events)")
+public class ScheduleStreamController {
+
+    private final SseHub sseHub;
+
+    @Operation(summary = "Подписка на изменения расписания",
+            description = "Открывает SSE-поток изменений рейсов по городам (отправление, прибытие или остановка) "
+                    + "и/или маршруту. При переподключении пропущенные изменения досылаются по заголовку Last-Event-ID; "
+                    + "если их слишком много или они удалены по сроку хранения, приходит событие reset: "
+                    + "клиенту следует перезагрузить данные целиком")
+    @ApiResponse(responseCode = "200", description = "Подписка открыта")
+    @ApiResponse(responseCode = "400", description = "Не указан ни город, ни маршрут")
+    @ApiResponse(responseCode = "503", description = "Достигнут предел подписок на узле")
+    @GetMapping(value = "/schedule", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @Parameter(description = "Города (можно несколько)") @RequestParam(required = false) List<String> city,
+            @Parameter(description = "Город отправления маршрута") @RequestParam(required = false) String cityFrom,
+            @Parameter(description = "Город прибытия маршрута") @RequestParam(required = false) String cityTo,
+            @Parameter(description = "Смещение последнего полученного события")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        Set<String> topics = new LinkedHashSet<>();
+        if (city != null) {
+            city.forEach(name -> topics.add(SseHub.cityTopic(name)));
+        }
+        if (cityFrom != null && cityTo != null) {
+            topics.add(SseHub.routeTopic(cityFrom, cityTo));
+        }
+        if (topics.isEmpty()) {
+            throw new IllegalArgumentException("Укажите город (city) или маршрут (cityFrom и cityTo)");
+        }
+        return sseHub.subscribe(topics, lastEventId);
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.transportschedule.controller.support;
+
+import lombok.RequiredArgsConstructor;
+import org.example.transportschedule.model.enums.TransportType;
+import org.example.transportschedule.service.version.ScheduleVersionService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Locale;
+
+/**
+ * Условные GET-запросы для чтения расписания. ETag строится из версии расписания вида транспорта,
+ * поэтому проверка If-None-Match не требует ни запроса к БД, ни построения и сериализации ответа.
+ * <p>
+ * ETag слабый (W/): Tomcat не сжимает ответы с сильным ETag, а для сравнения If-None-Match
+ * слабого валидатора достаточно. Cache-Control: no-cache разрешает клиенту хранить ответ,
+ * но требует перепроверки при каждом использовании.
+ * <p>
+ * Ответы в JSON, CBOR и Smile одной версии различаются байтами, поэтому в ETag бинарного формата
+ * добавляется его название (W/"bus-42-cbor"); ETag ответа в JSON остается без суффикса.
+ */
+@Component
+@RequiredArgsConstructor
+public class ScheduleETags {
+
+    private static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile"); // Smile, как у MappingJackson2SmileHttpMessageConverter
+
+    private final ScheduleVersionService scheduleVersionService;
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    /**
+     * Проверяет, изменилось ли расписание с версии, известной клиенту.
+     * Если не изменилось, ответ 304 уже сформирован и контроллер должен вернуть null.
+     * Иначе ETag уже выставлен в ответ, и контроллер отдает тело как обычно.
+     *
+     * @param type         вид транспорта, от которого зависит ответ
+     * @param cacheControl политика кеширования ответа (публичные или требующие аутентификации данные)
+     * @param request      текущий запрос
+     * @return true, если можно ответить 304 без тела
+     */
+    public boolean notModified(TransportType type, CacheControl cacheControl, ServletWebRequest request) {
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+            // Формат ответа выбирается по Accept, сохраненные ответы различаются по нему
+            request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+
+        String version = scheduleVersionService.currentVersion(type);
+        if (version == null) {
+            // Версия неизвестна (Redis недоступен): ответ без ETag, клиент получит данные целиком
+            return false;
+        }
+        return request.checkNotModified("W/\"" + type.name().toLowerCase(Locale.ROOT) + "-" + version
+                + formatSuffix(request) + "\"");
+    }
+
+    /**
+     * Суффикс ETag для формата, который будет выбран по Accept. Проверка повторяет порядок конвертеров:
+     * JSON стоит первым, поэтому достается и запросам с Accept: *&#47;* или без Accept.
+     */
+    private String formatSuffix(ServletWebRequest request) {
+        try {
+            for (MediaType mediaType : contentNegotiationManager.resolveMediaTypes(request)) {
+                if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return "";
+                }
+                if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                    return "-cbor";
+                }
+                if (mediaType.isCompatibleWith(APPLICATION_SMILE)) {
+                    return "-smile";
+                }
+            }
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            // Некорректный Accept: ответ все равно завершится ошибкой при выборе конвертера
+        }
+        return "";
+    }
+}
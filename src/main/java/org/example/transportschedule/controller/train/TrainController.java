@@ -6,13 +6,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.transportschedule.controller.support.ScheduleETags;
+import org.example.transportschedule.model.dto.RouteDTO;
 import org.example.transportschedule.model.dto.TrainDTO;
+import org.example.transportschedule.model.enums.TransportType;
 import org.example.transportschedule.service.train.TrainService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -23,6 +30,7 @@ import java.util.List;
 public class TrainController {
 
     private final TrainService trainService;
+    private final ScheduleETags scheduleETags;
 
     @Operation(summary = "Получение поезда по ID", description = "Возвращает информацию о поезде по его ID")
     @ApiResponse(responseCode = "200", description = "Поезд найден")
@@ -68,10 +76,15 @@ public class TrainController {
 
     @Operation(summary = "Получение всех поездов", description = "Возвращает список всех поездов с постраничной разбивкой")
     @ApiResponse(responseCode = "200", description = "Список поездов получен")
+    @ApiResponse(responseCode = "304", description = "Расписание поездов не менялось с версии из If-None-Match")
     @ApiResponse(responseCode = "500", description = "Ошибка сервера")
     @GetMapping
     public ResponseEntity<Page<TrainDTO>> getAllTrains(
-            @PageableDefault(sort = "dateOfArrival") Pageable pageable) {
+            @PageableDefault(sort = "dateOfArrival") Pageable pageable,
+            @Parameter(hidden = true) ServletWebRequest request) {
+        if (scheduleETags.notModified(TransportType.TRAIN, CacheControl.noCache().cachePrivate(), request)) {
+            return null;
+        }
         Page<TrainDTO> trainsPage = trainService.getAllTrains(pageable);
         return ResponseEntity.ok(trainsPage);
     }
@@ -86,15 +99,38 @@ public class TrainController {
         return ResponseEntity.ok(routes);
     }
 
+    @Operation(summary = "Сводка маршрутов из указанного города", description = "Возвращает направления из города (включая промежуточные остановки) с количеством рейсов и ближайшим отправлением")
+    @ApiResponse(responseCode = "200", description = "Сводка маршрутов получена")
+    @ApiResponse(responseCode = "400", description = "Некорректный параметр запроса")
+    @GetMapping("/route/summary")
+    public ResponseEntity<List<RouteDTO>> getRouteSummaryFromCity(
+            @Parameter(description = "Город отправления") @RequestParam("city") String city) {
+        return ResponseEntity.ok(trainService.getRouteSummaryFromCity(city));
+    }
+
     @Operation(summary = "Поиск поездов по городам отправления и прибытия", description = "Возвращает список поездов между двумя городами, включая промежуточные остановки")
     @ApiResponse(responseCode = "200", description = "Список поездов найден")
+    @ApiResponse(responseCode = "304", description = "Расписание поездов не менялось с версии из If-None-Match")
     @ApiResponse(responseCode = "400", description = "Некорректные параметры запроса")
     @ApiResponse(responseCode = "404", description = "Поезда не найдены")
     @GetMapping("/search")
     public ResponseEntity<List<TrainDTO>> findTrainsByCities(
             @Parameter(description = "Город отправления") @RequestParam("cityFrom") String cityFrom,
-            @Parameter(description = "Город прибытия") @RequestParam("cityTo") String cityTo) {
+            @Parameter(description = "Город прибытия") @RequestParam("cityTo") String cityTo,
+            @Parameter(hidden = true) ServletWebRequest request) {
+        if (scheduleETags.notModified(TransportType.TRAIN, CacheControl.noCache().cachePrivate(), request)) {
+            return null;
+        }
         List<TrainDTO> trains = trainService.findTrainsByCities(cityFrom, cityTo);
         return ResponseEntity.ok(trains);
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Экспорт всех поездов", description = "Потоково выгружает все поезда в формате NDJSON (одна запись на строку)")
+    @ApiResponse(responseCode = "200", description = "Выгрузка начата")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTrains() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(trainService::exportTrains);
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.transportschedule.exception;
+
+public class ChangesExpiredException extends RuntimeException {
+    public ChangesExpiredException(long afterOffset, long purgedThroughOffset) {
+        super("Changes after offset " + afterOffset + " are no longer retained (purged through offset "
+                + purgedThroughOffset + "); reload the schedule and continue from offset " + purgedThroughOffset);
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.transportschedule.exception;
+
+public class CommandReceiptNotFoundException extends RuntimeException {
+    public CommandReceiptNotFoundException(String receiptId) {
+        super("Command receipt " + receiptId + " not found");
+    }
+}
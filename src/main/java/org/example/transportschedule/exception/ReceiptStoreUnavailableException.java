@@ -0,0 +1,7 @@
+package org.example.transportschedule.exception;
+
+public class ReceiptStoreUnavailableException extends RuntimeException {
+    public ReceiptStoreUnavailableException(Throwable cause) {
+        super("Command receipt store is unavailable, retry later", cause);
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.transportschedule.exception;
+
+public class SubscriptionLimitExceededException extends RuntimeException {
+    public SubscriptionLimitExceededException(int limit) {
+        super("Subscription limit reached (" + limit + " connections), retry later");
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.transportschedule.exception;
+
+public class WriteQueueFullException extends RuntimeException {
+    public WriteQueueFullException(int capacity) {
+        super("Write queue is full (capacity " + capacity + "), retry later");
+    }
+}
@@ -2,6 +2,7 @@ package org.example.transportschedule.mapper.bus;
 
 import org.example.transportschedule.model.dto.BusDTO;
 import org.example.transportschedule.model.entity.Bus;
+import org.example.transportschedule.model.entity.BusHistory;
 import org.mapstruct.Mapper;
 
 
@@ -9,5 +10,7 @@ import org.mapstruct.Mapper;
 public interface BusMapper {
     BusDTO mapToBusDTO(Bus bus);
 
+    BusDTO mapToBusDTO(BusHistory bus);
+
     Bus mapToBusEntity(BusDTO busDTO);
 }
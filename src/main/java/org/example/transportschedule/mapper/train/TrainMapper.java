@@ -2,11 +2,40 @@ package org.example.transportschedule.mapper.train;
 
 import org.example.transportschedule.model.dto.TrainDTO;
 import org.example.transportschedule.model.entity.Train;
+import org.example.transportschedule.model.entity.TrainHistory;
 import org.mapstruct.Mapper;
 
+import java.util.List;
+
 @Mapper(componentModel = "spring")
 public interface TrainMapper {
     TrainDTO mapToTrainDTO(Train train);
 
     Train mapToTrainEntity(TrainDTO trainDTO);
+
+    /**
+     * Преобразование поезда с заранее загруженным списком остановок,
+     * без обращения к ленивой коллекции stopList.
+     */
+    default TrainDTO mapToTrainDTO(Train train, List<String> stopList) {
+        return new TrainDTO(
+                train.getCityFrom(),
+                train.getCityTo(),
+                train.getPrice(),
+                train.getDateOfDeparture(),
+                train.getDateOfArrival(),
+                stopList
+        );
+    }
+
+    default TrainDTO mapToTrainDTO(TrainHistory train, List<String> stopList) {
+        return new TrainDTO(
+                train.getCityFrom(),
+                train.getCityTo(),
+                train.getPrice(),
+                train.getDateOfDeparture(),
+                train.getDateOfArrival(),
+                stopList
+        );
+    }
 }
@@ -0,0 +1,33 @@
+package org.example.transportschedule.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.example.transportschedule.model.enums.CommandStatus;
+import org.example.transportschedule.model.enums.TransportType;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Квитанция о приеме команды изменения расписания")
+public record CommandReceiptDTO(
+        @Schema(description = "Идентификатор квитанции", example = "0f8fad5b-d9cb-469f-a165-70867728950e")
+        String receiptId,
+
+        @Schema(description = "Состояние команды", example = "APPLIED")
+        CommandStatus status,
+
+        @Schema(description = "Вид транспорта", example = "BUS")
+        TransportType type,
+
+        @Schema(description = "ID рейса (для добавления известен после выполнения)", example = "42")
+        Long entityId,
+
+        @Schema(description = "Причина ошибки, если команда не выполнена")
+        String error,
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd.MM.yyyy HH:mm:ss")
+        LocalDateTime submittedAt,
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd.MM.yyyy HH:mm:ss")
+        LocalDateTime completedAt
+) {
+}
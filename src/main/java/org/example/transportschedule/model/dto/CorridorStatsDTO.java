@@ -0,0 +1,31 @@
+package org.example.transportschedule.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import org.example.transportschedule.model.enums.TransportType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record CorridorStatsDTO(
+        TransportType type,
+
+        String cityFrom,
+
+        String cityTo,
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd.MM.yyyy")
+        LocalDate date,
+
+        long tripCount,
+
+        double minPrice,
+
+        double avgPrice,
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd.MM.yyyy HH:mm")
+        LocalDateTime firstDeparture,
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd.MM.yyyy HH:mm")
+        LocalDateTime lastDeparture
+) {
+}
@@ -0,0 +1,67 @@
+package org.example.transportschedule.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Pattern;
+import org.example.transportschedule.model.enums.TransportType;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Правило массового изменения цен. Фильтры объединяются по И; нужен хотя бы один фильтр по городу
+ * или дате отправления, чтобы правило не изменило по ошибке все рейсы.
+ * Новая цена = цена * (1 + percent / 100) + amount, с округлением до копеек и не ниже нуля.
+ */
+public record FareAdjustmentDTO(
+        // Вид транспорта; если не указан, правило применяется и к автобусам, и к поездам
+        TransportType type,
+
+        @Pattern(regexp = "^[a-zA-Zа-яА-Я\\s-]+$", message = "Город отправления должен содержать только буквы")
+        String cityFrom,
+
+        @Pattern(regexp = "^[a-zA-Zа-яА-Я\\s-]+$", message = "Город прибытия должен содержать только буквы")
+        String cityTo,
+
+        // Город отправления или прибытия
+        @Pattern(regexp = "^[a-zA-Zа-яА-Я\\s-]+$", message = "Город должен содержать только буквы")
+        String city,
+
+        @DateTimeFormat(pattern = "dd.MM.yyyy HH:mm")
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd.MM.yyyy HH:mm")
+        LocalDateTime departureFrom,
+
+        @DateTimeFormat(pattern = "dd.MM.yyyy HH:mm")
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd.MM.yyyy HH:mm")
+        LocalDateTime departureTo,
+
+        @DecimalMin(value = "-100", inclusive = false, message = "Снижение цены должно быть меньше 100%")
+        Double percent,
+
+        Double amount
+) {
+
+    @JsonIgnore
+    @AssertTrue(message = "Нужно указать изменение цены в процентах (percent) и/или в рублях (amount)")
+    public boolean isAdjustmentSpecified() {
+        return percent != null || amount != null;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Нужно указать хотя бы один фильтр: cityFrom, cityTo, city, departureFrom или departureTo")
+    public boolean isFilterSpecified() {
+        return cityFrom != null || cityTo != null || city != null || departureFrom != null || departureTo != null;
+    }
+
+    @JsonIgnore
+    public double factor() {
+        return percent == null ? 1.0 : 1.0 + percent / 100.0;
+    }
+
+    @JsonIgnore
+    public double delta() {
+        return amount == null ? 0.0 : amount;
+    }
+}
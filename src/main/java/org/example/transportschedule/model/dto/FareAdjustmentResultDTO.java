@@ -0,0 +1,15 @@
+package org.example.transportschedule.model.dto;
+
+public record FareAdjustmentResultDTO(
+        long busesUpdated,
+
+        long trainsUpdated,
+
+        int chunks,
+
+        long durationMs,
+
+        // false, если правило прервано: изменения уже обработанных диапазонов сохранены
+        boolean completed
+) {
+}
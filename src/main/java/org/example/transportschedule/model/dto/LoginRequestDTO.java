@@ -0,0 +1,16 @@
+package org.example.transportschedule.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+@Schema(description = "Учетные данные для получения токена доступа")
+public record LoginRequestDTO(
+        @NotBlank(message = "Имя пользователя обязательно")
+        @Schema(description = "Имя пользователя", example = "admin")
+        String username,
+
+        @NotBlank(message = "Пароль обязателен")
+        @Schema(description = "Пароль", example = "admin")
+        String password
+) {
+}
@@ -0,0 +1,17 @@
+package org.example.transportschedule.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+public record RouteDTO(
+        String cityFrom,
+
+        String cityTo,
+
+        long tripCount,
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd.MM.yyyy HH:mm")
+        LocalDateTime nextDeparture
+) {
+}
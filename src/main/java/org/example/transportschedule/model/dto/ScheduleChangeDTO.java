@@ -0,0 +1,37 @@
+package org.example.transportschedule.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.example.transportschedule.model.enums.ChangeType;
+import org.example.transportschedule.model.enums.TransportType;
+import org.example.transportschedule.model.event.TripSnapshot;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Изменение расписания в потоке изменений")
+public record ScheduleChangeDTO(
+        @Schema(description = "Смещение события (возрастает в порядке публикации)", example = "1024")
+        long offset,
+
+        @Schema(description = "Идентификатор события (для отбрасывания повторов)", example = "98231")
+        long eventId,
+
+        @Schema(description = "Вид транспорта", example = "BUS")
+        TransportType type,
+
+        @Schema(description = "ID рейса", example = "42")
+        long id,
+
+        @Schema(description = "Тип изменения", example = "UPDATED")
+        ChangeType changeType,
+
+        @Schema(description = "Состояние до изменения (нет при добавлении и массовом изменении цен)")
+        TripSnapshot before,
+
+        @Schema(description = "Состояние после изменения (нет при удалении)")
+        TripSnapshot after,
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd.MM.yyyy HH:mm:ss")
+        LocalDateTime occurredAt
+) {
+}
@@ -0,0 +1,15 @@
+package org.example.transportschedule.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Порция изменений расписания после заданного смещения")
+public record ScheduleChangesDTO(
+        @Schema(description = "Изменения в порядке смещений")
+        List<ScheduleChangeDTO> changes,
+
+        @Schema(description = "Смещение для следующего запроса (after)", example = "1024")
+        long nextOffset
+) {
+}
@@ -0,0 +1,16 @@
+package org.example.transportschedule.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Токен доступа")
+public record TokenDTO(
+        @Schema(description = "Подписанный токен; передается в заголовке Authorization: Bearer <токен>")
+        String accessToken,
+
+        @Schema(description = "Тип токена", example = "Bearer")
+        String tokenType,
+
+        @Schema(description = "Срок действия токена в секундах", example = "900")
+        long expiresIn
+) {
+}
@@ -31,7 +31,7 @@ public record TrainDTO(
 
 
         @NotEmpty(message = "Список остановок не должен быть пустым")
-        @Max(value = 10, message = "Максимальное количество остановок - 10")
+        @Size(max = 10, message = "Максимальное количество остановок - 10")
         List<
                 @NotBlank(message = "Название остановки не должно быть пустым")
                 @Pattern(regexp = "^[a-zA-Zа-яА-Я\\s-]+$", message = "Название остановки должно содержать только буквы")
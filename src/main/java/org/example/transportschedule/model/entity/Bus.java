@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 @Schema(description = "Сущность, представляющая автобус и его маршрут")
 public class Bus {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "buses_seq")
+    @SequenceGenerator(name = "buses_seq", sequenceName = "buses_id_seq", allocationSize = 50)
     @Schema(description = "Уникальный идентификатор поезда", example = "1")
     private long id;
 
@@ -0,0 +1,42 @@
+package org.example.transportschedule.model.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Immutable
+@Table(name = "buses_history")
+@Getter
+@Setter
+@Schema(description = "Архивный рейс автобуса, вышедший за горизонт хранения")
+public class BusHistory {
+    @Id
+    @Schema(description = "Идентификатор рейса в рабочей таблице", example = "1")
+    private long id;
+
+    @Schema(description = "Город отправления", example = "Москва")
+    private String cityFrom;
+
+    @Schema(description = "Город прибытия", example = "Казань")
+    private String cityTo;
+
+    @Schema(description = "Цена билета", example = "500.5")
+    private double price;
+
+    @Column(nullable = false)
+    @Schema(description = "Дата и время отправления", example = "2025-02-15T23:30:00")
+    private LocalDateTime dateOfDeparture;
+
+    @Column(nullable = false)
+    @Schema(description = "Дата и время прибытия", example = "2025-02-15T23:30:00")
+    private LocalDateTime dateOfArrival;
+
+    @Column(nullable = false)
+    @Schema(description = "Дата и время переноса в архив", example = "2025-03-20T03:30:00")
+    private LocalDateTime archivedAt;
+}
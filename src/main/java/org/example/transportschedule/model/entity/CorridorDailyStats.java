@@ -0,0 +1,34 @@
+package org.example.transportschedule.model.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "corridor_daily_stats")
+@Getter
+@Setter
+@Schema(description = "Сводка по направлению за день")
+public class CorridorDailyStats {
+
+    @EmbeddedId
+    private CorridorDailyStatsId id;
+
+    @Schema(description = "Количество рейсов", example = "12")
+    private long tripCount;
+
+    @Schema(description = "Сумма цен (для расчета средней)", example = "6000.0")
+    private double priceSum;
+
+    @Schema(description = "Минимальная цена", example = "450.0")
+    private double priceMin;
+
+    @Schema(description = "Первое отправление за день", example = "2025-02-15T06:30:00")
+    private LocalDateTime firstDeparture;
+
+    @Schema(description = "Последнее отправление за день", example = "2025-02-15T23:30:00")
+    private LocalDateTime lastDeparture;
+}
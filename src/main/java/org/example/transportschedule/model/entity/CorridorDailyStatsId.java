@@ -0,0 +1,28 @@
+package org.example.transportschedule.model.entity;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.transportschedule.model.enums.TransportType;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorridorDailyStatsId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    private TransportType transportType;
+
+    private String cityFrom;
+
+    private String cityTo;
+
+    private LocalDate departureDate;
+}
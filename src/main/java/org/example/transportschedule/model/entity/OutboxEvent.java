@@ -0,0 +1,50 @@
+package org.example.transportschedule.model.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.example.transportschedule.model.enums.ChangeType;
+import org.example.transportschedule.model.enums.TransportType;
+import org.example.transportschedule.model.event.TripSnapshot;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "schedule_outbox")
+@Getter
+@Setter
+@Schema(description = "Событие изменения расписания в outbox")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransportType transportType;
+
+    @Column(nullable = false)
+    private long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeType changeType;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    private TripSnapshot before;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    private TripSnapshot after;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Смещение в потоке изменений; назначается при публикации")
+    private Long eventOffset;
+
+    private LocalDateTime publishedAt;
+}
@@ -15,7 +15,8 @@ import java.util.List;
 public class Train {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trains_seq")
+    @SequenceGenerator(name = "trains_seq", sequenceName = "trains_id_seq", allocationSize = 50)
     @Schema(description = "Уникальный идентификатор поезда", example = "1")
     private long id;
 
@@ -37,6 +38,7 @@ public class Train {
     private LocalDateTime dateOfArrival;
 
     @ElementCollection
+    @OrderColumn(name = "stop_order")
     @Schema(description = "Список промежуточных остановок", example = "[\"Владимир\", \"Тверь\"]")
     private List<String> stopList = new ArrayList<>();
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package org.example.transportschedule.model.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Immutable
+@Table(name = "trains_history")
+@Data
+@Schema(description = "Архивный рейс поезда, вышедший за горизонт хранения")
+public class TrainHistory {
+
+    @Id
+    @Schema(description = "Идентификатор рейса в рабочей таблице", example = "1")
+    private long id;
+
+    @Schema(description = "Город отправления", example = "Москва")
+    private String cityFrom;
+
+    @Schema(description = "Город прибытия", example = "Санкт-Петербург")
+    private String cityTo;
+
+    @Schema(description = "Цена билета", example = "1600.0")
+    private double price;
+
+    @Column(nullable = false)
+    @Schema(description = "Дата и время отправления", example = "2025-02-15T15:30:00")
+    private LocalDateTime dateOfDeparture;
+
+    @Column(nullable = false)
+    @Schema(description = "Дата и время прибытия", example = "2025-02-15T23:30:00")
+    private LocalDateTime dateOfArrival;
+
+    @Column(nullable = false)
+    @Schema(description = "Дата и время переноса в архив", example = "2025-03-20T03:30:00")
+    private LocalDateTime archivedAt;
+
+    @ElementCollection
+    @CollectionTable(name = "train_stop_list_history", joinColumns = @JoinColumn(name = "train_id"))
+    @Column(name = "stop_list")
+    @OrderColumn(name = "stop_order")
+    @Schema(description = "Список промежуточных остановок", example = "[\"Владимир\", \"Тверь\"]")
+    private List<String> stopList = new ArrayList<>();
+}
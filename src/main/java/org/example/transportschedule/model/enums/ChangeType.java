@@ -0,0 +1,7 @@
+package org.example.transportschedule.model.enums;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,10 @@
+package org.example.transportschedule.model.enums;
+
+/**
+ * Состояние команды изменения расписания, принятой в асинхронном режиме.
+ */
+public enum CommandStatus {
+    QUEUED,
+    APPLIED,
+    FAILED
+}
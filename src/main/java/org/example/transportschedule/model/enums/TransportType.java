@@ -0,0 +1,6 @@
+package org.example.transportschedule.model.enums;
+
+public enum TransportType {
+    BUS,
+    TRAIN
+}
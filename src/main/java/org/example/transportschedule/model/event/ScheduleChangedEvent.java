@@ -0,0 +1,40 @@
+package org.example.transportschedule.model.event;
+
+import org.example.transportschedule.model.enums.ChangeType;
+import org.example.transportschedule.model.enums.TransportType;
+
+/**
+ * Событие изменения расписания: добавление, изменение или удаление рейса.
+ * Публикуется сервисами внутри транзакции записи.
+ *
+ * @param type   вид транспорта
+ * @param id     идентификатор рейса
+ * @param before состояние до изменения (null при добавлении)
+ * @param after  состояние после изменения (null при удалении)
+ */
+public record ScheduleChangedEvent(
+        TransportType type,
+        long id,
+        TripSnapshot before,
+        TripSnapshot after
+) {
+
+    public static ScheduleChangedEvent created(TransportType type, long id, TripSnapshot after) {
+        return new ScheduleChangedEvent(type, id, null, after);
+    }
+
+    public static ScheduleChangedEvent updated(TransportType type, long id, TripSnapshot before, TripSnapshot after) {
+        return new ScheduleChangedEvent(type, id, before, after);
+    }
+
+    public static ScheduleChangedEvent deleted(TransportType type, long id, TripSnapshot before) {
+        return new ScheduleChangedEvent(type, id, before, null);
+    }
+
+    public ChangeType changeType() {
+        if (before == null) {
+            return ChangeType.CREATED;
+        }
+        return after == null ? ChangeType.DELETED : ChangeType.UPDATED;
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.transportschedule.model.event;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import org.example.transportschedule.model.entity.Bus;
+import org.example.transportschedule.model.entity.Train;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Неизменяемый снимок рейса (автобуса или поезда) на момент изменения.
+ */
+public record TripSnapshot(
+        String cityFrom,
+        String cityTo,
+        List<String> stopList,
+        double price,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd.MM.yyyy HH:mm")
+        LocalDateTime dateOfDeparture,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd.MM.yyyy HH:mm")
+        LocalDateTime dateOfArrival
+) {
+
+    public static TripSnapshot of(Bus bus) {
+        return new TripSnapshot(bus.getCityFrom(), bus.getCityTo(), List.of(), bus.getPrice(),
+                bus.getDateOfDeparture(), bus.getDateOfArrival());
+    }
+
+    public static TripSnapshot of(Train train) {
+        return new TripSnapshot(train.getCityFrom(), train.getCityTo(), List.copyOf(train.getStopList()),
+                train.getPrice(), train.getDateOfDeparture(), train.getDateOfArrival());
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.transportschedule.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Ограничение одного эндпоинта: стоимость запроса в токенах клиента
+ * и предел одновременно выполняемых запросов на узле.
+ */
+class EndpointLimit {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final String pattern;
+    private final HttpMethod method;
+    private final int cost;
+    private final int maxConcurrent;
+    private final Semaphore inFlight;
+
+    EndpointLimit(RateLimitProperties.Endpoint properties) {
+        this.pattern = properties.getPattern();
+        this.method = properties.getMethod();
+        this.cost = properties.getCost();
+        this.maxConcurrent = properties.getMaxConcurrent();
+        this.inFlight = new Semaphore(properties.getMaxConcurrent());
+    }
+
+    boolean matches(HttpServletRequest request) {
+        return (method == null || method.matches(request.getMethod()))
+                && PATH_MATCHER.match(pattern, request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    /**
+     * Занимает место среди выполняемых запросов без ожидания.
+     */
+    boolean tryEnter() {
+        return inFlight.tryAcquire();
+    }
+
+    void exit() {
+        inFlight.release();
+    }
+
+    String pattern() {
+        return pattern;
+    }
+
+    int cost() {
+        return cost;
+    }
+
+    int maxConcurrent() {
+        return maxConcurrent;
+    }
+}
@@ -0,0 +1,179 @@
+package org.example.transportschedule.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.constant.Constants;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Общий для всех узлов бюджет запросов в секунду.
+ * Счетчик секундного окна хранится в Redis; узел забирает из него разрешения пачками (lease),
+ * поэтому обращение к Redis приходится не на каждый запрос, а на одну пачку.
+ * Блокировка защищает только локальный остаток и не удерживается во время обращения к Redis:
+ * когда остаток пачки опускается до четверти, следующая пачка запрашивается в фоне, и запросы
+ * обращаются к Redis сами, только если фоновый запрос не успел.
+ * При недоступности Redis бюджет не ограничивает запросы: остаются локальные лимиты узла.
+ */
+@Slf4j
+public class GlobalRequestBudget {
+
+    private static final Duration WINDOW_TTL = Duration.ofSeconds(2);
+
+    private final StringRedisTemplate redisTemplate;
+    private final int requestsPerSecond;
+    private final int leaseSize;
+    private final int prefetchThreshold;
+    private final Executor prefetchExecutor;
+    private final LongSupplier clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long window;
+    private long remaining;
+    private boolean exhausted;
+    private boolean prefetching;
+
+    public GlobalRequestBudget(StringRedisTemplate redisTemplate, RateLimitProperties.Global properties) {
+        this(redisTemplate, properties, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-lease");
+            thread.setDaemon(true);
+            return thread;
+        }), System::currentTimeMillis);
+    }
+
+    /**
+     * @param prefetchExecutor исполнитель фонового запроса следующей пачки
+     * @param clock            текущее время в миллисекундах
+     */
+    GlobalRequestBudget(StringRedisTemplate redisTemplate, RateLimitProperties.Global properties,
+                        Executor prefetchExecutor, LongSupplier clock) {
+        this.redisTemplate = redisTemplate;
+        this.requestsPerSecond = properties.getRequestsPerSecond();
+        this.leaseSize = Math.max(1, Math.min(properties.getLeaseSize(), properties.getRequestsPerSecond()));
+        this.prefetchThreshold = leaseSize / 4;
+        this.prefetchExecutor = prefetchExecutor;
+        this.clock = clock;
+    }
+
+    /**
+     * Попытка получить разрешение на запрос в текущем секундном окне.
+     *
+     * @return false, если бюджет окна исчерпан
+     */
+    public boolean tryAcquire() {
+        long second = clock.getAsLong() / 1000;
+        boolean acquired = false;
+        boolean prefetch = false;
+
+        lock.lock();
+        try {
+            rollWindow(second);
+            if (remaining > 0) {
+                remaining--;
+                acquired = true;
+                if (remaining <= prefetchThreshold && !prefetching && !exhausted) {
+                    prefetching = true;
+                    prefetch = true;
+                }
+            } else if (exhausted) {
+                return false;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (prefetch) {
+            prefetchExecutor.execute(() -> prefetch(second));
+        }
+        return acquired || leaseForRequest(second);
+    }
+
+    /**
+     * Возврат неиспользованного разрешения: запрос получил его, но был отклонен следующей проверкой.
+     */
+    public void release() {
+        long second = clock.getAsLong() / 1000;
+        lock.lock();
+        try {
+            if (second == window) {
+                remaining++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean leaseForRequest(long second) {
+        long granted = lease(second);
+
+        lock.lock();
+        try {
+            if (second != window) {
+                // Окно сменилось, пока шел запрос к Redis: разрешение старого окна тратится на этот запрос
+                return granted > 0;
+            }
+            if (granted <= 0) {
+                exhausted = true;
+                return false;
+            }
+            remaining += granted - 1;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void prefetch(long second) {
+        long granted = lease(second);
+
+        lock.lock();
+        try {
+            prefetching = false;
+            if (second != window) {
+                return;
+            }
+            if (granted <= 0) {
+                exhausted = true;
+            } else {
+                remaining += granted;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rollWindow(long second) {
+        if (second != window) {
+            window = second;
+            remaining = 0;
+            exhausted = false;
+        }
+    }
+
+    /**
+     * Забирает пачку разрешений из счетчика окна в Redis.
+     *
+     * @return количество полученных разрешений (0, если бюджет окна уже исчерпан другими узлами)
+     */
+    private long lease(long second) {
+        String key = Constants.RATE_LIMIT_GLOBAL_KEY_PREFIX + second;
+        try {
+            Long used = redisTemplate.opsForValue().increment(key, leaseSize);
+            if (used == null) {
+                return leaseSize;
+            }
+            if (used == leaseSize) {
+                redisTemplate.expire(key, WINDOW_TTL);
+            }
+            long before = used - leaseSize;
+            return Math.max(0, Math.min(leaseSize, requestsPerSecond - before));
+        } catch (RuntimeException e) {
+            log.warn("Общий бюджет запросов недоступен, ограничение только локальное: {}", e.getMessage());
+            return leaseSize;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.transportschedule.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Ограничение частоты запросов и допуск нагрузки.
+ * Фильтр встраивается в цепочку безопасности (см. SecurityConfig), а не в общую цепочку сервлет-фильтров,
+ * чтобы ключом клиента могло быть имя аутентифицированного пользователя.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(name = "schedule.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties properties, StringRedisTemplate stringRedisTemplate) {
+        GlobalRequestBudget globalBudget = properties.getGlobal().isEnabled()
+                ? new GlobalRequestBudget(stringRedisTemplate, properties.getGlobal())
+                : null;
+        return new RateLimitFilter(properties, globalBudget);
+    }
+
+    /**
+     * Отключает автоматическую регистрацию фильтра в контейнере сервлетов: он вызывается только из цепочки безопасности.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
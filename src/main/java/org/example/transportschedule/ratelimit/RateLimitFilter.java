@@ -0,0 +1,165 @@
+package org.example.transportschedule.ratelimit;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Допуск запросов к горячим эндпоинтам.
+ * Выполняется в цепочке безопасности после аутентификации и до контроллеров, поэтому отклоненный
+ * запрос не доходит до сервисов, кеша и БД. Проверки идут от дешевых к дорогим:
+ * корзина токенов клиента (429), общий бюджет в Redis (503), предел одновременных запросов эндпоинта (503).
+ * Если запрос отклонен на более поздней проверке, списанное на ранних возвращается.
+ * Для асинхронных запросов (потоковый экспорт) место среди выполняемых освобождается по завершении
+ * асинхронной обработки, а не при возврате из цепочки фильтров.
+ * Запросы к эндпоинтам, которых нет в настройках, не ограничиваются.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final List<EndpointLimit> endpoints;
+    private final TokenBucketLimiter clientLimiter;
+    private final GlobalRequestBudget globalBudget;
+
+    /**
+     * @param globalBudget общий бюджет; null, если он выключен
+     */
+    public RateLimitFilter(RateLimitProperties properties, GlobalRequestBudget globalBudget) {
+        this.endpoints = properties.getEndpoints().stream().map(EndpointLimit::new).toList();
+        this.clientLimiter = new TokenBucketLimiter(properties.getClient());
+        this.globalBudget = globalBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointLimit endpoint = findEndpoint(request);
+        if (endpoint == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String clientKey = clientKey(request);
+        long waitNanos = clientLimiter.tryConsume(clientKey, endpoint.cost());
+        if (waitNanos > 0) {
+            log.debug("Превышена частота запросов клиентом {} к {}", clientKey, endpoint.pattern());
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds(waitNanos),
+                    "Too many requests, retry later");
+            return;
+        }
+
+        if (globalBudget != null && !globalBudget.tryAcquire()) {
+            clientLimiter.refund(clientKey, endpoint.cost());
+            log.debug("Исчерпан общий бюджет запросов, отклонен запрос к {}", endpoint.pattern());
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Service is overloaded, retry later");
+            return;
+        }
+
+        if (!endpoint.tryEnter()) {
+            clientLimiter.refund(clientKey, endpoint.cost());
+            if (globalBudget != null) {
+                globalBudget.release();
+            }
+            log.debug("Достигнут предел одновременных запросов ({}) к {}", endpoint.maxConcurrent(), endpoint.pattern());
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "Concurrency limit reached (" + endpoint.maxConcurrent() + " requests), retry later");
+            return;
+        }
+
+        AtomicBoolean exited = new AtomicBoolean();
+        Runnable exit = () -> {
+            if (exited.compareAndSet(false, true)) {
+                endpoint.exit();
+            }
+        };
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ExitOnCompletion(exit));
+            } else {
+                exit.run();
+            }
+        }
+    }
+
+    /**
+     * Освобождение места среди выполняемых запросов по завершении асинхронной обработки
+     * (успешном, с ошибкой или по таймауту).
+     */
+    private record ExitOnCompletion(Runnable exit) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            exit.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            exit.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            exit.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Повторный запуск асинхронной обработки: слушатель нужно зарегистрировать заново
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private EndpointLimit findEndpoint(HttpServletRequest request) {
+        for (EndpointLimit endpoint : endpoints) {
+            if (endpoint.matches(request)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Ключ клиента: имя аутентифицированного пользователя, иначе IP-адрес
+     * (за прокси адрес берется из заголовков при server.forward-headers-strategy).
+     */
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+}
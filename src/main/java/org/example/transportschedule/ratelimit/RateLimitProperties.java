@@ -0,0 +1,102 @@
+package org.example.transportschedule.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Настройки ограничения частоты запросов и допуска нагрузки на горячие эндпоинты.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "schedule.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Корзина токенов клиента (пользователя или IP-адреса).
+     */
+    private Client client = new Client();
+
+    /**
+     * Общий для всех узлов бюджет запросов в секунду, хранящийся в Redis.
+     */
+    private Global global = new Global();
+
+    /**
+     * Ограничиваемые эндпоинты. Запросы к остальным эндпоинтам не ограничиваются.
+     */
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Client {
+
+        /**
+         * Емкость корзины (допустимый всплеск).
+         */
+        private int capacity = 50;
+
+        /**
+         * Пополнение корзины, токенов в секунду.
+         */
+        private double refillPerSecond = 20;
+
+        /**
+         * Число полос (stripes) хранилища корзин; доступ к разным полосам не конкурирует.
+         */
+        private int stripes = 64;
+
+        /**
+         * Максимум корзин в полосе; давно не обращавшиеся клиенты вытесняются.
+         */
+        private int maxClientsPerStripe = 4096;
+    }
+
+    @Getter
+    @Setter
+    public static class Global {
+
+        private boolean enabled = false;
+
+        /**
+         * Бюджет запросов в секунду на все узлы.
+         */
+        private int requestsPerSecond = 2000;
+
+        /**
+         * Сколько разрешений узел забирает из Redis за одно обращение.
+         */
+        private int leaseSize = 50;
+    }
+
+    @Getter
+    @Setter
+    public static class Endpoint {
+
+        /**
+         * Шаблон пути (AntPathMatcher), например /api/trains/search.
+         */
+        private String pattern;
+
+        /**
+         * HTTP-метод; если не указан, ограничиваются все методы.
+         */
+        private HttpMethod method;
+
+        /**
+         * Стоимость запроса в токенах клиента.
+         */
+        private int cost = 1;
+
+        /**
+         * Максимум одновременно выполняемых запросов к эндпоинту на узле.
+         */
+        private int maxConcurrent = 64;
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.transportschedule.ratelimit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Корзины токенов клиентов в памяти узла, разбитые на полосы.
+ * Клиент попадает в полосу по хешу ключа; каждая полоса защищена своей блокировкой и хранит
+ * ограниченное число корзин в порядке последнего обращения, поэтому память не растет
+ * при большом числе разовых клиентов.
+ */
+public class TokenBucketLimiter {
+
+    private final Stripe[] stripes;
+    private final double capacity;
+    private final double refillPerNano;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketLimiter(RateLimitProperties.Client properties) {
+        this(properties, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock монотонное время в наносекундах
+     */
+    TokenBucketLimiter(RateLimitProperties.Client properties, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.capacity = properties.getCapacity();
+        this.refillPerNano = properties.getRefillPerSecond() / 1_000_000_000d;
+        this.stripes = new Stripe[properties.getStripes()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(properties.getMaxClientsPerStripe());
+        }
+    }
+
+    /**
+     * Попытка списать токены клиента.
+     *
+     * @param key  ключ клиента
+     * @param cost количество токенов
+     * @return 0, если токены списаны; иначе сколько наносекунд ждать до накопления нужного количества
+     */
+    public long tryConsume(String key, int cost) {
+        Stripe stripe = stripeOf(key);
+        long now = nanoClock.getAsLong();
+
+        stripe.lock.lock();
+        try {
+            Bucket bucket = stripe.buckets.computeIfAbsent(key, k -> new Bucket(capacity, now));
+            bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.refilledAt) * refillPerNano);
+            bucket.refilledAt = now;
+
+            if (bucket.tokens >= cost) {
+                bucket.tokens -= cost;
+                return 0;
+            }
+            return (long) Math.ceil((cost - bucket.tokens) / refillPerNano);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Возврат токенов, списанных за запрос, который затем был отклонен по другой причине
+     * (общий бюджет, предел одновременных запросов): клиент не платит за чужую перегрузку.
+     *
+     * @param key  ключ клиента
+     * @param cost количество токенов
+     */
+    public void refund(String key, int cost) {
+        Stripe stripe = stripeOf(key);
+
+        stripe.lock.lock();
+        try {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket != null) {
+                bucket.tokens = Math.min(capacity, bucket.tokens + cost);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe stripeOf(String key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Bucket> buckets;
+
+        Stripe(int maxClients) {
+            buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxClients;
+                }
+            };
+        }
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.transportschedule.repository.archive;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Репозиторий переноса отправившихся рейсов в исторические таблицы.
+ * Все операции выполняются набором строк (set-based) на стороне БД; условие по date_of_departure
+ * позволяет PostgreSQL затрагивать только старые секции.
+ */
+@Slf4j
+@Repository
+public class ArchiveRepository {
+
+    // Ключ advisory-блокировки архивации
+    private static final long ARCHIVE_LOCK_KEY = 7_310_002L;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Транзакционная advisory-блокировка PostgreSQL: архивирует только один узел за раз.
+     * Снимается автоматически при завершении транзакции.
+     */
+    public boolean tryArchiveLock() {
+        return (Boolean) entityManager.createNativeQuery("select pg_try_advisory_xact_lock(:key)")
+                .setParameter("key", ARCHIVE_LOCK_KEY)
+                .getSingleResult();
+    }
+
+    /**
+     * Переносит в buses_history пачку автобусов, отправившихся раньше указанного момента.
+     *
+     * @param cutoff    граница хранения
+     * @param batchSize максимальный размер пачки
+     * @return перенесенные рейсы: id, city_from, city_to, date_of_departure, date_of_arrival, price
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object[]> moveBusesToHistory(LocalDateTime cutoff, int batchSize) {
+        return entityManager.createNativeQuery("""
+                        with moved as (
+                            delete from buses
+                            where (id, date_of_departure) in (
+                                select id, date_of_departure from buses
+                                where date_of_departure < :cutoff
+                                order by date_of_departure
+                                limit :batchSize)
+                            returning id, city_from, city_to, date_of_arrival, date_of_departure, price),
+                        archived as (
+                            insert into buses_history (id, city_from, city_to, date_of_arrival, date_of_departure, price)
+                            select id, city_from, city_to, date_of_arrival, date_of_departure, price from moved)
+                        select id, city_from, city_to, date_of_departure, date_of_arrival, price from moved
+                        """)
+                .setParameter("cutoff", cutoff)
+                .setParameter("batchSize", batchSize)
+                .getResultList();
+    }
+
+    /**
+     * Находит идентификаторы пачки поездов, отправившихся раньше указанного момента.
+     *
+     * @param cutoff    граница хранения
+     * @param batchSize максимальный размер пачки
+     * @return идентификаторы поездов
+     */
+    @SuppressWarnings("unchecked")
+    public List<Long> findTrainIdsDepartedBefore(LocalDateTime cutoff, int batchSize) {
+        List<Number> ids = entityManager.createNativeQuery("""
+                        select id from trains
+                        where date_of_departure < :cutoff
+                        order by date_of_departure
+                        limit :batchSize
+                        """)
+                .setParameter("cutoff", cutoff)
+                .setParameter("batchSize", batchSize)
+                .getResultList();
+        return ids.stream().map(Number::longValue).toList();
+    }
+
+    /**
+     * Переносит в историю указанные поезда вместе с их остановками одним запросом.
+     * Остановки переносятся только для поездов, действительно удаленных из trains: поезд, перенесенный
+     * на дату после границы между выбором пачки и переносом, остается в рабочих таблицах вместе с остановками.
+     * Внешний ключ train_stop_list_history проверяется в конце запроса, когда поезда уже вставлены в историю.
+     *
+     * @param trainIds идентификаторы поездов
+     * @param cutoff   граница хранения (ограничивает затрагиваемые секции)
+     * @return перенесенные поезда: id, city_from, city_to, date_of_departure, date_of_arrival, price
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object[]> moveTrainsToHistory(List<Long> trainIds, LocalDateTime cutoff) {
+        return entityManager.createNativeQuery("""
+                        with moved as (
+                            delete from trains
+                            where id in (:ids) and date_of_departure < :cutoff
+                            returning id, city_from, city_to, date_of_arrival, date_of_departure, price),
+                        archived as (
+                            insert into trains_history (id, city_from, city_to, date_of_arrival, date_of_departure, price)
+                            select id, city_from, city_to, date_of_arrival, date_of_departure, price from moved),
+                        moved_stops as (
+                            delete from train_stop_list
+                            where train_id in (select id from moved)
+                            returning train_id, stop_list, stop_order),
+                        archived_stops as (
+                            insert into train_stop_list_history (train_id, stop_list, stop_order)
+                            select train_id, stop_list, stop_order from moved_stops)
+                        select id, city_from, city_to, date_of_departure, date_of_arrival, price from moved
+                        """)
+                .setParameter("ids", trainIds)
+                .setParameter("cutoff", cutoff)
+                .getResultList();
+    }
+
+    /**
+     * Удаляет опустевшие месячные секции, целиком лежащие раньше указанной даты.
+     *
+     * @param table  секционированная таблица
+     * @param before граница
+     * @return количество удаленных секций
+     */
+    public int dropEmptyPartitionsBefore(String table, LocalDate before) {
+        Number dropped = (Number) entityManager
+                .createNativeQuery("select drop_empty_partitions_before(:table, :before)")
+                .setParameter("table", table)
+                .setParameter("before", before)
+                .getSingleResult();
+        return dropped.intValue();
+    }
+}
@@ -1,14 +1,42 @@
 package org.example.transportschedule.repository.bus;
 
+import jakarta.persistence.QueryHint;
+import org.example.transportschedule.constant.Constants;
 import org.example.transportschedule.model.entity.Bus;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.util.stream.Stream;
 
 
 @Repository
 public interface BusRepository extends JpaRepository<Bus, Long> {
 
-    List<Bus> findAllByCityFrom(String cityFrom);
+    /**
+     * Потоковое чтение всех автобусов для экспорта.
+     * Используется серверный курсор (fetch size) и режим только для чтения,
+     * поэтому вызов должен выполняться внутри транзакции.
+     *
+     * @return поток автобусов, упорядоченный по id
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Constants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select b from Bus b order by b.id")
+    Stream<Bus> streamAllForExport();
+
+    /**
+     * Потоковое чтение полей, нужных для индекса маршрутов: (id, город отправления, город прибытия, отправление).
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Constants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select b.id, b.cityFrom, b.cityTo, b.dateOfDeparture from Bus b")
+    Stream<Object[]> streamRouteRows();
 }
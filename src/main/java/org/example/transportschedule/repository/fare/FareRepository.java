@@ -0,0 +1,135 @@
+package org.example.transportschedule.repository.fare;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import org.example.transportschedule.model.dto.FareAdjustmentDTO;
+import org.example.transportschedule.model.entity.Bus;
+import org.example.transportschedule.model.entity.Train;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Репозиторий массового изменения цен. Работает с любой сущностью рейса
+ * (Bus, Train), у которой есть поля id, cityFrom, cityTo, dateOfDeparture и price.
+ * Изменение выполняется одним UPDATE на диапазон идентификаторов без загрузки сущностей.
+ */
+@Repository
+public class FareRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Границы идентификаторов рейсов, подпадающих под правило.
+     *
+     * @return пара (минимальный id, максимальный id) или пустое значение, если рейсов нет
+     */
+    public <T> Optional<long[]> findIdRange(Class<T> entity, FareAdjustmentDTO rule) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+        Root<T> root = cq.from(entity);
+
+        cq.multiselect(cb.min(root.<Long>get("id")).alias("minId"), cb.max(root.<Long>get("id")).alias("maxId"))
+                .where(rulePredicates(cb, root, rule));
+
+        Tuple range = entityManager.createQuery(cq).getSingleResult();
+        Long minId = range.get("minId", Long.class);
+        Long maxId = range.get("maxId", Long.class);
+        return minId == null ? Optional.empty() : Optional.of(new long[]{minId, maxId});
+    }
+
+    /**
+     * Применяет правило к рейсам из диапазона идентификаторов одним UPDATE ... RETURNING:
+     * идентификаторы измененных рейсов (для outbox и точечной очистки кеша) возвращаются тем же запросом.
+     * Запрос нативный: в JPQL и Criteria API нет RETURNING.
+     *
+     * @return идентификаторы измененных рейсов
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<Long> applyAdjustment(Class<T> entity, FareAdjustmentDTO rule, long fromId, long toId) {
+        StringBuilder sql = new StringBuilder("update ").append(tableOf(entity)).append("""
+                 set price = greatest(round(cast(price * :factor + :delta as numeric), 2), 0)
+                where id between :fromId and :toId""");
+        if (rule.cityFrom() != null) {
+            sql.append(" and city_from = :cityFrom");
+        }
+        if (rule.cityTo() != null) {
+            sql.append(" and city_to = :cityTo");
+        }
+        if (rule.city() != null) {
+            sql.append(" and (city_from = :city or city_to = :city)");
+        }
+        // Условие по дате отправления ограничивает затрагиваемые секции таблицы
+        if (rule.departureFrom() != null) {
+            sql.append(" and date_of_departure >= :departureFrom");
+        }
+        if (rule.departureTo() != null) {
+            sql.append(" and date_of_departure < :departureTo");
+        }
+        sql.append(" returning id");
+
+        Query query = entityManager.createNativeQuery(sql.toString())
+                .setParameter("factor", rule.factor())
+                .setParameter("delta", rule.delta())
+                .setParameter("fromId", fromId)
+                .setParameter("toId", toId);
+        if (rule.cityFrom() != null) {
+            query.setParameter("cityFrom", rule.cityFrom());
+        }
+        if (rule.cityTo() != null) {
+            query.setParameter("cityTo", rule.cityTo());
+        }
+        if (rule.city() != null) {
+            query.setParameter("city", rule.city());
+        }
+        if (rule.departureFrom() != null) {
+            query.setParameter("departureFrom", rule.departureFrom());
+        }
+        if (rule.departureTo() != null) {
+            query.setParameter("departureTo", rule.departureTo());
+        }
+
+        List<Number> ids = query.getResultList();
+        return ids.stream().map(Number::longValue).toList();
+    }
+
+    private static String tableOf(Class<?> entity) {
+        if (entity == Bus.class) {
+            return "buses";
+        }
+        if (entity == Train.class) {
+            return "trains";
+        }
+        throw new IllegalArgumentException("Unsupported trip entity: " + entity.getName());
+    }
+
+    private Predicate[] rulePredicates(CriteriaBuilder cb, Root<?> root, FareAdjustmentDTO rule) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (rule.cityFrom() != null) {
+            predicates.add(cb.equal(root.get("cityFrom"), rule.cityFrom()));
+        }
+        if (rule.cityTo() != null) {
+            predicates.add(cb.equal(root.get("cityTo"), rule.cityTo()));
+        }
+        if (rule.city() != null) {
+            predicates.add(cb.or(
+                    cb.equal(root.get("cityFrom"), rule.city()),
+                    cb.equal(root.get("cityTo"), rule.city())));
+        }
+        // Условие по дате отправления ограничивает затрагиваемые секции таблицы
+        if (rule.departureFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.<LocalDateTime>get("dateOfDeparture"), rule.departureFrom()));
+        }
+        if (rule.departureTo() != null) {
+            predicates.add(cb.lessThan(root.<LocalDateTime>get("dateOfDeparture"), rule.departureTo()));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+}
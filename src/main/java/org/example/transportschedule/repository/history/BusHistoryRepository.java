@@ -0,0 +1,18 @@
+package org.example.transportschedule.repository.history;
+
+import org.example.transportschedule.model.entity.BusHistory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface BusHistoryRepository extends JpaRepository<BusHistory, Long> {
+
+    Page<BusHistory> findAllByDateOfDepartureBetween(LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    Page<BusHistory> findAllByCityFromAndDateOfDepartureBetween(String cityFrom, LocalDateTime from, LocalDateTime to,
+                                                                Pageable pageable);
+}
@@ -0,0 +1,28 @@
+package org.example.transportschedule.repository.history;
+
+import org.example.transportschedule.model.entity.TrainHistory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TrainHistoryRepository extends JpaRepository<TrainHistory, Long> {
+
+    Page<TrainHistory> findAllByDateOfDepartureBetween(LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    Page<TrainHistory> findAllByCityFromAndDateOfDepartureBetween(String cityFrom, LocalDateTime from, LocalDateTime to,
+                                                                  Pageable pageable);
+
+    /**
+     * Остановки набора архивных поездов одним запросом: пары (id поезда, остановка).
+     */
+    @Query("select t.id, s from TrainHistory t join t.stopList s where t.id in :ids order by t.id, index(s)")
+    List<Object[]> findStopsByTrainIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,122 @@
+package org.example.transportschedule.repository.outbox;
+
+import org.example.transportschedule.model.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Транзакционная advisory-блокировка PostgreSQL: публикует только один узел за раз.
+     * Снимается автоматически при завершении транзакции.
+     */
+    @Query(value = "select pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryRelayLock(@Param("key") long key);
+
+    @Query(value = "select id from schedule_outbox where event_offset is null order by id limit :limit",
+            nativeQuery = true)
+    List<Long> findUnpublishedIds(@Param("limit") int limit);
+
+    List<OutboxEvent> findByIdInOrderById(Collection<Long> ids);
+
+    /**
+     * Резервирует заданное количество смещений.
+     */
+    @Query(value = "select nextval('schedule_outbox_offset_seq') from generate_series(1, :count)", nativeQuery = true)
+    List<Long> nextOffsets(@Param("count") int count);
+
+    List<OutboxEvent> findByEventOffsetGreaterThanOrderByEventOffset(long offset, Limit limit);
+
+    /**
+     * Смещение, до которого включительно события опубликованы в Redis.
+     */
+    @Query(value = "select streamed_through_offset from schedule_outbox_state where id = 1", nativeQuery = true)
+    long findStreamedThroughOffset();
+
+    @Modifying
+    @Query(value = """
+            update schedule_outbox_state set streamed_through_offset = :offset
+            where id = 1 and streamed_through_offset < :offset
+            """, nativeQuery = true)
+    int markStreamedThrough(@Param("offset") long offset);
+
+    /**
+     * Смещение, до которого включительно события удалены по сроку хранения.
+     */
+    @Query(value = "select purged_through_offset from schedule_outbox_state where id = 1", nativeQuery = true)
+    long findPurgedThroughOffset();
+
+    @Query("select max(e.eventOffset) from OutboxEvent e where e.publishedAt < :before")
+    Long findLastOffsetPublishedBefore(@Param("before") LocalDateTime before);
+
+    /**
+     * Удаление событий до смещения включительно: хранимые события всегда образуют непрерывный хвост
+     * по смещениям, даже если время публикации на разных узлах немного расходится.
+     */
+    @Modifying
+    @Query("delete from OutboxEvent e where e.eventOffset <= :offset")
+    int deleteThroughOffset(@Param("offset") long offset);
+
+    @Modifying
+    @Query(value = """
+            update schedule_outbox_state set purged_through_offset = :offset
+            where id = 1 and purged_through_offset < :offset
+            """, nativeQuery = true)
+    int markPurgedThrough(@Param("offset") long offset);
+
+    /**
+     * Запись событий outbox для автобусов, измененных массовой операцией, по их текущему состоянию.
+     * Формат снимка совпадает с TripSnapshot; двоеточие в формате времени задано через chr(58),
+     * чтобы оно не разбиралось как именованный параметр.
+     */
+    @Modifying
+    @Query(value = """
+            insert into schedule_outbox (transport_type, entity_id, change_type, after, created_at)
+            select 'BUS', b.id, 'UPDATED',
+                   jsonb_build_object(
+                           'cityFrom', b.city_from,
+                           'cityTo', b.city_to,
+                           'stopList', cast('[]' as jsonb),
+                           'price', b.price,
+                           'dateOfDeparture', to_char(b.date_of_departure, 'DD.MM.YYYY HH24') || chr(58)
+                                   || to_char(b.date_of_departure, 'MI'),
+                           'dateOfArrival', to_char(b.date_of_arrival, 'DD.MM.YYYY HH24') || chr(58)
+                                   || to_char(b.date_of_arrival, 'MI')),
+                   localtimestamp
+            from buses b
+            where b.id in (:ids)
+            """, nativeQuery = true)
+    int insertBusUpdates(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Запись событий outbox для поездов, измененных массовой операцией, по их текущему состоянию.
+     */
+    @Modifying
+    @Query(value = """
+            insert into schedule_outbox (transport_type, entity_id, change_type, after, created_at)
+            select 'TRAIN', t.id, 'UPDATED',
+                   jsonb_build_object(
+                           'cityFrom', t.city_from,
+                           'cityTo', t.city_to,
+                           'stopList', coalesce((select jsonb_agg(s.stop_list order by s.stop_order) from train_stop_list s
+                                                 where s.train_id = t.id), cast('[]' as jsonb)),
+                           'price', t.price,
+                           'dateOfDeparture', to_char(t.date_of_departure, 'DD.MM.YYYY HH24') || chr(58)
+                                   || to_char(t.date_of_departure, 'MI'),
+                           'dateOfArrival', to_char(t.date_of_arrival, 'DD.MM.YYYY HH24') || chr(58)
+                                   || to_char(t.date_of_arrival, 'MI')),
+                   localtimestamp
+            from trains t
+            where t.id in (:ids)
+            """, nativeQuery = true)
+    int insertTrainUpdates(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,116 @@
+package org.example.transportschedule.repository.stats;
+
+import org.example.transportschedule.model.entity.CorridorDailyStats;
+import org.example.transportschedule.model.entity.CorridorDailyStatsId;
+import org.example.transportschedule.model.enums.TransportType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Репозиторий сводки по направлениям.
+ * Пересчет выполняется на стороне БД: строка сводки удаляется и заново собирается
+ * агрегатом по рабочей и исторической таблицам, сами рейсы в приложение не загружаются.
+ * Историческая таблица нужна для дней, рейсы которых архивированы частично (день границы хранения):
+ * иначе пересчет такого дня потерял бы уже перенесенные рейсы.
+ */
+@Repository
+public interface CorridorStatsRepository extends JpaRepository<CorridorDailyStats, CorridorDailyStatsId> {
+
+    @Query("""
+            select s from CorridorDailyStats s
+            where (:type is null or s.id.transportType = :type)
+              and (:cityFrom is null or s.id.cityFrom = :cityFrom)
+              and (:cityTo is null or s.id.cityTo = :cityTo)
+              and s.id.departureDate between :from and :to
+            order by s.id.departureDate, s.id.cityFrom, s.id.cityTo, s.id.transportType
+            """)
+    List<CorridorDailyStats> findStats(@Param("type") TransportType type,
+                                       @Param("cityFrom") String cityFrom,
+                                       @Param("cityTo") String cityTo,
+                                       @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("delete from CorridorDailyStats s where s.id = :id")
+    int deleteKey(@Param("id") CorridorDailyStatsId id);
+
+    @Modifying
+    @Query("delete from CorridorDailyStats s where s.id.transportType = :type and s.id.departureDate >= :from")
+    int deleteFrom(@Param("type") TransportType type, @Param("from") LocalDate from);
+
+    /**
+     * Агрегирует рейсы автобусов периода (рабочие и архивные) по направлениям и дням и вставляет строки сводки.
+     * Строки за этот период должны быть предварительно удалены.
+     * Пустой город означает «любой»; явное приведение типа нужно PostgreSQL для null-параметра.
+     */
+    @Modifying
+    @Query(value = """
+            insert into corridor_daily_stats (transport_type, city_from, city_to, departure_date, trip_count,
+                                              price_sum, price_min, first_departure, last_departure)
+            select 'BUS', city_from, city_to, cast(date_of_departure as date), count(*),
+                   sum(price), min(price), min(date_of_departure), max(date_of_departure)
+            from (select city_from, city_to, date_of_departure, price from buses
+                  union all
+                  select city_from, city_to, date_of_departure, price from buses_history) trips
+            where city_from is not null and city_to is not null
+              and (cast(:cityFrom as text) is null or city_from = cast(:cityFrom as text))
+              and (cast(:cityTo as text) is null or city_to = cast(:cityTo as text))
+              and date_of_departure >= :from and date_of_departure < :to
+            group by city_from, city_to, cast(date_of_departure as date)
+            """, nativeQuery = true)
+    int insertBusStats(@Param("cityFrom") String cityFrom,
+                       @Param("cityTo") String cityTo,
+                       @Param("from") LocalDateTime from,
+                       @Param("to") LocalDateTime to);
+
+    /**
+     * Агрегирует рейсы поездов периода (рабочие и архивные) по направлениям и дням и вставляет строки сводки.
+     * Строки за этот период должны быть предварительно удалены.
+     */
+    @Modifying
+    @Query(value = """
+            insert into corridor_daily_stats (transport_type, city_from, city_to, departure_date, trip_count,
+                                              price_sum, price_min, first_departure, last_departure)
+            select 'TRAIN', city_from, city_to, cast(date_of_departure as date), count(*),
+                   sum(price), min(price), min(date_of_departure), max(date_of_departure)
+            from (select city_from, city_to, date_of_departure, price from trains
+                  union all
+                  select city_from, city_to, date_of_departure, price from trains_history) trips
+            where city_from is not null and city_to is not null
+              and (cast(:cityFrom as text) is null or city_from = cast(:cityFrom as text))
+              and (cast(:cityTo as text) is null or city_to = cast(:cityTo as text))
+              and date_of_departure >= :from and date_of_departure < :to
+            group by city_from, city_to, cast(date_of_departure as date)
+            """, nativeQuery = true)
+    int insertTrainStats(@Param("cityFrom") String cityFrom,
+                         @Param("cityTo") String cityTo,
+                         @Param("from") LocalDateTime from,
+                         @Param("to") LocalDateTime to);
+
+    /**
+     * Транзакционная advisory-блокировка PostgreSQL с ожиданием. Снимается при завершении транзакции.
+     */
+    @Query(value = "select true from pg_advisory_xact_lock(:key)", nativeQuery = true)
+    Boolean advisoryLock(@Param("key") long key);
+
+    /**
+     * Транзакционная advisory-блокировка PostgreSQL без ожидания.
+     *
+     * @return false, если блокировку держит другая транзакция
+     */
+    @Query(value = "select pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    Boolean tryAdvisoryLock(@Param("key") long key);
+
+    @Query("select min(b.dateOfDeparture) from Bus b")
+    LocalDateTime findFirstBusDeparture();
+
+    @Query("select min(t.dateOfDeparture) from Train t")
+    LocalDateTime findFirstTrainDeparture();
+}
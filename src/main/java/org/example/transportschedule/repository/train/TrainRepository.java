@@ -1,12 +1,49 @@
 package org.example.transportschedule.repository.train;
 
+import jakarta.persistence.QueryHint;
+import org.example.transportschedule.constant.Constants;
 import org.example.transportschedule.model.entity.Train;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TrainRepository extends JpaRepository<Train, Long>, TrainRepositoryCustom {
 
-    List<Train> findAllByCityFrom(String cityFrom);
+    /**
+     * Потоковое чтение всех поездов для экспорта.
+     * Списки остановок не подгружаются: их нужно дочитывать пачкой через
+     * {@link TrainRepositoryCustom#findStopListsByTrainIds}.
+     *
+     * @return поток поездов, упорядоченный по id
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Constants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select t from Train t order by t.id")
+    Stream<Train> streamAllForExport();
+
+    /**
+     * Потоковое чтение полей, нужных для индекса маршрутов: (id, город отправления, город прибытия, отправление).
+     * Остановки дочитываются пачками через {@link TrainRepositoryCustom#findStopListsByTrainIds}.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Constants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t.id, t.cityFrom, t.cityTo, t.dateOfDeparture from Train t")
+    Stream<Object[]> streamRouteRows();
+
+    /**
+     * Загрузка поездов вместе со списками остановок одним запросом (для пакетного обновления).
+     */
+    @Query("select distinct t from Train t left join fetch t.stopList where t.id in :ids")
+    List<Train> findAllWithStopListByIdIn(Collection<Long> ids);
 
 }
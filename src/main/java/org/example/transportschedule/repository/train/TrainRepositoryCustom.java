@@ -1,10 +1,21 @@
 package org.example.transportschedule.repository.train;
 
+import org.example.transportschedule.model.dto.TrainDTO;
 import org.example.transportschedule.model.entity.Train;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface TrainRepositoryCustom {
 
     List<Train> findTrainsByCities(String cityFrom, String cityTo);
+
+    Page<TrainDTO> findAllTrainDTOs(Pageable pageable);
+
+    List<TrainDTO> findTrainDTOsByCities(String cityFrom, String cityTo);
+
+    Map<Long, List<String>> findStopListsByTrainIds(Collection<Long> trainIds);
 }
@@ -2,12 +2,24 @@ package org.example.transportschedule.repository.train;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.model.dto.TrainDTO;
 import org.example.transportschedule.model.entity.Train;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Реализация кастомного репозитория для работы с поездами.
@@ -38,6 +50,108 @@ public class TrainRepositoryImpl implements TrainRepositoryCustom {
         CriteriaQuery<Train> cq = cb.createQuery(Train.class);
         Root<Train> trainRoot = cq.from(Train.class);
 
+        // Формируем запрос с условием по отправлению и прибытии
+        cq.select(trainRoot)
+                .distinct(true) // Избегаем дублирования записей из-за join'ов
+                .where(citiesPredicate(cb, trainRoot, cityFrom, cityTo));
+
+        // Выполняем запрос в БД и получаем результаты
+        log.info("Выполняем запрос в БД...");
+        List<Train> result = entityManager.createQuery(cq).getResultList();
+        log.info("Найдено {} поездов", result.size());
+
+        return result;
+    }
+
+    /**
+     * Постраничное получение поездов сразу в виде TrainDTO.
+     * Поля поездов выбираются проекцией, остановки всей страницы дочитываются одним запросом,
+     * поэтому управляемые сущности не создаются и ленивые коллекции не инициализируются по одной.
+     *
+     * @param pageable параметры пагинации и сортировки
+     * @return страница объектов TrainDTO
+     */
+    @Override
+    public Page<TrainDTO> findAllTrainDTOs(Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+        Root<Train> trainRoot = cq.from(Train.class);
+
+        cq.multiselect(trainColumns(trainRoot))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), trainRoot, cb));
+
+        TypedQuery<Tuple> query = entityManager.createQuery(cq);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        List<TrainDTO> content = toTrainDTOs(query.getResultList());
+
+        // Запрос количества выполняется только если по содержимому страницы итог не вычислить
+        return PageableExecutionUtils.getPage(content, pageable, this::countTrains);
+    }
+
+    /**
+     * Поиск поездов между двумя городами сразу в виде TrainDTO.
+     * Условия поиска совпадают с {@link #findTrainsByCities(String, String)}.
+     *
+     * @param cityFrom город отправления
+     * @param cityTo   город прибытия
+     * @return список объектов TrainDTO, соответствующих критериям поиска
+     */
+    @Override
+    public List<TrainDTO> findTrainDTOsByCities(String cityFrom, String cityTo) {
+        log.info("Поиск поездов (проекция) из '{}' в '{}'", cityFrom, cityTo);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+        Root<Train> trainRoot = cq.from(Train.class);
+
+        cq.multiselect(trainColumns(trainRoot))
+                .distinct(true)
+                .where(citiesPredicate(cb, trainRoot, cityFrom, cityTo));
+
+        List<TrainDTO> result = toTrainDTOs(entityManager.createQuery(cq).getResultList());
+        log.info("Найдено {} поездов", result.size());
+
+        return result;
+    }
+
+    /**
+     * Загрузка списков остановок для набора поездов одним запросом.
+     * Позволяет не инициализировать ленивую коллекцию stopList у каждого поезда отдельно.
+     * Остановки каждого поезда возвращаются в порядке маршрута (столбец stop_order).
+     *
+     * @param trainIds идентификаторы поездов
+     * @return списки остановок, сгруппированные по id поезда (поезда без остановок в карту не попадают)
+     */
+    @Override
+    public Map<Long, List<String>> findStopListsByTrainIds(Collection<Long> trainIds) {
+        Map<Long, List<String>> stopsByTrain = new HashMap<>();
+        if (trainIds.isEmpty()) {
+            return stopsByTrain;
+        }
+
+        List<Object[]> rows = entityManager
+                .createQuery("select t.id, s from Train t join t.stopList s where t.id in :ids order by t.id, index(s)",
+                        Object[].class)
+                .setParameter("ids", trainIds)
+                .getResultList();
+
+        for (Object[] row : rows) {
+            stopsByTrain.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        log.debug("Загружены остановки для {} поездов", stopsByTrain.size());
+
+        return stopsByTrain;
+    }
+
+    /**
+     * Условие поиска: город отправления — начальная станция или промежуточная остановка,
+     * город прибытия — конечная станция или промежуточная остановка.
+     */
+    private Predicate citiesPredicate(CriteriaBuilder cb, Root<Train> trainRoot, String cityFrom, String cityTo) {
         // LEFT JOIN для проверки наличия cityFrom в списке остановок
         Join<Train, String> stopFromJoin = trainRoot.join("stopList", JoinType.LEFT);
         // LEFT JOIN для проверки наличия cityTo в списке остановок
@@ -59,16 +173,43 @@ public class TrainRepositoryImpl implements TrainRepositoryCustom {
 
         log.debug("Сформированы условия для отправления и прибытия");
 
-        // Формируем запрос с условием по отправлению и прибытии
-        cq.select(trainRoot)
-                .distinct(true) // Избегаем дублирования записей из-за join'ов
-                .where(cb.and(departurePredicate, arrivalPredicate));
+        return cb.and(departurePredicate, arrivalPredicate);
+    }
 
-        // Выполняем запрос в БД и получаем результаты
-        log.info("Выполняем запрос в БД...");
-        List<Train> result = entityManager.createQuery(cq).getResultList();
-        log.info("Найдено {} поездов", result.size());
+    private List<Selection<?>> trainColumns(Root<Train> trainRoot) {
+        return List.of(
+                trainRoot.get("id").alias("id"),
+                trainRoot.get("cityFrom").alias("cityFrom"),
+                trainRoot.get("cityTo").alias("cityTo"),
+                trainRoot.get("price").alias("price"),
+                trainRoot.get("dateOfDeparture").alias("dateOfDeparture"),
+                trainRoot.get("dateOfArrival").alias("dateOfArrival")
+        );
+    }
 
-        return result;
+    /**
+     * Сборка TrainDTO из строк проекции и списков остановок, загруженных одним запросом.
+     * Порядок строк проекции сохраняется.
+     */
+    private List<TrainDTO> toTrainDTOs(List<Tuple> rows) {
+        Map<Long, List<String>> stopsByTrain = findStopListsByTrainIds(
+                rows.stream().map(row -> row.get("id", Long.class)).toList());
+
+        return rows.stream()
+                .map(row -> new TrainDTO(
+                        row.get("cityFrom", String.class),
+                        row.get("cityTo", String.class),
+                        row.get("price", Double.class),
+                        row.get("dateOfDeparture", LocalDateTime.class),
+                        row.get("dateOfArrival", LocalDateTime.class),
+                        stopsByTrain.getOrDefault(row.get("id", Long.class), List.of())))
+                .toList();
+    }
+
+    private long countTrains() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        cq.select(cb.count(cq.from(Train.class)));
+        return entityManager.createQuery(cq).getSingleResult();
     }
-}
\ No newline at end of file
+}
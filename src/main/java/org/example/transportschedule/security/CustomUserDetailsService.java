@@ -4,8 +4,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.transportschedule.model.entity.User;
 import org.example.transportschedule.repository.user.UserRepository;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -27,6 +25,7 @@ public class CustomUserDetailsService implements UserDetailsService {
 
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     /**
      * Префикс для ролей пользователя в системе.
@@ -35,6 +34,7 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     /**
      * Метод загружает данные пользователя по имени пользователя.
+     * Данные берутся из кеша; в БД запрос идет только при промахе.
      *
      * @param username имя пользователя для поиска
      * @return объект UserDetails, содержащий данные пользователя
@@ -42,7 +42,11 @@ public class CustomUserDetailsService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        log.info("Запрос на загрузку пользователя с именем: {}", username);
+        return userDetailsCache.get(username, this::loadFromDatabase);
+    }
+
+    private UserDetails loadFromDatabase(String username) {
+        log.debug("Запрос на загрузку пользователя с именем: {}", username);
 
         // Поиск пользователя в базе данных
         User user = userRepository.findByUsername(username);
@@ -51,14 +55,12 @@ public class CustomUserDetailsService implements UserDetailsService {
             throw new UsernameNotFoundException("Пользователь с именем " + username + " не найден");
         }
 
-        log.info("Пользователь {} успешно найден", username);
-
         // Создание списка ролей пользователя
         List<GrantedAuthority> roles = new ArrayList<>();
         String role = ROLE_PREFIX + user.getRole();
         roles.add(new SimpleGrantedAuthority(role));
 
-        log.info("Роль пользователя {}: {}", username, role);
+        log.debug("Пользователь {} успешно найден, роль: {}", username, role);
 
         // Возвращаем объект CustomUserDetails с данными пользователя
         return new CustomUserDetails(
@@ -67,4 +69,4 @@ public class CustomUserDetailsService implements UserDetailsService {
                 roles
         );
     }
-}
\ No newline at end of file
+}
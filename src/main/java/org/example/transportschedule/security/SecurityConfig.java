@@ -1,18 +1,28 @@
 package org.example.transportschedule.security;
 
+import org.example.transportschedule.ratelimit.RateLimitFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+
+import java.time.Duration;
 
 /**
  * Конфигурация безопасности приложения.
@@ -23,25 +33,47 @@ public class SecurityConfig {
 
     private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
 
+    @Value("${schedule.auth.credential-cache.max-size:10000}")
+    private long credentialCacheSize;
+
+    @Value("${schedule.auth.credential-cache.ttl-seconds:300}")
+    private long credentialCacheTtlSeconds;
+
     /**
      * Создает цепочку фильтров безопасности для конфигурации доступа к эндпоинтам.
      *
-     * @param http объект для настройки безопасности HTTP
+     * @param http                       объект для настройки безопасности HTTP
+     * @param jwtAuthenticationConverter преобразование токена доступа в аутентификацию с ролями
+     * @param rateLimitFilter            фильтр допуска запросов (отсутствует, если ограничение выключено)
      * @return настроенная цепочка фильтров безопасности
      * @throws Exception если произошла ошибка при конфигурации
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   JwtAuthenticationConverter jwtAuthenticationConverter,
+                                                   ObjectProvider<RateLimitFilter> rateLimitFilter) throws Exception {
         logger.info("Настройка правил безопасности...");
 
+        // Допуск запросов после аутентификации (ключ клиента — пользователь) и до авторизации и контроллеров
+        rateLimitFilter.ifAvailable(filter -> http.addFilterBefore(filter, AuthorizationFilter.class));
+
         return http
                 .authorizeHttpRequests(auth -> {
                     logger.info("Настройка правил авторизации...");
                     auth
+                            // Получение токена доступа для всех
+                            .requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
                             // Доступ к расписанию поездов только для аутентифицированных пользователей
                             .requestMatchers(HttpMethod.GET, "/api/trains/**").authenticated()
                             // Доступ к расписанию автобусов для всех
                             .requestMatchers(HttpMethod.GET, "/api/buses/**").permitAll()
+                            // Архив расписания только для аутентифицированных пользователей
+                            .requestMatchers(HttpMethod.GET, "/api/history/**").authenticated()
+                            // Сводная статистика только для аутентифицированных пользователей
+                            .requestMatchers(HttpMethod.GET, "/api/stats/**").authenticated()
+                            // Поток изменений включает поезда, поэтому только для аутентифицированных пользователей
+                            .requestMatchers(HttpMethod.GET, "/api/changes/**").authenticated()
+                            .requestMatchers(HttpMethod.GET, "/api/stream/**").authenticated()
                             // Доступ к пользовательским эндпоинтам для всех
                             .requestMatchers("/api/users/**").permitAll()
                             // Добавление, редактирование и удаление транспортов только для ADMIN
@@ -51,23 +83,39 @@ public class SecurityConfig {
                             .requestMatchers(HttpMethod.POST, "/api/buses").hasRole("ADMIN")
                             .requestMatchers(HttpMethod.PUT, "/api/buses/**").hasRole("ADMIN")
                             .requestMatchers(HttpMethod.DELETE, "/api/buses/**").hasRole("ADMIN")
+                            // Массовое изменение цен только для ADMIN
+                            .requestMatchers("/api/fares/**").hasRole("ADMIN")
+                            // Асинхронные правки расписания и их квитанции только для ADMIN
+                            .requestMatchers("/api/commands/**").hasRole("ADMIN")
+                            // Проверка состояния для балансировщика и оркестратора
+                            .requestMatchers("/actuator/health/**").permitAll()
+                            // Метрики (в том числе /actuator/prometheus) только для ADMIN
+                            .requestMatchers("/actuator/**").hasRole("ADMIN")
                             // Все остальные запросы разрешены
                             .anyRequest().permitAll();
                 })
                 .httpBasic(Customizer.withDefaults()) // Использование HTTP Basic Auth
+                // Токены доступа (Authorization: Bearer), проверяемые по подписи без обращения к БД
+                .oauth2ResourceServer(oauth2 -> oauth2
+                        .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter)))
+                // Аутентификация в каждом запросе, HTTP-сессии не создаются
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .csrf(AbstractHttpConfigurer::disable) // Отключение CSRF
                 .build();
     }
 
     /**
-     * Создает кодировщик паролей BCrypt для безопасного хеширования паролей.
+     * Создает кодировщик паролей BCrypt для безопасного хеширования паролей
+     * с кешем успешных проверок (см. {@link CachingPasswordEncoder}).
      *
      * @return объект PasswordEncoder
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
         logger.info("Инициализация кодировщика паролей BCrypt...");
-        return new BCryptPasswordEncoder();
+        // Успешные проверки запоминаются, чтобы HTTP Basic не платил за BCrypt в каждом запросе
+        return new CachingPasswordEncoder(new BCryptPasswordEncoder(), credentialCacheSize,
+                Duration.ofSeconds(credentialCacheTtlSeconds));
     }
 
     /**
@@ -89,4 +137,16 @@ public class SecurityConfig {
         logger.info("Провайдер аутентификации настроен.");
         return daoAuthenticationProvider;
     }
-}
\ No newline at end of file
+
+    /**
+     * Менеджер аутентификации для проверки пароля при выдаче токена доступа.
+     *
+     * @param authenticationConfiguration конфигурация аутентификации Spring Security
+     * @return объект AuthenticationManager
+     * @throws Exception если произошла ошибка при получении менеджера
+     */
+    @Bean
+    public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
+        return authenticationConfiguration.getAuthenticationManager();
+    }
+}
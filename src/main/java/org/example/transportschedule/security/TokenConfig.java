@@ -0,0 +1,81 @@
+package org.example.transportschedule.security;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.constant.Constants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Подпись и проверка токенов доступа (JWT, HMAC-SHA256).
+ * Токен проверяется локально по подписи, сроку действия и издателю, без обращения к БД.
+ */
+@Slf4j
+@Configuration
+public class TokenConfig {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final SecretKey secretKey;
+
+    /**
+     * @param secret ключ подписи в Base64 (не короче 32 байт); должен совпадать на всех узлах
+     */
+    public TokenConfig(@Value("${schedule.auth.token-secret:}") String secret) {
+        byte[] keyBytes;
+        if (secret.isBlank()) {
+            log.warn("Ключ подписи токенов не задан (schedule.auth.token-secret), используется случайный: " +
+                    "токены не переживут перезапуск и не будут приниматься другими узлами");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret);
+            if (keyBytes.length < 32) {
+                throw new IllegalStateException("Token secret must be at least 256 bits");
+            }
+        }
+        this.secretKey = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder() {
+        return new NimbusJwtEncoder(new ImmutableSecret<>(secretKey));
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder() {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(secretKey)
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(Constants.TOKEN_ISSUER));
+        return decoder;
+    }
+
+    /**
+     * Роли берутся из claim токена и получают префикс ROLE_, как и при входе по паролю.
+     */
+    @Bean
+    public JwtAuthenticationConverter jwtAuthenticationConverter() {
+        JwtGrantedAuthoritiesConverter authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+        authoritiesConverter.setAuthoritiesClaimName(Constants.TOKEN_ROLES_CLAIM);
+        authoritiesConverter.setAuthorityPrefix("ROLE_");
+
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(authoritiesConverter);
+        return converter;
+    }
+}
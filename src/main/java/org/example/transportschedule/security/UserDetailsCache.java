@@ -0,0 +1,73 @@
+package org.example.transportschedule.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.constant.Constants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Кеш данных пользователей (имя, хеш пароля, роли) для аутентификации.
+ * Запись сбрасывается при изменении и удалении пользователя на этом узле и, через Redis pub/sub, на остальных.
+ * Срок жизни записи ограничивает устаревание, если сообщение о сбросе до узла не дошло.
+ */
+@Slf4j
+@Component
+public class UserDetailsCache {
+
+    private final Cache<String, UserDetails> cache;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public UserDetailsCache(StringRedisTemplate stringRedisTemplate,
+                            @Value("${schedule.auth.user-cache.max-size:10000}") long maxSize,
+                            @Value("${schedule.auth.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Данные пользователя из кеша; при отсутствии загружаются и кешируются.
+     * Загрузка атомарна по ключу: сброс, пришедший во время загрузки, дожидается ее и удаляет результат,
+     * поэтому прочитанные до изменения данные в кеше не остаются.
+     *
+     * @param username имя пользователя
+     * @param loader   загрузка из БД; исключение загрузчика пробрасывается и не кешируется
+     */
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return cache.get(username, loader);
+    }
+
+    /**
+     * Сбрасывает запись пользователя на всех узлах.
+     *
+     * @param username имя пользователя
+     */
+    public void evict(String username) {
+        evictLocal(username);
+        try {
+            stringRedisTemplate.convertAndSend(Constants.USER_DETAILS_EVICT_CHANNEL, username);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось разослать сброс кеша пользователя {}, другие узлы обновят запись по истечении срока: {}",
+                    username, e.getMessage());
+        }
+    }
+
+    /**
+     * Сбрасывает запись пользователя только на этом узле (по сообщению от другого узла).
+     *
+     * @param username имя пользователя
+     */
+    public void evictLocal(String username) {
+        cache.invalidate(username);
+        log.debug("Сброшены закешированные данные пользователя {}", username);
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.transportschedule.security;
+
+import org.example.transportschedule.constant.Constants;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Подписка на сбросы кеша пользователей, разосланные другими узлами.
+ */
+@Configuration
+public class UserDetailsCacheConfig {
+
+    @Bean
+    public RedisMessageListenerContainer userDetailsEvictListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                           UserDetailsCache userDetailsCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> userDetailsCache.evictLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(Constants.USER_DETAILS_EVICT_CHANNEL));
+        return container;
+    }
+}
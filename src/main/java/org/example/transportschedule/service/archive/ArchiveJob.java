@@ -0,0 +1,80 @@
+package org.example.transportschedule.service.archive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.constant.Constants;
+import org.example.transportschedule.service.redis.RedisService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Плановый перенос отправившихся рейсов в историю.
+ * Рейсы старше горизонта хранения переносятся ограниченными пачками до полного исчерпания,
+ * после чего удаляются опустевшие секции. Версии расписания (страничные кеши и ETag) увеличивают
+ * события удаления, публикуемые для каждого перенесенного рейса; кеш отдельных рейсов очищается после каждой пачки.
+ * Если архивацию уже выполняет другой узел, запуск на этом узле завершается.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "schedule.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class ArchiveJob {
+
+    private final ArchiveService archiveService;
+    private final RedisService redisService;
+
+    @Value("${schedule.archive.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${schedule.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(cron = "${schedule.archive.cron:0 30 3 * * *}")
+    public void archiveDepartedTrips() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        log.info("Архивация рейсов, отправившихся раньше {}", cutoff);
+
+        Optional<Long> buses = drain(Constants.BUS_CACHE_KEY_PREFIX,
+                () -> archiveService.archiveBusBatch(cutoff, batchSize));
+        Optional<Long> trains = buses.flatMap(moved -> drain(Constants.TRAIN_CACHE_KEY_PREFIX,
+                () -> archiveService.archiveTrainBatch(cutoff, batchSize)));
+        Optional<Integer> droppedPartitions = trains.flatMap(moved -> archiveService.dropEmptyPartitions(cutoff));
+
+        if (droppedPartitions.isEmpty()) {
+            log.info("Архивация выполняется другим узлом, запуск на этом узле завершен");
+            return;
+        }
+        log.info("Архивация завершена: автобусов {}, поездов {}, удалено пустых секций {}",
+                buses.get(), trains.get(), droppedPartitions.get());
+    }
+
+    /**
+     * Перенос пачками до исчерпания.
+     *
+     * @param cachePrefix префикс кеша отдельных рейсов
+     * @return количество перенесенных рейсов или пустое значение, если архивацию перехватил другой узел
+     */
+    private Optional<Long> drain(String cachePrefix, Supplier<Optional<List<Long>>> batch) {
+        long total = 0;
+        while (true) {
+            Optional<List<Long>> archived = batch.get();
+            if (archived.isEmpty()) {
+                return Optional.empty();
+            }
+
+            List<Long> ids = archived.get();
+            redisService.removeAll(ids.stream().map(id -> cachePrefix + id).toList());
+            total += ids.size();
+            if (ids.size() < batchSize) {
+                return Optional.of(total);
+            }
+        }
+    }
+}
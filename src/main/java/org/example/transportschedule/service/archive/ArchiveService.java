@@ -0,0 +1,13 @@
+package org.example.transportschedule.service.archive;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ArchiveService {
+    Optional<List<Long>> archiveBusBatch(LocalDateTime cutoff, int batchSize);
+
+    Optional<List<Long>> archiveTrainBatch(LocalDateTime cutoff, int batchSize);
+
+    Optional<Integer> dropEmptyPartitions(LocalDateTime cutoff);
+}
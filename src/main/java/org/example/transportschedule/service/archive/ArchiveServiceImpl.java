@@ -0,0 +1,125 @@
+package org.example.transportschedule.service.archive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.model.enums.TransportType;
+import org.example.transportschedule.model.event.ScheduleChangedEvent;
+import org.example.transportschedule.model.event.TripSnapshot;
+import org.example.transportschedule.repository.archive.ArchiveRepository;
+import org.example.transportschedule.repository.train.TrainRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Перенос отправившихся рейсов в исторические таблицы.
+ * Каждая пачка переносится в отдельной транзакции, чтобы не держать длинные блокировки.
+ * Каждая транзакция берет advisory-блокировку архивации: пачки разных узлов не выполняются одновременно.
+ * Для каждого перенесенного рейса публикуется событие удаления, поэтому индекс маршрутов, сводка
+ * по направлениям, версии расписания и outbox (потребители /api/changes и SSE) узнают об архивации
+ * так же, как об удалении рейса через API.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArchiveServiceImpl implements ArchiveService {
+
+    private static final List<String> PARTITIONED_TABLES = List.of("buses", "trains");
+
+    private final ArchiveRepository archiveRepository;
+    private final TrainRepository trainRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Переносит в историю одну пачку автобусов.
+     *
+     * @param cutoff    граница хранения
+     * @param batchSize размер пачки
+     * @return идентификаторы перенесенных рейсов или пустое значение, если архивацию выполняет другой узел
+     */
+    @Transactional
+    @Override
+    public Optional<List<Long>> archiveBusBatch(LocalDateTime cutoff, int batchSize) {
+        if (!archiveRepository.tryArchiveLock()) {
+            return Optional.empty();
+        }
+
+        List<Object[]> moved = archiveRepository.moveBusesToHistory(cutoff, batchSize);
+        List<Long> ids = publishDeleted(TransportType.BUS, moved, Map.of());
+        log.debug("В архив перенесено {} автобусов", ids.size());
+        return Optional.of(ids);
+    }
+
+    /**
+     * Переносит в историю одну пачку поездов вместе с остановками.
+     *
+     * @param cutoff    граница хранения
+     * @param batchSize размер пачки
+     * @return идентификаторы перенесенных рейсов или пустое значение, если архивацию выполняет другой узел
+     */
+    @Transactional
+    @Override
+    public Optional<List<Long>> archiveTrainBatch(LocalDateTime cutoff, int batchSize) {
+        if (!archiveRepository.tryArchiveLock()) {
+            return Optional.empty();
+        }
+
+        List<Long> trainIds = archiveRepository.findTrainIdsDepartedBefore(cutoff, batchSize);
+        if (trainIds.isEmpty()) {
+            return Optional.of(List.of());
+        }
+        // Остановки читаются до переноса: для событий удаления нужен полный снимок рейса
+        Map<Long, List<String>> stopsByTrain = trainRepository.findStopListsByTrainIds(trainIds);
+        List<Object[]> moved = archiveRepository.moveTrainsToHistory(trainIds, cutoff);
+        List<Long> ids = publishDeleted(TransportType.TRAIN, moved, stopsByTrain);
+        log.debug("В архив перенесено {} поездов", ids.size());
+        return Optional.of(ids);
+    }
+
+    /**
+     * Удаляет опустевшие секции рабочих таблиц, лежащие раньше границы хранения.
+     *
+     * @param cutoff граница хранения
+     * @return количество удаленных секций или пустое значение, если архивацию выполняет другой узел
+     */
+    @Transactional
+    @Override
+    public Optional<Integer> dropEmptyPartitions(LocalDateTime cutoff) {
+        if (!archiveRepository.tryArchiveLock()) {
+            return Optional.empty();
+        }
+
+        int dropped = 0;
+        for (String table : PARTITIONED_TABLES) {
+            dropped += archiveRepository.dropEmptyPartitionsBefore(table, cutoff.toLocalDate().withDayOfMonth(1));
+        }
+        return Optional.of(dropped);
+    }
+
+    /**
+     * Публикация событий удаления по строкам перенесенных рейсов
+     * (id, city_from, city_to, date_of_departure, date_of_arrival, price).
+     */
+    private List<Long> publishDeleted(TransportType type, List<Object[]> moved, Map<Long, List<String>> stopsByTrip) {
+        return moved.stream()
+                .map(row -> {
+                    long id = ((Number) row[0]).longValue();
+                    TripSnapshot before = new TripSnapshot((String) row[1], (String) row[2],
+                            List.copyOf(stopsByTrip.getOrDefault(id, List.of())), ((Number) row[5]).doubleValue(),
+                            toLocalDateTime(row[3]), toLocalDateTime(row[4]));
+                    eventPublisher.publishEvent(ScheduleChangedEvent.deleted(type, id, before));
+                    return id;
+                })
+                .toList();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
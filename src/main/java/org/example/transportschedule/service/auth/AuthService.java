@@ -0,0 +1,8 @@
+package org.example.transportschedule.service.auth;
+
+import org.example.transportschedule.model.dto.LoginRequestDTO;
+import org.example.transportschedule.model.dto.TokenDTO;
+
+public interface AuthService {
+    TokenDTO login(LoginRequestDTO request);
+}
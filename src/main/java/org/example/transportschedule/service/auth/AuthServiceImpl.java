@@ -0,0 +1,79 @@
+package org.example.transportschedule.service.auth;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.constant.Constants;
+import org.example.transportschedule.model.dto.LoginRequestDTO;
+import org.example.transportschedule.model.dto.TokenDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Выдача токенов доступа.
+ * Пароль проверяется (BCrypt) один раз при входе; дальше запросы аутентифицируются по подписи токена
+ * без обращения к БД. Роли записываются в токен, поэтому изменение ролей и паролей вступает в силу
+ * не позже истечения срока действия уже выданных токенов.
+ */
+@Slf4j
+@Service
+public class AuthServiceImpl implements AuthService {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final AuthenticationManager authenticationManager;
+    private final JwtEncoder jwtEncoder;
+    private final Duration tokenTtl;
+
+    public AuthServiceImpl(AuthenticationManager authenticationManager,
+                           JwtEncoder jwtEncoder,
+                           @Value("${schedule.auth.token-ttl-minutes:15}") long tokenTtlMinutes) {
+        this.authenticationManager = authenticationManager;
+        this.jwtEncoder = jwtEncoder;
+        this.tokenTtl = Duration.ofMinutes(tokenTtlMinutes);
+    }
+
+    /**
+     * Проверяет учетные данные и выпускает токен доступа.
+     *
+     * @param request имя пользователя и пароль
+     * @return подписанный токен и срок его действия
+     * @throws org.springframework.security.core.AuthenticationException если учетные данные неверны
+     */
+    @Override
+    public TokenDTO login(LoginRequestDTO request) {
+        Authentication authentication = authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(request.username(), request.password()));
+
+        List<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(authority -> authority.startsWith(ROLE_PREFIX) ? authority.substring(ROLE_PREFIX.length()) : authority)
+                .toList();
+
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(Constants.TOKEN_ISSUER)
+                .subject(authentication.getName())
+                .issuedAt(now)
+                .expiresAt(now.plus(tokenTtl))
+                .claim(Constants.TOKEN_ROLES_CLAIM, roles)
+                .build();
+
+        String token = jwtEncoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims))
+                .getTokenValue();
+
+        log.debug("Выдан токен доступа пользователю {}", authentication.getName());
+        return new TokenDTO(token, "Bearer", tokenTtl.toSeconds());
+    }
+}
@@ -1,9 +1,12 @@
 package org.example.transportschedule.service.bus;
 
 import org.example.transportschedule.model.dto.BusDTO;
+import org.example.transportschedule.model.dto.RouteDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface BusService {
@@ -13,4 +16,6 @@ public interface BusService {
     void deleteBus(long id);
     Page<BusDTO> getAllBuses(Pageable pageable);
     List<String> getRouteFromCity(String city);
+    List<RouteDTO> getRouteSummaryFromCity(String city);
+    void exportBuses(OutputStream outputStream) throws IOException;
 }
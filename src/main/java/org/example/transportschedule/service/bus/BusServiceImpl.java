@@ -6,15 +6,25 @@ import org.example.transportschedule.constant.Constants;
 import org.example.transportschedule.exception.BusNotFoundException;
 import org.example.transportschedule.mapper.bus.BusMapper;
 import org.example.transportschedule.model.dto.BusDTO;
+import org.example.transportschedule.model.dto.RouteDTO;
 import org.example.transportschedule.model.entity.Bus;
+import org.example.transportschedule.model.enums.TransportType;
+import org.example.transportschedule.model.event.ScheduleChangedEvent;
+import org.example.transportschedule.model.event.TripSnapshot;
 import org.example.transportschedule.repository.bus.BusRepository;
+import org.example.transportschedule.service.export.NdjsonExporter;
 import org.example.transportschedule.service.redis.RedisService;
+import org.example.transportschedule.service.route.RouteService;
+import org.example.transportschedule.service.version.ScheduleVersionService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 @Service
@@ -24,6 +34,10 @@ public class BusServiceImpl implements BusService {
     private final BusRepository busRepository;
     private final RedisService redisService;
     private final BusMapper busMapper;
+    private final NdjsonExporter ndjsonExporter;
+    private final RouteService routeService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ScheduleVersionService scheduleVersionService;
 
     /**
      * Получение автобуса по id с использованием кеша.
@@ -33,6 +47,7 @@ public class BusServiceImpl implements BusService {
      * @return объект BusDTO
      * @throws BusNotFoundException если автобус с таким id не найден
      */
+    @Transactional(readOnly = true)
     @Override
     public BusDTO getBusById(long id) {
         log.info("Запрос автобуса с id: {}", id);
@@ -62,7 +77,8 @@ public class BusServiceImpl implements BusService {
 
     /**
      * Добавление нового автобуса в систему.
-     * После добавления очищается кеш с данными о всех автобусах, так как список изменился.
+     * Страницы списка кешируются по версии расписания, которая увеличивается после фиксации,
+     * поэтому отдельно очищать их не нужно.
      *
      * @param bus объект автобуса, который нужно добавить
      * @return добавленный объект BusDTO
@@ -73,10 +89,9 @@ public class BusServiceImpl implements BusService {
         log.info("Добавление нового автобуса: {}", bus);
 
         // Сохраняем автобус в базу данных
-        busRepository.save(busMapper.mapToBusEntity(bus));
-
-        // Очищаем кэш с данными о всех автобусах, так как добавление нового автобуса меняет список
-        redisService.clearPageable(Constants.BUSES_CACHE_KEY_PREFIX_WITH_PAGE);
+        Bus savedBus = busRepository.save(busMapper.mapToBusEntity(bus));
+        eventPublisher.publishEvent(
+                ScheduleChangedEvent.created(TransportType.BUS, savedBus.getId(), TripSnapshot.of(savedBus)));
 
         // Возвращаем DTO добавленного автобуса
         return bus;
@@ -84,7 +99,7 @@ public class BusServiceImpl implements BusService {
 
     /**
      * Обновление информации об автобусе с указанным id.
-     * После обновления очищается кеш для данного автобуса и кеш с данными о всех автобусах.
+     * После обновления обновляется кеш для данного автобуса; страницы списка кешируются по версии расписания.
      *
      * @param id идентификатор автобуса, который нужно обновить
      * @param bus новые данные для автобуса
@@ -99,6 +114,7 @@ public class BusServiceImpl implements BusService {
         // Ищем автобус в базе данных по id
         Bus busToUpdate = busRepository.findById(id)
                 .orElseThrow(() -> new BusNotFoundException(id));
+        TripSnapshot before = TripSnapshot.of(busToUpdate);
 
         // Обновляем поля автобуса
         busToUpdate.setCityFrom(bus.cityFrom());
@@ -108,23 +124,23 @@ public class BusServiceImpl implements BusService {
         busToUpdate.setPrice(bus.price());
 
         // Сохраняем обновленный автобус в базе данных
-        BusDTO savedBus = busMapper.mapToBusDTO(busRepository.save(busToUpdate));
+        Bus updatedBus = busRepository.save(busToUpdate);
+        BusDTO savedBus = busMapper.mapToBusDTO(updatedBus);
+        eventPublisher.publishEvent(
+                ScheduleChangedEvent.updated(TransportType.BUS, id, before, TripSnapshot.of(updatedBus)));
 
         // Удаляем старый кэш для обновленного автобуса
         redisService.removeFromRedis(Constants.BUS_CACHE_KEY_PREFIX + id);
         // Сохраняем новый кэш для обновленного автобуса
         redisService.addToRedis(Constants.BUS_CACHE_KEY_PREFIX + id, savedBus, 30L);
 
-        // Очищаем кэш с данными о всех автобусах, так как обновление автобуса меняет список
-        redisService.clearPageable(Constants.BUSES_CACHE_KEY_PREFIX_WITH_PAGE);
-
         // Возвращаем DTO обновленного автобуса
         return savedBus;
     }
 
     /**
      * Удаление автобуса по id.
-     * После удаления очищается кеш для данного автобуса и кеш с данными о всех автобусах.
+     * После удаления очищается кеш для данного автобуса; страницы списка кешируются по версии расписания.
      *
      * @param id идентификатор автобуса, который нужно удалить
      * @throws BusNotFoundException если автобус с таким id не найден
@@ -134,34 +150,41 @@ public class BusServiceImpl implements BusService {
     public void deleteBus(long id) {
         log.info("Удаление автобуса с id: {}", id);
 
-        // Проверяем, существует ли автобус с данным id в базе данных
-        if (busRepository.existsById(id)) {
-            // Удаляем автобус из базы данных
-            busRepository.deleteById(id);
-
-            // Удаляем кэш для удаленного автобуса
-            redisService.removeFromRedis(Constants.BUS_CACHE_KEY_PREFIX + id);
-            // Очищаем кэш с данными о всех автобусах, так как удаление автобуса меняет список
-            redisService.clearPageable(Constants.BUSES_CACHE_KEY_PREFIX_WITH_PAGE);
-        } else {
-            // Если автобус не найден, выбрасываем исключение
-            throw new BusNotFoundException(id);
-        }
+        // Ищем автобус в базе данных; если автобус не найден, выбрасываем исключение
+        Bus busToDelete = busRepository.findById(id)
+                .orElseThrow(() -> new BusNotFoundException(id));
+
+        // Удаляем автобус из базы данных
+        busRepository.delete(busToDelete);
+        eventPublisher.publishEvent(
+                ScheduleChangedEvent.deleted(TransportType.BUS, id, TripSnapshot.of(busToDelete)));
+
+        // Удаляем кэш для удаленного автобуса
+        redisService.removeFromRedis(Constants.BUS_CACHE_KEY_PREFIX + id);
     }
 
     /**
      * Получение всех автобусов с постраничной разбивкой.
      * Если данные найдены в кеше, они возвращаются из него, иначе запрос выполняется к базе данных.
+     * Ключ кеша содержит версию расписания, прочитанную до обращения к БД: страница, прочитанная
+     * до фиксации записи, остается под старой версией и не выдается под новой (и под новым ETag).
      *
      * @param pageable параметры пагинации
      * @return страница объектов BusDTO
      */
+    @Transactional(readOnly = true)
     @Override
     public Page<BusDTO> getAllBuses(Pageable pageable) {
         log.info("Запрос всех автобусов, страница: {}", pageable);
 
-        // Формируем ключ для кеша на основе номера страницы и размера
-        String cacheKey = Constants.BUSES_CACHE_KEY_PREFIX_WITH_PAGE + "_" + pageable.getPageNumber()
+        String version = scheduleVersionService.currentVersion(TransportType.BUS);
+        if (version == null) {
+            log.info("Версия расписания неизвестна, страница: {} читается из БД без кеша", pageable);
+            return busRepository.findAll(pageable).map(busMapper::mapToBusDTO);
+        }
+
+        // Формируем ключ для кеша на основе версии, номера страницы и размера
+        String cacheKey = Constants.BUSES_CACHE_KEY_PREFIX_WITH_PAGE + version + "_" + pageable.getPageNumber()
                 + "_" + pageable.getPageSize();
 
         // Получаем закешированный список BusDTO
@@ -187,7 +210,8 @@ public class BusServiceImpl implements BusService {
 
     /**
      * Получение всех маршрутов из указанного города.
-     * Формирует список маршрутов в формате "город отправления - город назначения".
+     * Формирует список уникальных маршрутов в формате "город отправления - город назначения".
+     * Данные берутся из индекса маршрутов без обращения к БД.
      *
      * @param city город отправления
      * @return список маршрутов в виде строк
@@ -197,8 +221,35 @@ public class BusServiceImpl implements BusService {
         log.info("Запрос маршрутов автобусов из города: {}", city);
 
         // Получаем все маршруты для указанного города отправления
-        return busRepository.findAllByCityFrom(city).stream()
-                .map(bus -> bus.getCityFrom() + " - " + bus.getCityTo())
+        return getRouteSummaryFromCity(city).stream()
+                .map(route -> route.cityFrom() + " - " + route.cityTo())
                 .toList();
     }
-}
\ No newline at end of file
+
+    /**
+     * Получение маршрутов из указанного города с количеством рейсов и ближайшим отправлением.
+     *
+     * @param city город отправления
+     * @return список маршрутов
+     */
+    @Override
+    public List<RouteDTO> getRouteSummaryFromCity(String city) {
+        return routeService.getRoutesFromCity(TransportType.BUS, city);
+    }
+
+    /**
+     * Потоковая выгрузка всех автобусов в формате NDJSON.
+     * Записи читаются через курсор и пишутся в поток по мере поступления.
+     *
+     * @param outputStream поток, в который пишется выгрузка
+     * @throws IOException если запись в поток не удалась
+     */
+    @Override
+    public void exportBuses(OutputStream outputStream) throws IOException {
+        log.info("Экспорт всех автобусов в формате NDJSON");
+        ndjsonExporter.export(
+                busRepository::streamAllForExport,
+                buses -> buses.stream().map(busMapper::mapToBusDTO).toList(),
+                outputStream);
+    }
+}
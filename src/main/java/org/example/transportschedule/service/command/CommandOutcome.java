@@ -0,0 +1,29 @@
+package org.example.transportschedule.service.command;
+
+import org.example.transportschedule.model.enums.TransportType;
+
+/**
+ * Результат выполнения команды в пачке.
+ *
+ * @param command  команда
+ * @param entityId ID добавленного или обновленного рейса
+ * @param error    причина ошибки; null, если команда выполнена
+ */
+public record CommandOutcome(ScheduleCommand command, Long entityId, String error) {
+
+    public static CommandOutcome applied(ScheduleCommand command, Long entityId) {
+        return new CommandOutcome(command, entityId, null);
+    }
+
+    public static CommandOutcome failed(ScheduleCommand command, String error) {
+        return new CommandOutcome(command, command.id(), error);
+    }
+
+    public boolean isApplied() {
+        return error == null;
+    }
+
+    public TransportType type() {
+        return command.type();
+    }
+}
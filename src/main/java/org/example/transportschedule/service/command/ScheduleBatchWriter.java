@@ -0,0 +1,167 @@
+package org.example.transportschedule.service.command;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.exception.BusNotFoundException;
+import org.example.transportschedule.exception.TrainNotFoundException;
+import org.example.transportschedule.mapper.bus.BusMapper;
+import org.example.transportschedule.mapper.train.TrainMapper;
+import org.example.transportschedule.model.dto.BusDTO;
+import org.example.transportschedule.model.dto.TrainDTO;
+import org.example.transportschedule.model.entity.Bus;
+import org.example.transportschedule.model.entity.Train;
+import org.example.transportschedule.model.enums.TransportType;
+import org.example.transportschedule.model.event.ScheduleChangedEvent;
+import org.example.transportschedule.model.event.TripSnapshot;
+import org.example.transportschedule.repository.bus.BusRepository;
+import org.example.transportschedule.repository.train.TrainRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Запись пачки команд изменения расписания в одной транзакции.
+ * Повторные обновления одного рейса в пачке сливаются (применяется последнее),
+ * обновляемые рейсы загружаются одним запросом, вставки и обновления уходят JDBC-батчами.
+ * События изменения расписания публикуются как при синхронной записи.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScheduleBatchWriter {
+
+    private final BusRepository busRepository;
+    private final TrainRepository trainRepository;
+    private final BusMapper busMapper;
+    private final TrainMapper trainMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Применение пачки команд.
+     *
+     * @param commands команды в порядке приема
+     * @return результат по каждой команде
+     */
+    @Transactional
+    public List<CommandOutcome> apply(List<ScheduleCommand> commands) {
+        List<ScheduleCommand> busAdds = new ArrayList<>();
+        List<ScheduleCommand> trainAdds = new ArrayList<>();
+        Map<Long, List<ScheduleCommand>> busUpdates = new LinkedHashMap<>();
+        Map<Long, List<ScheduleCommand>> trainUpdates = new LinkedHashMap<>();
+
+        for (ScheduleCommand command : commands) {
+            boolean bus = command.type() == TransportType.BUS;
+            if (command.isCreate()) {
+                (bus ? busAdds : trainAdds).add(command);
+            } else {
+                (bus ? busUpdates : trainUpdates).computeIfAbsent(command.id(), id -> new ArrayList<>()).add(command);
+            }
+        }
+
+        List<CommandOutcome> outcomes = new ArrayList<>(commands.size());
+        addBuses(busAdds, outcomes);
+        addTrains(trainAdds, outcomes);
+        updateBuses(busUpdates, outcomes);
+        updateTrains(trainUpdates, outcomes);
+
+        log.debug("Пачка команд применена: добавлений {}, обновляемых рейсов {}",
+                busAdds.size() + trainAdds.size(), busUpdates.size() + trainUpdates.size());
+        return outcomes;
+    }
+
+    private void addBuses(List<ScheduleCommand> commands, List<CommandOutcome> outcomes) {
+        if (commands.isEmpty()) {
+            return;
+        }
+        List<Bus> saved = busRepository.saveAll(commands.stream()
+                .map(command -> busMapper.mapToBusEntity(command.bus()))
+                .toList());
+
+        for (int i = 0; i < saved.size(); i++) {
+            Bus bus = saved.get(i);
+            eventPublisher.publishEvent(
+                    ScheduleChangedEvent.created(TransportType.BUS, bus.getId(), TripSnapshot.of(bus)));
+            outcomes.add(CommandOutcome.applied(commands.get(i), bus.getId()));
+        }
+    }
+
+    private void addTrains(List<ScheduleCommand> commands, List<CommandOutcome> outcomes) {
+        if (commands.isEmpty()) {
+            return;
+        }
+        List<Train> saved = trainRepository.saveAll(commands.stream()
+                .map(command -> trainMapper.mapToTrainEntity(command.train()))
+                .toList());
+
+        for (int i = 0; i < saved.size(); i++) {
+            Train train = saved.get(i);
+            eventPublisher.publishEvent(
+                    ScheduleChangedEvent.created(TransportType.TRAIN, train.getId(), TripSnapshot.of(train)));
+            outcomes.add(CommandOutcome.applied(commands.get(i), train.getId()));
+        }
+    }
+
+    private void updateBuses(Map<Long, List<ScheduleCommand>> updates, List<CommandOutcome> outcomes) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        Map<Long, Bus> buses = busRepository.findAllById(updates.keySet()).stream()
+                .collect(Collectors.toMap(Bus::getId, Function.identity()));
+
+        updates.forEach((id, commands) -> {
+            Bus bus = buses.get(id);
+            if (bus == null) {
+                String error = new BusNotFoundException(id).getMessage();
+                commands.forEach(command -> outcomes.add(CommandOutcome.failed(command, error)));
+                return;
+            }
+
+            TripSnapshot before = TripSnapshot.of(bus);
+            BusDTO latest = commands.get(commands.size() - 1).bus();
+            bus.setCityFrom(latest.cityFrom());
+            bus.setCityTo(latest.cityTo());
+            bus.setDateOfDeparture(latest.dateOfDeparture());
+            bus.setDateOfArrival(latest.dateOfArrival());
+            bus.setPrice(latest.price());
+
+            eventPublisher.publishEvent(ScheduleChangedEvent.updated(TransportType.BUS, id, before, TripSnapshot.of(bus)));
+            commands.forEach(command -> outcomes.add(CommandOutcome.applied(command, id)));
+        });
+    }
+
+    private void updateTrains(Map<Long, List<ScheduleCommand>> updates, List<CommandOutcome> outcomes) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        Map<Long, Train> trains = trainRepository.findAllWithStopListByIdIn(updates.keySet()).stream()
+                .collect(Collectors.toMap(Train::getId, Function.identity()));
+
+        updates.forEach((id, commands) -> {
+            Train train = trains.get(id);
+            if (train == null) {
+                String error = new TrainNotFoundException(id).getMessage();
+                commands.forEach(command -> outcomes.add(CommandOutcome.failed(command, error)));
+                return;
+            }
+
+            TripSnapshot before = TripSnapshot.of(train);
+            TrainDTO latest = commands.get(commands.size() - 1).train();
+            train.setCityFrom(latest.cityFrom());
+            train.setCityTo(latest.cityTo());
+            train.setPrice(latest.price());
+            train.setDateOfDeparture(latest.dateOfDeparture());
+            train.setDateOfArrival(latest.dateOfArrival());
+            train.setStopList(latest.stopList());
+
+            eventPublisher.publishEvent(ScheduleChangedEvent.updated(TransportType.TRAIN, id, before, TripSnapshot.of(train)));
+            commands.forEach(command -> outcomes.add(CommandOutcome.applied(command, id)));
+        });
+    }
+}
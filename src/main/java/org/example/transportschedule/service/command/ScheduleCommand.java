@@ -0,0 +1,46 @@
+package org.example.transportschedule.service.command;
+
+import org.example.transportschedule.model.dto.BusDTO;
+import org.example.transportschedule.model.dto.TrainDTO;
+import org.example.transportschedule.model.enums.TransportType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Команда добавления или обновления рейса, ожидающая записи в очереди.
+ *
+ * @param receiptId   идентификатор квитанции
+ * @param type        вид транспорта
+ * @param id          ID обновляемого рейса; null для добавления
+ * @param bus         данные автобуса (для BUS)
+ * @param train       данные поезда (для TRAIN)
+ * @param submittedAt момент приема команды
+ */
+public record ScheduleCommand(String receiptId, TransportType type, Long id, BusDTO bus, TrainDTO train,
+                              LocalDateTime submittedAt) {
+
+    public static ScheduleCommand addBus(BusDTO bus) {
+        return new ScheduleCommand(newReceiptId(), TransportType.BUS, null, bus, null, LocalDateTime.now());
+    }
+
+    public static ScheduleCommand updateBus(long id, BusDTO bus) {
+        return new ScheduleCommand(newReceiptId(), TransportType.BUS, id, bus, null, LocalDateTime.now());
+    }
+
+    public static ScheduleCommand addTrain(TrainDTO train) {
+        return new ScheduleCommand(newReceiptId(), TransportType.TRAIN, null, null, train, LocalDateTime.now());
+    }
+
+    public static ScheduleCommand updateTrain(long id, TrainDTO train) {
+        return new ScheduleCommand(newReceiptId(), TransportType.TRAIN, id, null, train, LocalDateTime.now());
+    }
+
+    public boolean isCreate() {
+        return id == null;
+    }
+
+    private static String newReceiptId() {
+        return UUID.randomUUID().toString();
+    }
+}
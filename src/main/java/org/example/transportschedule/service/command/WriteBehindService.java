@@ -0,0 +1,13 @@
+package org.example.transportschedule.service.command;
+
+import org.example.transportschedule.model.dto.BusDTO;
+import org.example.transportschedule.model.dto.CommandReceiptDTO;
+import org.example.transportschedule.model.dto.TrainDTO;
+
+public interface WriteBehindService {
+    CommandReceiptDTO submitAddBus(BusDTO bus);
+    CommandReceiptDTO submitUpdateBus(long id, BusDTO bus);
+    CommandReceiptDTO submitAddTrain(TrainDTO train);
+    CommandReceiptDTO submitUpdateTrain(long id, TrainDTO train);
+    CommandReceiptDTO getReceipt(String receiptId);
+}
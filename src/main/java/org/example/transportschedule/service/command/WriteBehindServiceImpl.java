@@ -0,0 +1,327 @@
+package org.example.transportschedule.service.command;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.constant.Constants;
+import org.example.transportschedule.exception.CommandReceiptNotFoundException;
+import org.example.transportschedule.exception.WriteQueueFullException;
+import org.example.transportschedule.model.dto.BusDTO;
+import org.example.transportschedule.model.dto.CommandReceiptDTO;
+import org.example.transportschedule.model.dto.TrainDTO;
+import org.example.transportschedule.model.enums.CommandStatus;
+import org.example.transportschedule.model.enums.TransportType;
+import org.example.transportschedule.exception.ReceiptStoreUnavailableException;
+import org.example.transportschedule.service.redis.RedisService;
+import org.example.transportschedule.service.redis.ResilientRedisService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Асинхронный прием правок расписания (write-behind).
+ * Проверенные команды кладутся в ограниченную очередь, единственный поток записи забирает их пачками
+ * и применяет через {@link ScheduleBatchWriter} в одной транзакции на пачку. Кеши очищаются один раз
+ * на пачку. Вызывающий получает квитанцию, состояние которой хранится в Redis и доступно с любого узла.
+ * <p>
+ * Квитанции пишутся в Redis напрямую, минуя {@link ResilientRedisService}: пропуск записи при сбое Redis
+ * или промах на время отложенных очисток кеша для квитанции означал бы ответ 404 на принятую команду.
+ * Если квитанцию сохранить не удалось, команда не принимается (503).
+ * <p>
+ * Очередь хранится в памяти узла. При остановке приложения она дописывается в пределах
+ * schedule.write-behind.shutdown-timeout; при аварийной остановке узла принятые, но не примененные
+ * команды теряются, а их квитанции остаются в состоянии QUEUED до истечения срока хранения.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "schedule.write-behind.enabled", havingValue = "true")
+public class WriteBehindServiceImpl implements WriteBehindService, SmartLifecycle {
+
+    private static final long POLL_TIMEOUT_MS = 500;
+    private static final int RECEIPT_SAVE_ATTEMPTS = 3;
+    private static final long RECEIPT_RETRY_DELAY_MS = 200;
+
+    private final ScheduleBatchWriter batchWriter;
+    private final RedisService redisService;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${schedule.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${schedule.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${schedule.write-behind.receipt-ttl-minutes:60}")
+    private long receiptTtlMinutes;
+
+    @Value("${schedule.write-behind.shutdown-timeout:20s}")
+    private Duration shutdownTimeout;
+
+    // Постановка в очередь (чтение) и остановка приема (запись) взаимно исключаются
+    private final ReadWriteLock acceptLock = new ReentrantReadWriteLock();
+
+    private BlockingQueue<ScheduleCommand> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    @Override
+    public CommandReceiptDTO submitAddBus(BusDTO bus) {
+        return submit(ScheduleCommand.addBus(bus));
+    }
+
+    @Override
+    public CommandReceiptDTO submitUpdateBus(long id, BusDTO bus) {
+        return submit(ScheduleCommand.updateBus(id, bus));
+    }
+
+    @Override
+    public CommandReceiptDTO submitAddTrain(TrainDTO train) {
+        return submit(ScheduleCommand.addTrain(train));
+    }
+
+    @Override
+    public CommandReceiptDTO submitUpdateTrain(long id, TrainDTO train) {
+        return submit(ScheduleCommand.updateTrain(id, train));
+    }
+
+    /**
+     * Получение квитанции по идентификатору.
+     *
+     * @param receiptId идентификатор квитанции
+     * @return квитанция с текущим состоянием команды
+     * @throws CommandReceiptNotFoundException  если квитанция не найдена или срок ее хранения истек
+     * @throws ReceiptStoreUnavailableException если Redis недоступен
+     */
+    @Override
+    public CommandReceiptDTO getReceipt(String receiptId) {
+        Object receipt;
+        try {
+            receipt = redisTemplate.opsForValue().get(Constants.COMMAND_RECEIPT_CACHE_KEY_PREFIX + receiptId);
+        } catch (DataAccessException e) {
+            throw new ReceiptStoreUnavailableException(e);
+        }
+        if (receipt == null) {
+            throw new CommandReceiptNotFoundException(receiptId);
+        }
+        return objectMapper.convertValue(receipt, CommandReceiptDTO.class);
+    }
+
+    /**
+     * Постановка команды в очередь. Квитанция сохраняется до постановки,
+     * чтобы поток записи не мог выполнить команду раньше, чем появится квитанция.
+     * Признак приема проверяется повторно под блокировкой вместе с постановкой: команда не попадает
+     * в очередь после того, как остановка приложения перестала принимать команды, и поток записи,
+     * дописывающий очередь, ее не пропустит.
+     *
+     * @throws WriteQueueFullException          если очередь заполнена
+     * @throws ReceiptStoreUnavailableException если квитанцию не удалось сохранить
+     */
+    private CommandReceiptDTO submit(ScheduleCommand command) {
+        if (!running) {
+            throw new WriteQueueFullException(queueCapacity);
+        }
+
+        CommandReceiptDTO receipt = new CommandReceiptDTO(command.receiptId(), CommandStatus.QUEUED, command.type(),
+                command.id(), null, command.submittedAt(), null);
+        try {
+            saveReceipt(receipt);
+        } catch (DataAccessException e) {
+            throw new ReceiptStoreUnavailableException(e);
+        }
+
+        boolean accepted;
+        boolean queued = false;
+        acceptLock.readLock().lock();
+        try {
+            accepted = running;
+            if (accepted) {
+                queued = queue.offer(command);
+            }
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+
+        if (!queued) {
+            removeReceipt(command.receiptId());
+            if (accepted) {
+                log.warn("Очередь команд заполнена ({}), команда отклонена", queueCapacity);
+            } else {
+                log.warn("Асинхронная запись останавливается, команда отклонена");
+            }
+            throw new WriteQueueFullException(queueCapacity);
+        }
+        return receipt;
+    }
+
+    private void drainLoop() {
+        List<ScheduleCommand> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ScheduleCommand first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Ошибка обработки пачки команд", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Применение пачки. Если транзакция пачки откатилась, команды применяются по одной,
+     * чтобы ошибка одной команды не отменяла остальные.
+     */
+    private void process(List<ScheduleCommand> batch) {
+        long startedAt = System.currentTimeMillis();
+
+        List<CommandOutcome> outcomes;
+        try {
+            outcomes = batchWriter.apply(batch);
+        } catch (RuntimeException e) {
+            log.warn("Пачка из {} команд откатилась, применяем по одной: {}", batch.size(), e.getMessage());
+            outcomes = new ArrayList<>(batch.size());
+            for (ScheduleCommand command : batch) {
+                try {
+                    outcomes.addAll(batchWriter.apply(List.of(command)));
+                } catch (RuntimeException commandError) {
+                    outcomes.add(CommandOutcome.failed(command, commandError.getMessage()));
+                }
+            }
+        }
+
+        invalidateCaches(outcomes);
+
+        LocalDateTime completedAt = LocalDateTime.now();
+        outcomes.forEach(outcome -> saveCompletedReceipt(new CommandReceiptDTO(
+                outcome.command().receiptId(),
+                outcome.isApplied() ? CommandStatus.APPLIED : CommandStatus.FAILED,
+                outcome.type(),
+                outcome.entityId(),
+                outcome.error(),
+                outcome.command().submittedAt(),
+                completedAt)));
+
+        log.info("Применена пачка из {} команд за {} мс, в очереди осталось {}",
+                batch.size(), System.currentTimeMillis() - startedAt, queue.size());
+    }
+
+    private void invalidateCaches(List<CommandOutcome> outcomes) {
+        for (TransportType type : TransportType.values()) {
+            String itemPrefix = type == TransportType.BUS
+                    ? Constants.BUS_CACHE_KEY_PREFIX
+                    : Constants.TRAIN_CACHE_KEY_PREFIX;
+
+            List<String> keys = outcomes.stream()
+                    .filter(outcome -> outcome.type() == type && outcome.isApplied())
+                    .map(outcome -> itemPrefix + outcome.entityId())
+                    .distinct()
+                    .toList();
+            if (keys.isEmpty()) {
+                continue;
+            }
+
+            // Страницы списков кешируются по версии расписания, ее увеличивают события пачки
+            redisService.removeAll(keys);
+        }
+    }
+
+    private void saveReceipt(CommandReceiptDTO receipt) {
+        redisTemplate.opsForValue().set(Constants.COMMAND_RECEIPT_CACHE_KEY_PREFIX + receipt.receiptId(), receipt,
+                Duration.ofMinutes(receiptTtlMinutes));
+    }
+
+    /**
+     * Сохранение итоговой квитанции. Команда уже применена, поэтому при сбое Redis запись повторяется;
+     * если Redis так и не ответил, квитанция остается в состоянии QUEUED до истечения срока хранения.
+     */
+    private void saveCompletedReceipt(CommandReceiptDTO receipt) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                saveReceipt(receipt);
+                return;
+            } catch (DataAccessException e) {
+                if (attempt == RECEIPT_SAVE_ATTEMPTS) {
+                    log.error("Не удалось сохранить квитанцию {} в состоянии {}: {}",
+                            receipt.receiptId(), receipt.status(), e.getMessage());
+                    return;
+                }
+                try {
+                    Thread.sleep(RECEIPT_RETRY_DELAY_MS * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void removeReceipt(String receiptId) {
+        try {
+            redisTemplate.delete(Constants.COMMAND_RECEIPT_CACHE_KEY_PREFIX + receiptId);
+        } catch (DataAccessException e) {
+            log.warn("Не удалось удалить квитанцию отклоненной команды {}: {}", receiptId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = new Thread(this::drainLoop, "schedule-write-behind");
+        writer.start();
+        log.info("Асинхронная запись расписания включена: очередь {}, пачка до {}", queueCapacity, batchSize);
+    }
+
+    /**
+     * Остановка с дописыванием очереди. Остановка приложения не ждет дольше shutdown-timeout:
+     * после него поток записи прерывается, а оставшиеся команды теряются.
+     */
+    @Override
+    public void stop() {
+        acceptLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            acceptLock.writeLock().unlock();
+        }
+        try {
+            writer.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+            log.error("Асинхронная запись не завершилась за {}, не применено команд: {}", shutdownTimeout, queue.size());
+            return;
+        }
+        log.info("Асинхронная запись расписания остановлена, очередь дописана");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.transportschedule.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.constant.Constants;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Потоковая выгрузка сущностей в формате NDJSON (одна JSON-запись на строку).
+ * Строки читаются из БД через курсор, преобразуются пачками и сразу пишутся в ответ,
+ * поэтому объем выгрузки не накапливается ни в куче, ни в контексте персистентности.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NdjsonExporter {
+
+    private static final int LINE_SEPARATOR = '\n';
+
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Выгружает все строки источника в выходной поток.
+     *
+     * @param source      поставщик потока сущностей (должен открываться внутри транзакции)
+     * @param chunkMapper преобразование пачки сущностей в DTO
+     * @param output      поток, в который пишется NDJSON
+     * @param <E>         тип сущности
+     * @param <D>         тип DTO
+     * @return количество выгруженных записей
+     * @throws IOException если клиент закрыл соединение или запись не удалась
+     */
+    @Transactional(readOnly = true)
+    public <E, D> long export(Supplier<Stream<E>> source,
+                              Function<List<E>, List<D>> chunkMapper,
+                              OutputStream output) throws IOException {
+        ObjectWriter writer = objectMapper.writer();
+        OutputStream out = new BufferedOutputStream(output, 64 * 1024);
+        long written = 0;
+
+        try (Stream<E> rows = source.get()) {
+            Iterator<E> iterator = rows.iterator();
+            List<E> chunk = new ArrayList<>(Constants.EXPORT_CHUNK_SIZE);
+
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == Constants.EXPORT_CHUNK_SIZE || !iterator.hasNext()) {
+                    for (D dto : chunkMapper.apply(chunk)) {
+                        out.write(writer.writeValueAsBytes(dto));
+                        out.write(LINE_SEPARATOR);
+                    }
+                    written += chunk.size();
+                    out.flush();
+
+                    // Отпускаем уже выгруженные сущности, чтобы контекст персистентности не рос
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+
+        out.flush();
+        log.info("Экспорт завершен, выгружено {} записей", written);
+        return written;
+    }
+}
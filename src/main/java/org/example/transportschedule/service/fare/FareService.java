@@ -0,0 +1,8 @@
+package org.example.transportschedule.service.fare;
+
+import org.example.transportschedule.model.dto.FareAdjustmentDTO;
+import org.example.transportschedule.model.dto.FareAdjustmentResultDTO;
+
+public interface FareService {
+    FareAdjustmentResultDTO adjustFares(FareAdjustmentDTO rule);
+}
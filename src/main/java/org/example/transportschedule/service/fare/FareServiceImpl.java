@@ -0,0 +1,162 @@
+package org.example.transportschedule.service.fare;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.constant.Constants;
+import org.example.transportschedule.model.dto.FareAdjustmentDTO;
+import org.example.transportschedule.model.dto.FareAdjustmentResultDTO;
+import org.example.transportschedule.model.entity.Bus;
+import org.example.transportschedule.model.entity.Train;
+import org.example.transportschedule.model.enums.TransportType;
+import org.example.transportschedule.repository.fare.FareRepository;
+import org.example.transportschedule.repository.outbox.OutboxRepository;
+import org.example.transportschedule.service.redis.RedisService;
+import org.example.transportschedule.service.stats.CorridorStatsService;
+import org.example.transportschedule.service.version.ScheduleVersionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Массовое изменение цен по правилу.
+ * Рейсы обновляются set-based запросом по диапазонам идентификаторов (одна транзакция на диапазон),
+ * без загрузки сущностей; в той же транзакции пишутся события outbox. Кеши рейсов очищаются точечно после
+ * фиксации каждого диапазона, а версия расписания (и с ней ключи страничных кешей) увеличивается один раз
+ * на вид транспорта после окончания правила, в том числе прерванного.
+ * <p>
+ * Зафиксированные диапазоны при сбое не откатываются, поэтому повтор того же правила изменил бы их цены второй раз.
+ * Сбой посреди правила не превращается в ошибку запроса: возвращается число уже измененных рейсов
+ * с признаком completed = false, по которому видно, что правило применено частично.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FareServiceImpl implements FareService {
+
+    private static final int CACHE_DELETE_BATCH_SIZE = 1000;
+
+    private final FareRepository fareRepository;
+    private final OutboxRepository outboxRepository;
+    private final RedisService redisService;
+    private final CorridorStatsService corridorStatsService;
+    private final ScheduleVersionService scheduleVersionService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${schedule.fares.chunk-size:5000}")
+    private int chunkSize;
+
+    /**
+     * Применение правила изменения цен.
+     *
+     * @param rule правило: фильтры рейсов и величина изменения
+     * @return количество измененных рейсов и статистика выполнения
+     */
+    @Override
+    public FareAdjustmentResultDTO adjustFares(FareAdjustmentDTO rule) {
+        log.info("Массовое изменение цен по правилу: {}", rule);
+        long startedAt = System.currentTimeMillis();
+
+        AdjustmentResult buses = new AdjustmentResult();
+        AdjustmentResult trains = new AdjustmentResult();
+        boolean completed = false;
+
+        try {
+            if (rule.type() == null || rule.type() == TransportType.BUS) {
+                adjust(Bus.class, TransportType.BUS, Constants.BUS_CACHE_KEY_PREFIX, rule, buses);
+            }
+            if (rule.type() == null || rule.type() == TransportType.TRAIN) {
+                adjust(Train.class, TransportType.TRAIN, Constants.TRAIN_CACHE_KEY_PREFIX, rule, trains);
+            }
+            completed = true;
+        } catch (RuntimeException e) {
+            log.error("Правило изменения цен прервано: изменено автобусов {}, поездов {}",
+                    buses.updated, trains.updated, e);
+        } finally {
+            finish(TransportType.BUS, buses);
+            finish(TransportType.TRAIN, trains);
+        }
+
+        long duration = System.currentTimeMillis() - startedAt;
+        log.info("Цены изменены: автобусов {}, поездов {}, за {} мс", buses.updated, trains.updated, duration);
+
+        return new FareAdjustmentResultDTO(buses.updated, trains.updated, buses.chunks + trains.chunks, duration,
+                completed);
+    }
+
+    /**
+     * Действия после правила по одному виду транспорта, если были изменены его рейсы.
+     */
+    private void finish(TransportType type, AdjustmentResult result) {
+        if (result.updated == 0) {
+            return;
+        }
+        scheduleVersionService.bump(type);
+        // Правило затрагивает множество направлений и дней, сводку дешевле пересчитать целиком
+        corridorStatsService.requestFullRefresh(type);
+    }
+
+    private <T> void adjust(Class<T> entity, TransportType type, String itemPrefix, FareAdjustmentDTO rule,
+                            AdjustmentResult result) {
+        Optional<long[]> range = transactionTemplate.execute(status -> fareRepository.findIdRange(entity, rule));
+        if (range == null || range.isEmpty()) {
+            return;
+        }
+
+        long minId = range.get()[0];
+        long maxId = range.get()[1];
+
+        for (long chunkStart = minId; chunkStart <= maxId; chunkStart += chunkSize) {
+            long fromId = chunkStart;
+            long toId = Math.min(chunkStart + chunkSize - 1, maxId);
+
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> changed = fareRepository.applyAdjustment(entity, rule, fromId, toId);
+                writeOutbox(entity, changed);
+                return changed;
+            });
+
+            if (ids != null && !ids.isEmpty()) {
+                invalidateCaches(ids, itemPrefix);
+                result.updated += ids.size();
+            }
+            result.chunks++;
+        }
+    }
+
+    /**
+     * События outbox для измененных рейсов пишутся в транзакции диапазона одним INSERT ... SELECT.
+     */
+    private <T> void writeOutbox(Class<T> entity, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (entity == Bus.class) {
+            outboxRepository.insertBusUpdates(ids);
+        } else {
+            outboxRepository.insertTrainUpdates(ids);
+        }
+    }
+
+    /**
+     * Очистка кешей по зафиксированному диапазону.
+     */
+    private void invalidateCaches(List<Long> ids, String itemPrefix) {
+        for (int i = 0; i < ids.size(); i += CACHE_DELETE_BATCH_SIZE) {
+            redisService.removeAll(ids.subList(i, Math.min(i + CACHE_DELETE_BATCH_SIZE, ids.size()))
+                    .stream()
+                    .map(id -> itemPrefix + id)
+                    .toList());
+        }
+    }
+
+    /**
+     * Накопитель результата по одному виду транспорта.
+     */
+    private static final class AdjustmentResult {
+        private long updated;
+        private int chunks;
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.transportschedule.service.history;
+
+import org.example.transportschedule.model.dto.BusDTO;
+import org.example.transportschedule.model.dto.TrainDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+
+public interface HistoryService {
+    Page<BusDTO> getBusHistory(String cityFrom, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    Page<TrainDTO> getTrainHistory(String cityFrom, LocalDateTime from, LocalDateTime to, Pageable pageable);
+}
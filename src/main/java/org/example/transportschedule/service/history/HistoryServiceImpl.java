@@ -0,0 +1,88 @@
+package org.example.transportschedule.service.history;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.mapper.bus.BusMapper;
+import org.example.transportschedule.mapper.train.TrainMapper;
+import org.example.transportschedule.model.dto.BusDTO;
+import org.example.transportschedule.model.dto.TrainDTO;
+import org.example.transportschedule.model.entity.BusHistory;
+import org.example.transportschedule.model.entity.TrainHistory;
+import org.example.transportschedule.repository.history.BusHistoryRepository;
+import org.example.transportschedule.repository.history.TrainHistoryRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Чтение архива расписания. Архив хранится отдельно от рабочих таблиц,
+ * поэтому запросы к нему не влияют на скорость запросов к актуальному расписанию.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HistoryServiceImpl implements HistoryService {
+
+    private final BusHistoryRepository busHistoryRepository;
+    private final TrainHistoryRepository trainHistoryRepository;
+    private final BusMapper busMapper;
+    private final TrainMapper trainMapper;
+
+    /**
+     * Получение архивных рейсов автобусов за период.
+     *
+     * @param cityFrom город отправления (необязательный)
+     * @param from     начало периода отправления
+     * @param to       конец периода отправления
+     * @param pageable параметры пагинации
+     * @return страница объектов BusDTO
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public Page<BusDTO> getBusHistory(String cityFrom, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        log.info("Запрос архива автобусов из '{}' за период {} - {}", cityFrom, from, to);
+
+        Page<BusHistory> buses = cityFrom == null
+                ? busHistoryRepository.findAllByDateOfDepartureBetween(from, to, pageable)
+                : busHistoryRepository.findAllByCityFromAndDateOfDepartureBetween(cityFrom, from, to, pageable);
+
+        return buses.map(busMapper::mapToBusDTO);
+    }
+
+    /**
+     * Получение архивных рейсов поездов за период.
+     * Остановки всей страницы загружаются одним запросом.
+     *
+     * @param cityFrom город отправления (необязательный)
+     * @param from     начало периода отправления
+     * @param to       конец периода отправления
+     * @param pageable параметры пагинации
+     * @return страница объектов TrainDTO
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public Page<TrainDTO> getTrainHistory(String cityFrom, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        log.info("Запрос архива поездов из '{}' за период {} - {}", cityFrom, from, to);
+
+        Page<TrainHistory> trains = cityFrom == null
+                ? trainHistoryRepository.findAllByDateOfDepartureBetween(from, to, pageable)
+                : trainHistoryRepository.findAllByCityFromAndDateOfDepartureBetween(cityFrom, from, to, pageable);
+
+        Map<Long, List<String>> stopsByTrain = new HashMap<>();
+        if (trains.hasContent()) {
+            List<Long> ids = trains.getContent().stream().map(TrainHistory::getId).toList();
+            for (Object[] row : trainHistoryRepository.findStopsByTrainIds(ids)) {
+                stopsByTrain.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+        }
+
+        return trains.map(train -> trainMapper.mapToTrainDTO(train, stopsByTrain.getOrDefault(train.getId(), List.of())));
+    }
+}
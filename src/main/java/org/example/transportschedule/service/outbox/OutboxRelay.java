@@ -0,0 +1,176 @@
+package org.example.transportschedule.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.constant.Constants;
+import org.example.transportschedule.model.entity.OutboxEvent;
+import org.example.transportschedule.repository.outbox.OutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ретранслятор outbox: публикует зафиксированные события в Redis Stream и канал pub/sub.
+ * Одновременно работает только один узел (advisory-блокировка на время транзакции).
+ * Смещения назначаются по возрастанию id и фиксируются отдельной транзакцией до публикации,
+ * после чего события публикуются с этими же смещениями в качестве ID записей потока, поэтому потребитель
+ * потока может продолжить чтение с последнего обработанного смещения (XREAD).
+ * Опубликованное смещение отмечается в schedule_outbox_state; если отметка не зафиксировалась,
+ * события публикуются повторно с теми же смещениями: записи, уже имеющиеся в потоке, пропускаются,
+ * повторы в pub/sub SSE-рассылка отбрасывает по смещению, а индекс маршрутов применяет без последствий.
+ * Поток усекается по той же границе, что и таблица outbox, поэтому история в потоке и в /api/changes совпадает.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    // Ключ advisory-блокировки ретранслятора
+    private static final long RELAY_LOCK_KEY = 7_310_001L;
+
+    private static final String EVENT_FIELD = "event";
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxService outboxService;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${schedule.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${schedule.outbox.retention-days:7}")
+    private int retentionDays;
+
+    @Scheduled(fixedDelayString = "${schedule.outbox.relay-interval-ms:500}")
+    public void publishPending() {
+        transactionTemplate.executeWithoutResult(status -> assignOffsets());
+        transactionTemplate.executeWithoutResult(status -> streamAssigned());
+    }
+
+    /**
+     * Удаление опубликованных событий старше срока хранения и усечение потока по той же границе.
+     */
+    @Scheduled(cron = "${schedule.outbox.cleanup-cron:0 15 4 * * *}")
+    public void cleanup() {
+        Long purgedThroughOffset = transactionTemplate.execute(status -> purgeExpired());
+        if (purgedThroughOffset == null) {
+            return;
+        }
+
+        try {
+            Object trimmed = stringRedisTemplate.execute((RedisCallback<Object>) connection -> connection.execute(
+                    "XTRIM",
+                    Constants.SCHEDULE_CHANGES_STREAM_KEY.getBytes(StandardCharsets.UTF_8),
+                    "MINID".getBytes(StandardCharsets.UTF_8),
+                    RecordId.of(purgedThroughOffset + 1, 0).getValue().getBytes(StandardCharsets.UTF_8)));
+            log.info("Из потока изменений удалено {} записей до смещения {}", trimmed, purgedThroughOffset);
+        } catch (Exception e) {
+            // Поток будет усечен по той же границе при следующей очистке
+            log.warn("Не удалось усечь поток изменений до смещения {}: {}", purgedThroughOffset, e.getMessage());
+        }
+    }
+
+    private void assignOffsets() {
+        if (!outboxRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+            return;
+        }
+
+        List<Long> ids = outboxRepository.findUnpublishedIds(batchSize);
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<OutboxEvent> events = outboxRepository.findByIdInOrderById(ids);
+        Iterator<Long> offsets = outboxRepository.nextOffsets(events.size()).stream().sorted().iterator();
+        LocalDateTime publishedAt = LocalDateTime.now();
+
+        for (OutboxEvent event : events) {
+            event.setEventOffset(offsets.next());
+            event.setPublishedAt(publishedAt);
+        }
+    }
+
+    private void streamAssigned() {
+        if (!outboxRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+            return;
+        }
+
+        long streamedThroughOffset = outboxRepository.findStreamedThroughOffset();
+        List<OutboxEvent> events = outboxRepository
+                .findByEventOffsetGreaterThanOrderByEventOffset(streamedThroughOffset, Limit.of(batchSize));
+        if (events.isEmpty()) {
+            return;
+        }
+
+        long streamTopOffset = streamTopOffset();
+        for (OutboxEvent event : events) {
+            publish(event, event.getEventOffset() > streamTopOffset);
+        }
+
+        long lastOffset = events.get(events.size() - 1).getEventOffset();
+        outboxRepository.markStreamedThrough(lastOffset);
+        log.debug("Опубликовано {} событий изменения расписания, последнее смещение {}", events.size(), lastOffset);
+    }
+
+    private Long purgeExpired() {
+        if (!outboxRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+            return null;
+        }
+
+        Long expiredThroughOffset = outboxRepository
+                .findLastOffsetPublishedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (expiredThroughOffset == null) {
+            return null;
+        }
+
+        // Неопубликованные в Redis события не удаляются, даже если смещение им назначено давно
+        long purgedThroughOffset = Math.min(expiredThroughOffset, outboxRepository.findStreamedThroughOffset());
+        int deleted = outboxRepository.deleteThroughOffset(purgedThroughOffset);
+        outboxRepository.markPurgedThrough(purgedThroughOffset);
+        log.info("Очистка outbox: удалено {} событий до смещения {}", deleted, purgedThroughOffset);
+        return purgedThroughOffset;
+    }
+
+    /**
+     * Смещение последней записи потока (0, если поток пуст или удален).
+     */
+    private long streamTopOffset() {
+        List<MapRecord<String, Object, Object>> top = stringRedisTemplate.opsForStream().reverseRange(
+                Constants.SCHEDULE_CHANGES_STREAM_KEY, Range.unbounded(),
+                org.springframework.data.redis.connection.Limit.limit().count(1));
+        return top == null || top.isEmpty() ? 0 : top.get(0).getId().getTimestamp();
+    }
+
+    private void publish(OutboxEvent event, boolean addToStream) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(outboxService.toChangeDTO(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать событие outbox " + event.getId(), e);
+        }
+
+        if (addToStream) {
+            stringRedisTemplate.opsForStream().add(StreamRecords.string(Map.of(EVENT_FIELD, payload))
+                    .withStreamKey(Constants.SCHEDULE_CHANGES_STREAM_KEY)
+                    .withId(RecordId.of(event.getEventOffset(), 0)));
+        }
+        stringRedisTemplate.convertAndSend(Constants.SCHEDULE_CHANGES_CHANNEL, payload);
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.transportschedule.service.outbox;
+
+import org.example.transportschedule.model.dto.ScheduleChangeDTO;
+import org.example.transportschedule.model.dto.ScheduleChangesDTO;
+import org.example.transportschedule.model.entity.OutboxEvent;
+
+public interface OutboxService {
+    ScheduleChangesDTO getChanges(long afterOffset, int limit);
+    long lastPublishedOffset();
+    ScheduleChangeDTO toChangeDTO(OutboxEvent event);
+}
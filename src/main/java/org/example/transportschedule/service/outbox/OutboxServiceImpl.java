@@ -0,0 +1,104 @@
+package org.example.transportschedule.service.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.constant.Constants;
+import org.example.transportschedule.exception.ChangesExpiredException;
+import org.example.transportschedule.model.dto.ScheduleChangeDTO;
+import org.example.transportschedule.model.dto.ScheduleChangesDTO;
+import org.example.transportschedule.model.entity.OutboxEvent;
+import org.example.transportschedule.model.event.ScheduleChangedEvent;
+import org.example.transportschedule.repository.outbox.OutboxRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Транзакционный outbox изменений расписания.
+ * Событие записывается в таблицу schedule_outbox перед фиксацией той же транзакции,
+ * в которой изменен рейс, поэтому изменение и событие либо фиксируются вместе, либо не фиксируются вовсе.
+ * Опубликованные события доступны потребителям порциями после заданного смещения.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxRepository outboxRepository;
+
+    /**
+     * Запись события в outbox в транзакции изменения рейса.
+     *
+     * @param event событие изменения рейса
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setTransportType(event.type());
+        outboxEvent.setEntityId(event.id());
+        outboxEvent.setChangeType(event.changeType());
+        outboxEvent.setBefore(event.before());
+        outboxEvent.setAfter(event.after());
+        outboxEvent.setCreatedAt(LocalDateTime.now());
+        outboxRepository.save(outboxEvent);
+    }
+
+    /**
+     * Получение опубликованных изменений после смещения.
+     *
+     * @param afterOffset последнее обработанное потребителем смещение (0 — с начала хранимой истории)
+     * @param limit       максимальное количество изменений
+     * @return изменения в порядке смещений и смещение для следующего запроса
+     * @throws ChangesExpiredException если часть изменений после смещения уже удалена по сроку хранения
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ScheduleChangesDTO getChanges(long afterOffset, int limit) {
+        if (limit < 1 || limit > Constants.SCHEDULE_CHANGES_MAX_LIMIT) {
+            throw new IllegalArgumentException("Параметр limit должен быть от 1 до " + Constants.SCHEDULE_CHANGES_MAX_LIMIT);
+        }
+
+        // Потребитель, отставший больше срока хранения, иначе молча пропустил бы удаленные изменения
+        long purgedThroughOffset = outboxRepository.findPurgedThroughOffset();
+        if (afterOffset > 0 && afterOffset < purgedThroughOffset) {
+            throw new ChangesExpiredException(afterOffset, purgedThroughOffset);
+        }
+
+        List<ScheduleChangeDTO> changes = outboxRepository
+                .findByEventOffsetGreaterThanOrderByEventOffset(afterOffset, Limit.of(limit)).stream()
+                .map(this::toChangeDTO)
+                .toList();
+
+        long nextOffset = changes.isEmpty() ? afterOffset : changes.get(changes.size() - 1).offset();
+        log.debug("Выдано {} изменений после смещения {}", changes.size(), afterOffset);
+        return new ScheduleChangesDTO(changes, nextOffset);
+    }
+
+    /**
+     * Смещение последнего изменения, опубликованного в Redis: более поздние изменения подписчики
+     * получат из канала pub/sub.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public long lastPublishedOffset() {
+        return outboxRepository.findStreamedThroughOffset();
+    }
+
+    @Override
+    public ScheduleChangeDTO toChangeDTO(OutboxEvent event) {
+        return new ScheduleChangeDTO(
+                event.getEventOffset(),
+                event.getId(),
+                event.getTransportType(),
+                event.getEntityId(),
+                event.getChangeType(),
+                event.getBefore(),
+                event.getAfter(),
+                event.getCreatedAt());
+    }
+}
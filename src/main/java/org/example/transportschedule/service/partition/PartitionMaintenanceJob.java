@@ -0,0 +1,67 @@
+package org.example.transportschedule.service.partition;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Фоновая задача, заранее создающая месячные секции таблиц расписания.
+ * Секции создаются на заданное количество месяцев вперед, чтобы новые рейсы
+ * не попадали в секцию по умолчанию. Рейсы, уже попавшие в нее, переносятся в секцию своего месяца
+ * при ее создании (см. create_monthly_partitions в V8).
+ * <p>
+ * Отсечение секций работает только для запросов с условием на date_of_departure: перенос в архив,
+ * массовое изменение тарифов и пересчет статистики по направлениям. Оперативные чтения
+ * (по id, постраничный список, поиск по городам, отложенная запись) условия по дате не имеют
+ * и просматривают все секции по индексам каждой секции (V3); секции прошедших месяцев после переноса
+ * рейсов в архив пусты и обходятся дешево.
+ */
+@Slf4j
+@Component
+public class PartitionMaintenanceJob {
+
+    private static final List<String> PARTITIONED_TABLES = List.of("buses", "trains");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${schedule.partitions.months-ahead:12}")
+    private int monthsAhead;
+
+    /**
+     * Создает недостающие секции при старте приложения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void onStartup() {
+        createPartitions();
+    }
+
+    /**
+     * Ежедневно продлевает набор секций вперед.
+     */
+    @Scheduled(cron = "${schedule.partitions.cron:0 0 3 * * *}")
+    @Transactional
+    public void createPartitions() {
+        LocalDate from = LocalDate.now().withDayOfMonth(1);
+        LocalDate to = from.plusMonths(monthsAhead);
+
+        for (String table : PARTITIONED_TABLES) {
+            log.info("Создание секций таблицы {} с {} по {}", table, from, to);
+            entityManager.createNativeQuery("select create_monthly_partitions(:table, :from, :to)")
+                    .setParameter("table", table)
+                    .setParameter("from", from)
+                    .setParameter("to", to)
+                    .getSingleResult();
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package org.example.transportschedule.service.redis;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface RedisService {
     void addToRedis(String key, Object value, Long time);
     void removeFromRedis(String key);
+    void removeAll(Collection<String> keys);
     void clearPageable(String key);
     <T> T getFromRedis(String key, Class<T> clazz);
     <T> List<T> getAll(String key, Class<T> clazz);
+    String getVersion(String key, Long time);
+    void incrementVersion(String key, Long time);
 }
@@ -3,8 +3,11 @@ package org.example.transportschedule.service.redis;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -17,7 +20,22 @@ import java.util.concurrent.TimeUnit;
 @Service
 @RequiredArgsConstructor
 public class RedisServiceImpl implements RedisService {
+
+    /**
+     * Увеличение версии; отсутствующая версия сначала получает начальное значение (ARGV[1])
+     * и время жизни (ARGV[2], секунды). INCR время жизни не меняет.
+     */
+    private static final RedisScript<Long> INCREMENT_VERSION = RedisScript.of("""
+            if redis.call('exists', KEYS[1]) == 0 then
+                redis.call('set', KEYS[1], ARGV[1], 'EX', ARGV[2])
+            elseif redis.call('ttl', KEYS[1]) == -1 then
+                redis.call('expire', KEYS[1], ARGV[2])
+            end
+            return redis.call('incr', KEYS[1])
+            """, Long.class);
+
     private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
     private final ObjectMapper objectMapper;
 
     /**
@@ -42,6 +60,18 @@ public class RedisServiceImpl implements RedisService {
         redisTemplate.delete(key);
     }
 
+    /**
+     * Удаляет из Redis данные по набору ключей одной командой.
+     *
+     * @param keys Ключи, по которым нужно удалить данные.
+     */
+    @Override
+    public void removeAll(Collection<String> keys) {
+        if (!keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+    }
+
     /**
      * Очищает все данные, связанные с Pageable, по указанному ключу.
      *
@@ -95,4 +125,42 @@ public class RedisServiceImpl implements RedisService {
                 .map(clazz::cast)
                 .toList();
     }
-}
\ No newline at end of file
+
+    /**
+     * Получает версию по указанному ключу. Если версии нет (ключ еще не создан, истек или Redis потерял данные),
+     * она создается с начальным значением.
+     *
+     * @param key  Ключ версии.
+     * @param time Время жизни версии в минутах, считая от ее создания.
+     * @return Текущая версия.
+     */
+    @Override
+    public String getVersion(String key, Long time) {
+        String version = stringRedisTemplate.opsForValue().get(key);
+        if (version != null) {
+            return version;
+        }
+        stringRedisTemplate.opsForValue().setIfAbsent(key, initialVersion(), time, TimeUnit.MINUTES);
+        return stringRedisTemplate.opsForValue().get(key);
+    }
+
+    /**
+     * Увеличивает версию по указанному ключу.
+     *
+     * @param key  Ключ версии.
+     * @param time Время жизни версии в минутах, если она создается этим вызовом.
+     */
+    @Override
+    public void incrementVersion(String key, Long time) {
+        stringRedisTemplate.execute(INCREMENT_VERSION, List.of(key), initialVersion(),
+                String.valueOf(TimeUnit.MINUTES.toSeconds(time)));
+    }
+
+    /**
+     * Начальное значение версии — текущее время в миллисекундах: после истечения или потери ключа в Redis
+     * нумерация продолжается с большего значения и не повторяет версии, уже выданные клиентам.
+     */
+    private static String initialVersion() {
+        return String.valueOf(System.currentTimeMillis());
+    }
+}
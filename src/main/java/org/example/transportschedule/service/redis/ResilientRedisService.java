@@ -0,0 +1,315 @@
+package org.example.transportschedule.service.redis;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.constant.Constants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Отказоустойчивая обертка над {@link RedisServiceImpl}, которую получают все сервисы.
+ * Обращения к Redis идут через выключатель (circuit breaker) и ограничитель одновременных вызовов (bulkhead):
+ * при ошибках, медленных ответах или перегрузке чтение считается промахом кеша и идет в БД,
+ * запись в кеш пропускается, а удаления из кеша откладываются и повторяются после восстановления Redis.
+ * Пока есть отложенные удаления, кеши расписания ({@link #SCHEDULE_CACHE_PREFIXES}) не читаются: в них могут
+ * лежать устаревшие данные. Прочие ключи (квитанции, версии) читаются как обычно.
+ * Так же откладываются увеличения версий; пока увеличение версии не выполнено, эта версия не выдается.
+ * <p>
+ * Отложенные операции хранятся в памяти узла и не сохраняются: другие узлы о них не знают и продолжают
+ * читать кеш, а при перезапуске узла они теряются (при остановке в журнал пишется, сколько их было).
+ * Устаревание в этих случаях ограничено временем жизни записей кеша и версий.
+ */
+@Slf4j
+@Primary
+@Service
+public class ResilientRedisService implements RedisService {
+
+    /**
+     * Префиксы кешей расписания: они не читаются, пока есть отложенные удаления, и очищаются целиком,
+     * если отложенных удалений накопилось больше предела.
+     */
+    private static final List<String> SCHEDULE_CACHE_PREFIXES = List.of(
+            Constants.BUS_CACHE_KEY_PREFIX,
+            Constants.BUSES_CACHE_KEY_PREFIX_WITH_PAGE,
+            Constants.TRAIN_CACHE_KEY_PREFIX,
+            Constants.TRAINS_CACHE_KEY_PREFIX_WITH_PAGE,
+            Constants.BUS_ROUTES_CACHE_KEY_PREFIX,
+            Constants.TRAIN_ROUTES_CACHE_KEY_PREFIX,
+            Constants.CORRIDOR_STATS_CACHE_KEY_PREFIX);
+
+    private final RedisServiceImpl delegate;
+    private final ObservationRegistry observationRegistry;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final int pendingInvalidationsLimit;
+
+    private final Set<String> pendingKeys = ConcurrentHashMap.newKeySet();
+    private final Set<String> pendingPrefixes = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> pendingVersions = new ConcurrentHashMap<>();
+    private final AtomicBoolean pendingOverflow = new AtomicBoolean();
+
+    public ResilientRedisService(RedisServiceImpl delegate,
+                                 ObservationRegistry observationRegistry,
+                                 @Value("${schedule.redis.failure-rate-threshold:50}") float failureRateThreshold,
+                                 @Value("${schedule.redis.slow-call-ms:100}") long slowCallMs,
+                                 @Value("${schedule.redis.open-state-ms:10000}") long openStateMs,
+                                 @Value("${schedule.redis.max-concurrent-calls:64}") int maxConcurrentCalls,
+                                 @Value("${schedule.redis.pending-invalidations-limit:10000}") int pendingInvalidationsLimit) {
+        this.delegate = delegate;
+        this.observationRegistry = observationRegistry;
+        this.pendingInvalidationsLimit = pendingInvalidationsLimit;
+
+        this.circuitBreaker = CircuitBreaker.of("redis", CircuitBreakerConfig.custom()
+                .slidingWindowSize(50)
+                .minimumNumberOfCalls(20)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallMs))
+                .waitDurationInOpenState(Duration.ofMillis(openStateMs))
+                .permittedNumberOfCallsInHalfOpenState(5)
+                .build());
+        this.circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("Redis: выключатель {}", event.getStateTransition()));
+
+        // Без ожидания: если Redis уже занят предельным числом вызовов, быстрее сходить в БД
+        this.bulkhead = Bulkhead.of("redis", BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+    }
+
+    @Override
+    public void addToRedis(String key, Object value, Long time) {
+        call("set", () -> {
+            delegate.addToRedis(key, value, time);
+            return null;
+        }, () -> null);
+    }
+
+    @Override
+    public void removeFromRedis(String key) {
+        call("delete", () -> {
+            delegate.removeFromRedis(key);
+            return null;
+        }, () -> {
+            deferKeys(List.of(key));
+            return null;
+        });
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        call("deleteAll", () -> {
+            delegate.removeAll(keys);
+            return null;
+        }, () -> {
+            deferKeys(keys);
+            return null;
+        });
+    }
+
+    @Override
+    public void clearPageable(String key) {
+        call("deleteByPrefix", () -> {
+            delegate.clearPageable(key);
+            return null;
+        }, () -> {
+            pendingPrefixes.add(key);
+            return null;
+        });
+    }
+
+    @Override
+    public <T> T getFromRedis(String key, Class<T> clazz) {
+        if (isScheduleCacheKey(key) && hasPendingInvalidations()) {
+            return null;
+        }
+        return call("get", () -> delegate.getFromRedis(key, clazz), () -> null);
+    }
+
+    @Override
+    public <T> List<T> getAll(String key, Class<T> clazz) {
+        if (isScheduleCacheKey(key) && hasPendingInvalidations()) {
+            return List.of();
+        }
+        return call("getAll", () -> delegate.getAll(key, clazz), List::of);
+    }
+
+    /**
+     * Версия данных для условных запросов. Если Redis недоступен или увеличение версии еще не выполнено,
+     * возвращается null: по устаревшей версии клиент получил бы 304 вместо измененных данных.
+     */
+    @Override
+    public String getVersion(String key, Long time) {
+        if (pendingVersions.containsKey(key)) {
+            return null;
+        }
+        return call("getVersion", () -> delegate.getVersion(key, time), () -> null);
+    }
+
+    @Override
+    public void incrementVersion(String key, Long time) {
+        call("incrementVersion", () -> {
+            delegate.incrementVersion(key, time);
+            return null;
+        }, () -> {
+            pendingVersions.put(key, time);
+            return null;
+        });
+    }
+
+    /**
+     * Повтор отложенных удалений. Выполняется, только когда выключатель пропускает вызовы;
+     * в полуоткрытом состоянии эти вызовы и служат пробными.
+     */
+    @Scheduled(fixedDelayString = "${schedule.redis.replay-interval-ms:1000}")
+    public void replayInvalidations() {
+        if (!hasPendingInvalidations()) {
+            return;
+        }
+
+        if (pendingOverflow.get()) {
+            pendingKeys.clear();
+            pendingPrefixes.addAll(SCHEDULE_CACHE_PREFIXES);
+        }
+
+        for (String prefix : List.copyOf(pendingPrefixes)) {
+            if (!call("deleteByPrefix", () -> {
+                delegate.clearPageable(prefix);
+                return true;
+            }, () -> false)) {
+                return;
+            }
+            pendingPrefixes.remove(prefix);
+        }
+
+        for (Map.Entry<String, Long> version : List.copyOf(pendingVersions.entrySet())) {
+            if (!call("incrementVersion", () -> {
+                delegate.incrementVersion(version.getKey(), version.getValue());
+                return true;
+            }, () -> false)) {
+                return;
+            }
+            pendingVersions.remove(version.getKey());
+        }
+
+        List<String> keys = List.copyOf(pendingKeys);
+        if (!keys.isEmpty()) {
+            if (!call("deleteAll", () -> {
+                delegate.removeAll(keys);
+                return true;
+            }, () -> false)) {
+                return;
+            }
+            keys.forEach(pendingKeys::remove);
+        }
+
+        // Удаления, отложенные уже во время повтора, будут повторены в следующий раз
+        if (pendingPrefixes.isEmpty() && pendingKeys.isEmpty() && pendingVersions.isEmpty()
+                && pendingOverflow.compareAndSet(true, false)) {
+            log.info("Redis: кеши расписания очищены после восстановления");
+        } else {
+            log.info("Redis: отложенные удаления из кеша повторены ({} ключей)", keys.size());
+        }
+    }
+
+    /**
+     * Предупреждение о потере отложенных операций при остановке узла.
+     */
+    @PreDestroy
+    public void reportPendingOnShutdown() {
+        if (hasPendingInvalidations()) {
+            log.warn("Redis: при остановке потеряны отложенные операции: {} ключей, {} префиксов, {} версий{}",
+                    pendingKeys.size(), pendingPrefixes.size(), pendingVersions.size(),
+                    pendingOverflow.get() ? ", полная очистка кешей" : "");
+        }
+    }
+
+    private static boolean isScheduleCacheKey(String key) {
+        return SCHEDULE_CACHE_PREFIXES.stream().anyMatch(key::startsWith);
+    }
+
+    private boolean hasPendingInvalidations() {
+        return pendingOverflow.get() || !pendingPrefixes.isEmpty() || !pendingKeys.isEmpty()
+                || !pendingVersions.isEmpty();
+    }
+
+    private void deferKeys(Collection<String> keys) {
+        if (pendingOverflow.get()) {
+            return;
+        }
+        pendingKeys.addAll(keys);
+        if (pendingKeys.size() > pendingInvalidationsLimit && pendingOverflow.compareAndSet(false, true)) {
+            log.warn("Redis: отложенных удалений больше {}, после восстановления кеши будут очищены целиком",
+                    pendingInvalidationsLimit);
+            pendingKeys.clear();
+        }
+    }
+
+    /**
+     * Вызов Redis под защитой выключателя и ограничителя.
+     * Ошибки доступа к Redis (таймауты, обрывы соединения) учитываются выключателем и заменяются fallback;
+     * прочие исключения пробрасываются как есть. Каждый вызов — отдельный span с результатом (outcome).
+     */
+    private <T> T call(String operation, Supplier<T> command, Supplier<T> fallback) {
+        Observation observation = Observation.createNotStarted("redis.operation", observationRegistry)
+                .contextualName("redis " + operation)
+                .lowCardinalityKeyValue("operation", operation)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                observation.lowCardinalityKeyValue("outcome", "circuit_open");
+                return fallback.get();
+            }
+            if (!bulkhead.tryAcquirePermission()) {
+                circuitBreaker.releasePermission();
+                observation.lowCardinalityKeyValue("outcome", "bulkhead_full");
+                log.debug("Redis: достигнут предел одновременных вызовов");
+                return fallback.get();
+            }
+
+            long start = System.nanoTime();
+            try {
+                T result = command.get();
+                circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                observation.lowCardinalityKeyValue("outcome", "success");
+                return result;
+            } catch (DataAccessException e) {
+                circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                observation.lowCardinalityKeyValue("outcome", "error").error(e);
+                log.debug("Redis: ошибка вызова, используется обходной путь: {}", e.getMessage());
+                return fallback.get();
+            } catch (RuntimeException e) {
+                circuitBreaker.releasePermission();
+                observation.error(e);
+                throw e;
+            } finally {
+                bulkhead.onComplete();
+            }
+        } finally {
+            observation.stop();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.example.transportschedule.service.route;
+
+import org.example.transportschedule.model.dto.RouteDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Индекс смежности маршрутов: для каждого города хранит направления (город назначения),
+ * количество рейсов и времена отправлений. Рейс учитывается и в городе отправления,
+ * и во всех промежуточных остановках. Потокобезопасен; изменения применяются инкрементально.
+ * <p>
+ * Рейсы хранятся по id, и изменение задает итоговое состояние рейса, а не разницу: повторное применение
+ * одного и того же изменения ничего не меняет. Поэтому индекс можно догонять изменениями, часть которых
+ * уже учтена в данных, по которым он построен, и повторами из канала изменений.
+ */
+public class RouteIndex {
+
+    private final ConcurrentMap<String, CityRoutes> routesByCity = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Trip> trips = new ConcurrentHashMap<>();
+
+    /**
+     * Задает текущее состояние рейса: прежний вариант рейса с тем же id убирается из индекса.
+     */
+    public void put(long id, String cityFrom, String cityTo, List<String> stopList, LocalDateTime departure) {
+        Trip trip = new Trip(cityFrom, cityTo, stopList == null ? List.of() : List.copyOf(stopList), departure);
+        trips.compute(id, (tripId, previous) -> {
+            if (previous != null) {
+                unindex(previous);
+            }
+            index(trip);
+            return trip;
+        });
+    }
+
+    /**
+     * Убирает рейс из индекса; неизвестный id пропускается.
+     */
+    public void remove(long id) {
+        trips.computeIfPresent(id, (tripId, previous) -> {
+            unindex(previous);
+            return null;
+        });
+    }
+
+    /**
+     * Маршруты из указанного города с количеством рейсов и ближайшим отправлением.
+     *
+     * @param city город
+     * @param now  момент, относительно которого ищется ближайшее отправление
+     * @return маршруты, отсортированные по городу назначения
+     */
+    public List<RouteDTO> routesFrom(String city, LocalDateTime now) {
+        CityRoutes routes = routesByCity.get(city);
+        return routes == null ? List.of() : routes.snapshot(city, now);
+    }
+
+    /**
+     * Все города, из которых есть хотя бы один маршрут.
+     */
+    public Set<String> cities() {
+        return Set.copyOf(routesByCity.keySet());
+    }
+
+    private void index(Trip trip) {
+        for (String origin : origins(trip.cityFrom(), trip.cityTo(), trip.stopList())) {
+            routesByCity.computeIfAbsent(origin, city -> new CityRoutes()).add(trip.cityTo(), trip.departure());
+        }
+    }
+
+    private void unindex(Trip trip) {
+        for (String origin : origins(trip.cityFrom(), trip.cityTo(), trip.stopList())) {
+            CityRoutes routes = routesByCity.get(origin);
+            if (routes != null) {
+                routes.remove(trip.cityTo(), trip.departure());
+            }
+        }
+    }
+
+    /**
+     * Города отправления, затрагиваемые рейсом.
+     */
+    private static Set<String> origins(String cityFrom, String cityTo, List<String> stopList) {
+        Set<String> origins = new LinkedHashSet<>();
+        origins.add(cityFrom);
+        if (stopList != null) {
+            origins.addAll(stopList);
+        }
+        origins.remove(cityTo);
+        return origins;
+    }
+
+    /**
+     * Учтенное в индексе состояние рейса.
+     */
+    private record Trip(String cityFrom, String cityTo, List<String> stopList, LocalDateTime departure) {
+    }
+
+    /**
+     * Направления одного города. Изменения и чтение синхронизированы на уровне города,
+     * внутри нет блокирующих операций. Используется ReentrantLock, а не synchronized:
+     * виртуальный поток, ожидающий блокировку, освобождает поток-носитель.
+     */
+    private static final class CityRoutes {
+
+        private final Map<String, Edge> edges = new HashMap<>();
+        private final ReentrantLock lock = new ReentrantLock();
+
+        void add(String cityTo, LocalDateTime departure) {
+            lock.lock();
+            try {
+                edges.computeIfAbsent(cityTo, city -> new Edge()).add(departure);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(String cityTo, LocalDateTime departure) {
+            lock.lock();
+            try {
+                Edge edge = edges.get(cityTo);
+                if (edge != null && edge.remove(departure) == 0) {
+                    edges.remove(cityTo);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        List<RouteDTO> snapshot(String cityFrom, LocalDateTime now) {
+            List<RouteDTO> routes;
+            lock.lock();
+            try {
+                routes = new ArrayList<>(edges.size());
+                edges.forEach((cityTo, edge) ->
+                        routes.add(new RouteDTO(cityFrom, cityTo, edge.count, edge.departures.ceilingKey(now))));
+            } finally {
+                lock.unlock();
+            }
+            routes.sort(Comparator.comparing(RouteDTO::cityTo));
+            return routes;
+        }
+    }
+
+    /**
+     * Направление: количество рейсов и мультимножество времен отправления.
+     */
+    private static final class Edge {
+
+        private final TreeMap<LocalDateTime, Integer> departures = new TreeMap<>();
+        private int count;
+
+        void add(LocalDateTime departure) {
+            departures.merge(departure, 1, Integer::sum);
+            count++;
+        }
+
+        int remove(LocalDateTime departure) {
+            Integer trips = departures.get(departure);
+            if (trips != null) {
+                if (trips > 1) {
+                    departures.put(departure, trips - 1);
+                } else {
+                    departures.remove(departure);
+                }
+                count--;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.transportschedule.service.route;
+
+import org.example.transportschedule.model.dto.RouteDTO;
+import org.example.transportschedule.model.enums.TransportType;
+
+import java.util.List;
+
+public interface RouteService {
+    List<RouteDTO> getRoutesFromCity(TransportType type, String city);
+
+    void rebuild();
+
+    void onScheduleChange(String payload);
+}
@@ -0,0 +1,226 @@
+package org.example.transportschedule.service.route;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.constant.Constants;
+import org.example.transportschedule.model.dto.RouteDTO;
+import org.example.transportschedule.model.dto.ScheduleChangeDTO;
+import org.example.transportschedule.model.enums.TransportType;
+import org.example.transportschedule.model.event.TripSnapshot;
+import org.example.transportschedule.repository.bus.BusRepository;
+import org.example.transportschedule.repository.train.TrainRepository;
+import org.example.transportschedule.service.redis.RedisService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Сервис маршрутов, обслуживающий запросы из памяти без обращения к БД.
+ * Индекс строится при старте и периодически перестраивается, а между перестроениями обновляется
+ * инкрементально по изменениям расписания из канала Redis, в который их публикует ретранслятор outbox.
+ * Изменения приходят на все узлы, включая узел, выполнивший запись, поэтому индексы узлов расходятся
+ * не дольше задержки ретранслятора. Потерянное сообщение pub/sub исправляется следующим перестроением.
+ * <p>
+ * Изменения, пришедшие во время перестроения, применяются и к текущему индексу, и запоминаются,
+ * а после подмены повторяются на новом: курсор перестроения мог прочитать рейс до такого изменения.
+ * Повтор безопасен, так как индекс хранит итоговое состояние каждого рейса (см. {@link RouteIndex}).
+ * Снимки маршрутов по городам сохраняются в Redis после каждого перестроения и используются,
+ * пока индекс на узле не построен.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RouteServiceImpl implements RouteService {
+
+    private static final int STOP_BATCH_SIZE = 500;
+
+    private final BusRepository busRepository;
+    private final TrainRepository trainRepository;
+    private final RedisService redisService;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    // Защищает подмену индекса и список изменений, пришедших во время перестроения
+    private final ReentrantLock changesLock = new ReentrantLock();
+    private List<ScheduleChangeDTO> changesDuringRebuild;
+
+    private volatile Map<TransportType, RouteIndex> indexes;
+
+    /**
+     * Получение маршрутов из города: направления, количество рейсов и ближайшее отправление.
+     *
+     * @param type вид транспорта
+     * @param city город отправления или промежуточной остановки
+     * @return список маршрутов
+     */
+    @Override
+    public List<RouteDTO> getRoutesFromCity(TransportType type, String city) {
+        Map<TransportType, RouteIndex> current = indexes;
+        if (current == null) {
+            log.info("Индекс маршрутов еще не построен, используем снимок из Redis для города {}", city);
+            RouteDTO[] cached = redisService.getFromRedis(cacheKey(type, city), RouteDTO[].class);
+            return cached == null ? List.of() : List.of(cached);
+        }
+        return current.get(type).routesFrom(city, LocalDateTime.now());
+    }
+
+    /**
+     * Полное перестроение индекса по рабочим таблицам.
+     * Читаются только нужные поля через курсор в read-only транзакции, сущности не создаются.
+     * Снимки в Redis записываются уже после завершения транзакции.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${schedule.routes.rebuild-interval-ms:600000}",
+            initialDelayString = "${schedule.routes.rebuild-interval-ms:600000}")
+    @Override
+    public void rebuild() {
+        log.info("Построение индекса маршрутов");
+
+        changesLock.lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            changesLock.unlock();
+        }
+
+        Map<TransportType, RouteIndex> rebuilt;
+        try {
+            rebuilt = buildIndexes();
+        } catch (RuntimeException e) {
+            changesLock.lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                changesLock.unlock();
+            }
+            throw e;
+        }
+
+        int replayed;
+        changesLock.lock();
+        try {
+            replayed = changesDuringRebuild.size();
+            changesDuringRebuild.forEach(change -> apply(rebuilt, change));
+            changesDuringRebuild = null;
+            indexes = rebuilt;
+        } finally {
+            changesLock.unlock();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        rebuilt.forEach((type, index) -> index.cities()
+                .forEach(city -> saveSnapshot(type, city, index.routesFrom(city, now))));
+
+        log.info("Индекс маршрутов построен: городов автобусов {}, городов поездов {}, повторено изменений {}",
+                rebuilt.get(TransportType.BUS).cities().size(), rebuilt.get(TransportType.TRAIN).cities().size(),
+                replayed);
+    }
+
+    /**
+     * Изменение расписания из канала Redis (сообщение ретранслятора outbox в формате ScheduleChangeDTO).
+     * Сообщения одного канала обрабатываются последовательно, в порядке публикации.
+     *
+     * @param payload JSON изменения
+     */
+    @Override
+    public void onScheduleChange(String payload) {
+        ScheduleChangeDTO change;
+        try {
+            change = objectMapper.readValue(payload, ScheduleChangeDTO.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Некорректное событие изменения расписания: {}", e.getMessage());
+            return;
+        }
+
+        changesLock.lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+            Map<TransportType, RouteIndex> current = indexes;
+            if (current != null) {
+                apply(current, change);
+            }
+        } finally {
+            changesLock.unlock();
+        }
+    }
+
+    private Map<TransportType, RouteIndex> buildIndexes() {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        return readOnlyTransaction.execute(status -> readIndexes());
+    }
+
+    private Map<TransportType, RouteIndex> readIndexes() {
+        RouteIndex busIndex = new RouteIndex();
+        try (Stream<Object[]> rows = busRepository.streamRouteRows()) {
+            rows.forEach(row -> busIndex.put((Long) row[0], (String) row[1], (String) row[2], List.of(),
+                    (LocalDateTime) row[3]));
+        }
+
+        RouteIndex trainIndex = new RouteIndex();
+        try (Stream<Object[]> rows = trainRepository.streamRouteRows()) {
+            Iterator<Object[]> iterator = rows.iterator();
+            List<Object[]> chunk = new ArrayList<>(STOP_BATCH_SIZE);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == STOP_BATCH_SIZE || !iterator.hasNext()) {
+                    addTrains(trainIndex, chunk);
+                    chunk.clear();
+                }
+            }
+        }
+
+        Map<TransportType, RouteIndex> built = new EnumMap<>(TransportType.class);
+        built.put(TransportType.BUS, busIndex);
+        built.put(TransportType.TRAIN, trainIndex);
+        return built;
+    }
+
+    /**
+     * Задает в индексе состояние рейса после изменения: без состояния после (удаление) рейс убирается.
+     */
+    private static void apply(Map<TransportType, RouteIndex> target, ScheduleChangeDTO change) {
+        RouteIndex index = target.get(change.type());
+        TripSnapshot after = change.after();
+        if (after == null) {
+            index.remove(change.id());
+        } else {
+            index.put(change.id(), after.cityFrom(), after.cityTo(), after.stopList(), after.dateOfDeparture());
+        }
+    }
+
+    private void addTrains(RouteIndex trainIndex, List<Object[]> rows) {
+        Map<Long, List<String>> stopsByTrain = trainRepository.findStopListsByTrainIds(
+                rows.stream().map(row -> (Long) row[0]).toList());
+        for (Object[] row : rows) {
+            trainIndex.put((Long) row[0], (String) row[1], (String) row[2],
+                    stopsByTrain.getOrDefault((Long) row[0], List.of()), (LocalDateTime) row[3]);
+        }
+    }
+
+    private void saveSnapshot(TransportType type, String city, List<RouteDTO> routes) {
+        redisService.addToRedis(cacheKey(type, city), routes, Constants.ROUTES_CACHE_TTL_MINUTES);
+    }
+
+    private String cacheKey(TransportType type, String city) {
+        return (type == TransportType.BUS
+                ? Constants.BUS_ROUTES_CACHE_KEY_PREFIX
+                : Constants.TRAIN_ROUTES_CACHE_KEY_PREFIX) + city;
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.transportschedule.service.sse;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Одно SSE-соединение с собственной ограниченной очередью исходящих событий.
+ * Публикация только кладет готовый кадр в очередь; запись выполняет пул потоков, не более
+ * одной задачи на соединение одновременно. Клиент, не успевающий читать, отключается
+ * при переполнении очереди и дочитывает пропущенное после переподключения по Last-Event-ID.
+ * Запись блокирующая и ограничена таймаутом записи Tomcat (server.tomcat.connection-timeout);
+ * за один заход задача записывает не больше {@link #DRAIN_BATCH} кадров и уступает поток остальным соединениям.
+ * Соединение, кадр которого записывался дольше порога, считается медленным и дальше пишется отдельным пулом:
+ * медленные клиенты занимают только его потоки и не задерживают запись остальным соединениям.
+ */
+@Slf4j
+class SseConnection {
+
+    // Кадров за один заход записи
+    private static final int DRAIN_BATCH = 32;
+
+    private final SseEmitter emitter;
+    private final Set<String> topics;
+    private final BlockingQueue<Set<DataWithMediaType>> outbox;
+    private final Executor writer;
+    private final Executor slowWriter;
+    private final long slowWriteNanos;
+    private final Consumer<SseConnection> onClose;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean slow;
+
+    SseConnection(SseEmitter emitter, Set<String> topics, int queueCapacity, Executor writer, Executor slowWriter,
+                  long slowWriteMs, Consumer<SseConnection> onClose) {
+        this.emitter = emitter;
+        this.topics = topics;
+        this.outbox = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = writer;
+        this.slowWriter = slowWriter;
+        this.slowWriteNanos = TimeUnit.MILLISECONDS.toNanos(slowWriteMs);
+        this.onClose = onClose;
+    }
+
+    Set<String> topics() {
+        return topics;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * Постановка кадра в очередь соединения без блокировки публикующего потока.
+     */
+    void enqueue(Set<DataWithMediaType> frame) {
+        if (closed.get()) {
+            return;
+        }
+        if (!outbox.offer(frame)) {
+            log.debug("Очередь SSE-соединения переполнена, клиент отключается");
+            close(null);
+            return;
+        }
+        if (draining.compareAndSet(false, true)) {
+            schedule();
+        }
+    }
+
+    /**
+     * Замена всех ожидающих кадров одним: клиент, получивший reset, перезагружает данные целиком,
+     * поэтому недоставленные изменения ему не нужны, а сам reset не должен теряться из-за полной очереди.
+     */
+    void reset(Set<DataWithMediaType> frame) {
+        if (closed.get()) {
+            return;
+        }
+        do {
+            outbox.clear();
+        } while (!outbox.offer(frame));
+        if (draining.compareAndSet(false, true)) {
+            schedule();
+        }
+    }
+
+    boolean isSlow() {
+        return slow;
+    }
+
+    private void schedule() {
+        (slow ? slowWriter : writer).execute(this::drain);
+    }
+
+    private void drain() {
+        try {
+            Set<DataWithMediaType> frame;
+            int sent = 0;
+            boolean wasSlow = slow;
+            while (sent++ < DRAIN_BATCH && !closed.get() && (frame = outbox.poll()) != null) {
+                long startedAt = System.nanoTime();
+                emitter.send(frame);
+                if (!wasSlow && System.nanoTime() - startedAt > slowWriteNanos) {
+                    // Остаток очереди дописывается уже пулом медленных соединений
+                    log.debug("SSE-клиент читает медленно, запись переносится в отдельный пул");
+                    slow = true;
+                    break;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            close(e);
+            return;
+        } finally {
+            draining.set(false);
+        }
+        // Остались кадры после заполненной порции или кадр появился после выхода из цикла, но до сброса флага
+        if (!outbox.isEmpty() && !closed.get() && draining.compareAndSet(false, true)) {
+            schedule();
+        }
+    }
+
+    void close(Throwable error) {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        outbox.clear();
+        onClose.accept(this);
+        if (error == null) {
+            emitter.complete();
+        } else {
+            emitter.completeWithError(error);
+        }
+    }
+
+    /**
+     * Отметка соединения закрытым по инициативе контейнера (таймаут, обрыв), без повторного завершения.
+     */
+    void closed() {
+        if (closed.compareAndSet(false, true)) {
+            outbox.clear();
+            onClose.accept(this);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package org.example.transportschedule.service.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.exception.ChangesExpiredException;
+import org.example.transportschedule.exception.SubscriptionLimitExceededException;
+import org.example.transportschedule.model.dto.ScheduleChangeDTO;
+import org.example.transportschedule.model.dto.ScheduleChangesDTO;
+import org.example.transportschedule.model.event.TripSnapshot;
+import org.example.transportschedule.service.outbox.OutboxService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Рассылка изменений расписания по SSE-подпискам на города и маршруты.
+ * Источник — канал Redis pub/sub, в который ретранслятор outbox публикует изменения, поэтому
+ * клиенты любого узла получают изменения, сделанные на любом узле. Каждое событие сериализуется
+ * в SSE-кадр один раз и раскладывается по очередям подписанных соединений; запись в соединения
+ * выполняет небольшой пул потоков, простаивающие соединения потоков не занимают. Медленно читающие
+ * соединения пишутся отдельным пулом (см. {@link SseConnection}).
+ * Ретранслятор публикует изменения по возрастанию смещения и после сбоя может опубликовать их повторно,
+ * поэтому изменения со смещением не больше уже разосланного отбрасываются.
+ */
+@Slf4j
+@Component
+public class SseHub implements DisposableBean {
+
+    private static final String CHANGE_EVENT = "schedule-change";
+    private static final String RESET_EVENT = "reset";
+    private static final int REPLAY_PAGE_SIZE = 1000;
+
+    private final ObjectMapper objectMapper;
+    private final OutboxService outboxService;
+    private final ThreadPoolTaskExecutor writer;
+    private final ThreadPoolTaskExecutor slowWriter;
+
+    private final ConcurrentMap<String, Set<SseConnection>> subscribers = new ConcurrentHashMap<>();
+    private final Set<SseConnection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    // Смещение последнего разосланного изменения
+    private final AtomicLong lastOffset = new AtomicLong(-1);
+
+    private final Set<DataWithMediaType> heartbeatFrame = SseEmitter.event().comment("ping").build();
+
+    @Value("${schedule.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${schedule.sse.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${schedule.sse.max-connections:50000}")
+    private int maxConnections;
+
+    @Value("${schedule.sse.max-replay:5000}")
+    private int maxReplay;
+
+    @Value("${schedule.sse.slow-write-ms:200}")
+    private long slowWriteMs;
+
+    public SseHub(ObjectMapper objectMapper, OutboxService outboxService,
+                  @Value("${schedule.sse.writer-threads:4}") int writerThreads,
+                  @Value("${schedule.sse.slow-writer-threads:2}") int slowWriterThreads) {
+        this.objectMapper = objectMapper;
+        this.outboxService = outboxService;
+        this.writer = writerPool("sse-writer-", writerThreads);
+        this.slowWriter = writerPool("sse-slow-writer-", slowWriterThreads);
+    }
+
+    /**
+     * Открытие подписки на темы.
+     *
+     * @param topics      темы (см. {@link #cityTopic}, {@link #routeTopic})
+     * @param lastEventId смещение последнего полученного клиентом события; пропущенное досылается из outbox
+     * @return SSE-соединение
+     * @throws SubscriptionLimitExceededException если на узле достигнут предел соединений
+     */
+    public SseEmitter subscribe(Set<String> topics, Long lastEventId) {
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            throw new SubscriptionLimitExceededException(maxConnections);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        SseConnection connection = new SseConnection(emitter, Set.copyOf(topics), queueCapacity, writer, slowWriter,
+                slowWriteMs, this::remove);
+        emitter.onCompletion(connection::closed);
+        emitter.onTimeout(connection::closed);
+        emitter.onError(error -> connection.closed());
+
+        connections.add(connection);
+        // Добавление атомарно относительно удаления опустевшей темы в remove
+        topics.forEach(topic -> subscribers.compute(topic, (t, topicSubscribers) -> {
+            Set<SseConnection> updated = topicSubscribers == null ? ConcurrentHashMap.newKeySet() : topicSubscribers;
+            updated.add(connection);
+            return updated;
+        }));
+        log.debug("Открыта SSE-подписка на {}, соединений: {}", topics, connectionCount.get());
+
+        // Подписка регистрируется до досылки, поэтому событие может прийти дважды; клиент различает их по id
+        if (lastEventId != null) {
+            replay(connection, lastEventId);
+        }
+        return emitter;
+    }
+
+    /**
+     * Обработка изменения из канала Redis: кадр строится один раз и ставится в очереди подписчиков.
+     * Сообщения канала обрабатываются одним потоком в порядке публикации (см. SseConfig).
+     *
+     * @param payload JSON изменения (ScheduleChangeDTO), опубликованный ретранслятором outbox
+     */
+    public void onScheduleChange(String payload) {
+        ScheduleChangeDTO change;
+        try {
+            change = objectMapper.readValue(payload, ScheduleChangeDTO.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Некорректное событие изменения расписания: {}", e.getMessage());
+            return;
+        }
+        if (change.offset() <= lastOffset.get()) {
+            log.debug("Повтор изменения со смещением {} пропущен", change.offset());
+            return;
+        }
+        lastOffset.set(change.offset());
+
+        Set<SseConnection> targets = new HashSet<>();
+        for (String topic : topicsOf(change)) {
+            Set<SseConnection> topicSubscribers = subscribers.get(topic);
+            if (topicSubscribers != null) {
+                targets.addAll(topicSubscribers);
+            }
+        }
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        Set<DataWithMediaType> frame = changeFrame(change.offset(), payload);
+        targets.forEach(connection -> connection.enqueue(frame));
+    }
+
+    /**
+     * Периодический комментарий во все соединения: поддерживает соединение через прокси
+     * и выявляет отключившихся клиентов.
+     */
+    @Scheduled(fixedDelayString = "${schedule.sse.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        connections.forEach(connection -> connection.enqueue(heartbeatFrame));
+    }
+
+    public int connectionCount() {
+        return connectionCount.get();
+    }
+
+    public static String cityTopic(String city) {
+        return "city:" + city;
+    }
+
+    public static String routeTopic(String cityFrom, String cityTo) {
+        return "route:" + cityFrom + "|" + cityTo;
+    }
+
+    /**
+     * Досылка пропущенных изменений из outbox. Клиенту отправляется только событие reset (перезагрузить
+     * данные целиком), если пропущенное уже удалено по сроку хранения, просмотр outbox превышает max-replay
+     * или подходящих изменений больше половины очереди соединения: иначе досылка переполнит очередь,
+     * соединение закроется и клиент будет переподключаться с тем же Last-Event-ID по кругу.
+     */
+    private void replay(SseConnection connection, long lastEventId) {
+        int frameLimit = Math.max(1, queueCapacity / 2);
+        List<Set<DataWithMediaType>> frames = new ArrayList<>();
+        long offset = lastEventId;
+        int scanned = 0;
+        try {
+            while (true) {
+                ScheduleChangesDTO page = outboxService.getChanges(offset, REPLAY_PAGE_SIZE);
+                for (ScheduleChangeDTO change : page.changes()) {
+                    if (!Collections.disjoint(topicsOf(change), connection.topics())) {
+                        frames.add(changeFrame(change.offset(), serialize(change)));
+                    }
+                }
+                scanned += page.changes().size();
+                if (page.changes().size() < REPLAY_PAGE_SIZE) {
+                    break;
+                }
+                if (scanned >= maxReplay || frames.size() > frameLimit) {
+                    reset(connection);
+                    return;
+                }
+                offset = page.nextOffset();
+            }
+        } catch (ChangesExpiredException e) {
+            reset(connection);
+            return;
+        }
+
+        if (frames.size() > frameLimit) {
+            reset(connection);
+            return;
+        }
+        frames.forEach(connection::enqueue);
+    }
+
+    /**
+     * Событие reset несет смещение последнего опубликованного изменения: после перезагрузки данных
+     * клиент переподключится уже с ним, а не с прежним Last-Event-ID.
+     */
+    private void reset(SseConnection connection) {
+        connection.reset(SseEmitter.event()
+                .id(Long.toString(outboxService.lastPublishedOffset()))
+                .name(RESET_EVENT)
+                .data("{}", MediaType.APPLICATION_JSON)
+                .build());
+    }
+
+    private Set<DataWithMediaType> changeFrame(long offset, String payload) {
+        return SseEmitter.event()
+                .id(Long.toString(offset))
+                .name(CHANGE_EVENT)
+                .data(payload, MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    /**
+     * Темы, затрагиваемые изменением: города отправления, прибытия и остановок, а также маршрут,
+     * до и после изменения.
+     */
+    private Set<String> topicsOf(ScheduleChangeDTO change) {
+        Set<String> topics = new LinkedHashSet<>();
+        addTopics(topics, change.before());
+        addTopics(topics, change.after());
+        return topics;
+    }
+
+    private void addTopics(Set<String> topics, TripSnapshot trip) {
+        if (trip == null) {
+            return;
+        }
+        topics.add(cityTopic(trip.cityFrom()));
+        topics.add(cityTopic(trip.cityTo()));
+        if (trip.stopList() != null) {
+            trip.stopList().forEach(stop -> topics.add(cityTopic(stop)));
+        }
+        topics.add(routeTopic(trip.cityFrom(), trip.cityTo()));
+    }
+
+    private String serialize(ScheduleChangeDTO change) {
+        try {
+            return objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать изменение " + change.eventId(), e);
+        }
+    }
+
+    private static ThreadPoolTaskExecutor writerPool(String threadNamePrefix, int threads) {
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setThreadNamePrefix(threadNamePrefix);
+        pool.setCorePoolSize(threads);
+        pool.setMaxPoolSize(threads);
+        pool.initialize();
+        return pool;
+    }
+
+    private void remove(SseConnection connection) {
+        if (connections.remove(connection)) {
+            connectionCount.decrementAndGet();
+        }
+        connection.topics().forEach(topic -> subscribers.computeIfPresent(topic, (t, topicSubscribers) -> {
+            topicSubscribers.remove(connection);
+            return topicSubscribers.isEmpty() ? null : topicSubscribers;
+        }));
+    }
+
+    @Override
+    public void destroy() {
+        connections.forEach(connection -> connection.close(null));
+        writer.shutdown();
+        slowWriter.shutdown();
+    }
+}
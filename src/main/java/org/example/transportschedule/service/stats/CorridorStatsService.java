@@ -0,0 +1,15 @@
+package org.example.transportschedule.service.stats;
+
+import org.example.transportschedule.model.dto.CorridorStatsDTO;
+import org.example.transportschedule.model.enums.TransportType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface CorridorStatsService {
+    List<CorridorStatsDTO> getCorridorStats(TransportType type, String cityFrom, String cityTo,
+                                            LocalDate from, LocalDate to);
+    void requestFullRefresh(TransportType type);
+    void refreshDirty();
+    void refreshAll();
+}
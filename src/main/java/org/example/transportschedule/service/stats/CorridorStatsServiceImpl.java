@@ -0,0 +1,274 @@
+package org.example.transportschedule.service.stats;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.constant.Constants;
+import org.example.transportschedule.model.dto.CorridorStatsDTO;
+import org.example.transportschedule.model.entity.CorridorDailyStats;
+import org.example.transportschedule.model.entity.CorridorDailyStatsId;
+import org.example.transportschedule.model.enums.TransportType;
+import org.example.transportschedule.model.event.ScheduleChangedEvent;
+import org.example.transportschedule.model.event.TripSnapshot;
+import org.example.transportschedule.repository.stats.CorridorStatsRepository;
+import org.example.transportschedule.service.redis.RedisService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Сводка по направлениям за день, поддерживаемая инкрементально.
+ * После фиксации изменения рейса его направление и день помечаются «грязными»,
+ * фоновая задача пересчитывает только помеченные строки агрегатом в БД.
+ * Массовые изменения (например, цен) запрашивают полный пересчет вида транспорта,
+ * а ночной полный пересчет восстанавливает пометки, потерянные при перезапуске узла.
+ * <p>
+ * Пометки у каждого узла свои, и одну строку могут пересчитывать несколько узлов. Пересчет выполняется
+ * под advisory-блокировкой: узлы пересчитывают строки по очереди, и удаление со вставкой одной строки
+ * не конфликтуют по первичному ключу. Ночной пересчет выполняет один узел: остальные, не получив
+ * отдельную блокировку ночного пересчета, его пропускают.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CorridorStatsServiceImpl implements CorridorStatsService {
+
+    private static final int REFRESH_BATCH_SIZE = 200;
+
+    // Ключ advisory-блокировки пересчета сводки
+    private static final long STATS_LOCK_KEY = 7_310_003L;
+
+    // Ключ advisory-блокировки ночного полного пересчета
+    private static final long NIGHTLY_REFRESH_LOCK_KEY = 7_310_004L;
+
+    // Верхняя граница периода при полном пересчете
+    private static final LocalDateTime FAR_FUTURE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final CorridorStatsRepository corridorStatsRepository;
+    private final RedisService redisService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<CorridorDailyStatsId> dirtyKeys = ConcurrentHashMap.newKeySet();
+    private final Set<TransportType> fullRefreshTypes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Получение сводки по направлениям за период.
+     *
+     * @param type     вид транспорта (необязательный)
+     * @param cityFrom город отправления (необязательный)
+     * @param cityTo   город прибытия (необязательный)
+     * @param from     первый день периода
+     * @param to       последний день периода
+     * @return строки сводки, отсортированные по дню и направлению
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<CorridorStatsDTO> getCorridorStats(TransportType type, String cityFrom, String cityTo,
+                                                   LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Начало периода не может быть позже конца периода");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= Constants.CORRIDOR_STATS_MAX_PERIOD_DAYS) {
+            throw new IllegalArgumentException("Период сводки не может превышать "
+                    + Constants.CORRIDOR_STATS_MAX_PERIOD_DAYS + " дней");
+        }
+
+        String key = Constants.CORRIDOR_STATS_CACHE_KEY_PREFIX + type + "_" + cityFrom + "_" + cityTo
+                + "_" + from + "_" + to;
+
+        CorridorStatsDTO[] cached = redisService.getFromRedis(key, CorridorStatsDTO[].class);
+        if (cached != null) {
+            log.info("Сводка по направлениям найдена в кэше по ключу {}", key);
+            return List.of(cached);
+        }
+
+        List<CorridorStatsDTO> stats = corridorStatsRepository.findStats(type, cityFrom, cityTo, from, to).stream()
+                .map(this::toDTO)
+                .toList();
+
+        redisService.addToRedis(key, stats, Constants.CORRIDOR_STATS_CACHE_TTL_MINUTES);
+        log.info("Сводка по направлениям сохранена в кэше по ключу {}, строк {}", key, stats.size());
+
+        return stats;
+    }
+
+    /**
+     * Пометка направлений и дней рейса до и после изменения для пересчета.
+     *
+     * @param event событие изменения рейса
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        markDirty(event.type(), event.before());
+        markDirty(event.type(), event.after());
+    }
+
+    /**
+     * Запрос полного пересчета вида транспорта при следующем запуске фоновой задачи.
+     * Используется массовыми операциями, после которых точечные пометки не имеют смысла.
+     *
+     * @param type вид транспорта
+     */
+    @Override
+    public void requestFullRefresh(TransportType type) {
+        fullRefreshTypes.add(type);
+    }
+
+    /**
+     * Пересчет помеченных строк сводки. Каждая пачка пересчитывается в своей транзакции;
+     * при ошибке пометки пачки возвращаются и обрабатываются при следующем запуске.
+     */
+    @Scheduled(fixedDelayString = "${schedule.stats.refresh-interval-ms:30000}",
+            initialDelayString = "${schedule.stats.refresh-interval-ms:30000}")
+    @Override
+    public void refreshDirty() {
+        boolean changed = false;
+
+        for (TransportType type : TransportType.values()) {
+            if (fullRefreshTypes.remove(type)) {
+                try {
+                    changed |= refreshType(type, false);
+                } catch (RuntimeException e) {
+                    log.error("Ошибка полного пересчета сводки по направлениям ({})", type, e);
+                    fullRefreshTypes.add(type);
+                }
+            }
+        }
+
+        List<CorridorDailyStatsId> batch = new ArrayList<>(REFRESH_BATCH_SIZE);
+        Iterator<CorridorDailyStatsId> iterator = dirtyKeys.iterator();
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            iterator.remove();
+            if (batch.size() == REFRESH_BATCH_SIZE || !iterator.hasNext()) {
+                changed |= refreshKeys(batch);
+                batch.clear();
+            }
+        }
+
+        if (changed) {
+            redisService.clearPageable(Constants.CORRIDOR_STATS_CACHE_KEY_PREFIX);
+        }
+    }
+
+    /**
+     * Ночной полный пересчет сводки по рабочим таблицам. Выполняется одним узлом; вид транспорта,
+     * который не удалось пересчитать, пересчитывается этим узлом при следующем запуске фоновой задачи.
+     */
+    @Scheduled(cron = "${schedule.stats.full-refresh-cron:0 45 3 * * *}")
+    @Override
+    public void refreshAll() {
+        boolean changed = false;
+
+        for (TransportType type : TransportType.values()) {
+            try {
+                changed |= refreshType(type, true);
+            } catch (RuntimeException e) {
+                log.error("Ошибка ночного пересчета сводки по направлениям ({})", type, e);
+                fullRefreshTypes.add(type);
+            }
+        }
+
+        if (changed) {
+            redisService.clearPageable(Constants.CORRIDOR_STATS_CACHE_KEY_PREFIX);
+        }
+    }
+
+    private void markDirty(TransportType type, TripSnapshot trip) {
+        if (trip == null || trip.cityFrom() == null || trip.cityTo() == null || trip.dateOfDeparture() == null) {
+            return;
+        }
+        dirtyKeys.add(new CorridorDailyStatsId(type, trip.cityFrom(), trip.cityTo(),
+                trip.dateOfDeparture().toLocalDate()));
+    }
+
+    private boolean refreshKeys(List<CorridorDailyStatsId> keys) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                corridorStatsRepository.advisoryLock(STATS_LOCK_KEY);
+                keys.forEach(this::refreshKey);
+            });
+            log.debug("Пересчитано строк сводки по направлениям: {}", keys.size());
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Ошибка пересчета сводки по направлениям, пачка будет повторена", e);
+            dirtyKeys.addAll(keys);
+            return false;
+        }
+    }
+
+    /**
+     * Пересчет одной строки сводки по рабочим и архивным рейсам дня.
+     */
+    private void refreshKey(CorridorDailyStatsId key) {
+        LocalDateTime dayStart = key.getDepartureDate().atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+
+        corridorStatsRepository.deleteKey(key);
+        if (key.getTransportType() == TransportType.BUS) {
+            corridorStatsRepository.insertBusStats(key.getCityFrom(), key.getCityTo(), dayStart, dayEnd);
+        } else {
+            corridorStatsRepository.insertTrainStats(key.getCityFrom(), key.getCityTo(), dayStart, dayEnd);
+        }
+    }
+
+    /**
+     * Полный пересчет вида транспорта начиная с первого дня рабочей таблицы. Этот день может быть частично
+     * перенесен в архив; агрегат учитывает и архивные рейсы, поэтому перенесенные рейсы не теряются.
+     * Строки полностью архивных дней остаются такими, какими были до архивации.
+     *
+     * @param nightly ночной пересчет: пропускается, если его уже выполняет другой узел
+     * @return false, если пересчет пропущен
+     */
+    private boolean refreshType(TransportType type, boolean nightly) {
+        Boolean refreshed = transactionTemplate.execute(status -> {
+            if (nightly && !corridorStatsRepository.tryAdvisoryLock(NIGHTLY_REFRESH_LOCK_KEY)) {
+                log.info("Ночной пересчет сводки по направлениям ({}) выполняет другой узел", type);
+                return false;
+            }
+            corridorStatsRepository.advisoryLock(STATS_LOCK_KEY);
+
+            LocalDateTime firstDeparture = type == TransportType.BUS
+                    ? corridorStatsRepository.findFirstBusDeparture()
+                    : corridorStatsRepository.findFirstTrainDeparture();
+            if (firstDeparture == null) {
+                return false;
+            }
+
+            LocalDate fromDay = firstDeparture.toLocalDate();
+            int deleted = corridorStatsRepository.deleteFrom(type, fromDay);
+            int inserted = type == TransportType.BUS
+                    ? corridorStatsRepository.insertBusStats(null, null, fromDay.atStartOfDay(), FAR_FUTURE)
+                    : corridorStatsRepository.insertTrainStats(null, null, fromDay.atStartOfDay(), FAR_FUTURE);
+
+            log.info("Полный пересчет сводки по направлениям ({}) с {}: удалено {}, вставлено {}",
+                    type, fromDay, deleted, inserted);
+            return true;
+        });
+        return Boolean.TRUE.equals(refreshed);
+    }
+
+    private CorridorStatsDTO toDTO(CorridorDailyStats stats) {
+        CorridorDailyStatsId id = stats.getId();
+        return new CorridorStatsDTO(
+                id.getTransportType(),
+                id.getCityFrom(),
+                id.getCityTo(),
+                id.getDepartureDate(),
+                stats.getTripCount(),
+                stats.getPriceMin(),
+                stats.getTripCount() == 0 ? 0 : stats.getPriceSum() / stats.getTripCount(),
+                stats.getFirstDeparture(),
+                stats.getLastDeparture());
+    }
+}
@@ -1,9 +1,12 @@
 package org.example.transportschedule.service.train;
 
+import org.example.transportschedule.model.dto.RouteDTO;
 import org.example.transportschedule.model.dto.TrainDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface TrainService {
@@ -19,5 +22,9 @@ public interface TrainService {
 
     List<String> getRouteFromCity(String city);
 
+    List<RouteDTO> getRouteSummaryFromCity(String city);
+
     List<TrainDTO> findTrainsByCities(String cityFrom, String cityTo);
+
+    void exportTrains(OutputStream outputStream) throws IOException;
 }
@@ -1,17 +1,27 @@
 package org.example.transportschedule.service.train;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.example.transportschedule.exception.TrainNotFoundException;
 import org.example.transportschedule.mapper.train.TrainMapper;
+import org.example.transportschedule.model.dto.RouteDTO;
 import org.example.transportschedule.model.dto.TrainDTO;
 import org.example.transportschedule.model.entity.Train;
+import org.example.transportschedule.model.enums.TransportType;
+import org.example.transportschedule.model.event.ScheduleChangedEvent;
+import org.example.transportschedule.model.event.TripSnapshot;
 import org.example.transportschedule.repository.train.TrainRepository;
+import org.example.transportschedule.service.export.NdjsonExporter;
+import org.example.transportschedule.service.route.RouteService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +29,9 @@ public class TrainServiceImpl implements TrainService {
 
     private final TrainRepository trainRepository;
     private final TrainMapper trainMapper;
+    private final NdjsonExporter ndjsonExporter;
+    private final RouteService routeService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Получение поезда по id.
@@ -28,6 +41,7 @@ public class TrainServiceImpl implements TrainService {
      * @return объект TrainDTO
      * @throws TrainNotFoundException если поезд с таким id не найден
      */
+    @Transactional(readOnly = true)
     @Override
     public TrainDTO getTrainById(long id) {
         Train train = trainRepository.findById(id)
@@ -46,7 +60,9 @@ public class TrainServiceImpl implements TrainService {
     @Override
     public TrainDTO addTrain(TrainDTO trainDTO) {
         Train trainToSave = trainMapper.mapToTrainEntity(trainDTO);
-        trainRepository.save(trainToSave);
+        Train savedTrain = trainRepository.save(trainToSave);
+        eventPublisher.publishEvent(
+                ScheduleChangedEvent.created(TransportType.TRAIN, savedTrain.getId(), TripSnapshot.of(savedTrain)));
         return trainDTO;
     }
 
@@ -64,6 +80,7 @@ public class TrainServiceImpl implements TrainService {
     public TrainDTO updateTrain(long id, TrainDTO trainDTO) {
         Train existingTrain = trainRepository.findById(id)
                 .orElseThrow(() -> new TrainNotFoundException(id));
+        TripSnapshot before = TripSnapshot.of(existingTrain);
 
         // Обновляем поля сущности
         existingTrain.setCityFrom(trainDTO.cityFrom());
@@ -74,6 +91,8 @@ public class TrainServiceImpl implements TrainService {
         existingTrain.setStopList(trainDTO.stopList());
 
         Train updatedTrain = trainRepository.save(existingTrain);
+        eventPublisher.publishEvent(
+                ScheduleChangedEvent.updated(TransportType.TRAIN, id, before, TripSnapshot.of(updatedTrain)));
         return trainMapper.mapToTrainDTO(updatedTrain);
     }
 
@@ -87,49 +106,87 @@ public class TrainServiceImpl implements TrainService {
     @Transactional
     @Override
     public void deleteTrain(long id) {
-        trainRepository.deleteById(id);
+        Train trainToDelete = trainRepository.findById(id)
+                .orElseThrow(() -> new TrainNotFoundException(id));
+        TripSnapshot before = TripSnapshot.of(trainToDelete);
+
+        trainRepository.delete(trainToDelete);
+        eventPublisher.publishEvent(ScheduleChangedEvent.deleted(TransportType.TRAIN, id, before));
     }
 
     /**
      * Получение всех поездов с постраничной разбивкой.
+     * Поезда и их остановки читаются проекцией без создания управляемых сущностей.
      *
      * @param pageable параметры пагинации
      * @return страница объектов TrainDTO
      */
+    @Transactional(readOnly = true)
     @Override
     public Page<TrainDTO> getAllTrains(Pageable pageable) {
-        Page<Train> trainsFromDb = trainRepository.findAll(pageable);
-        return trainsFromDb.map(trainMapper::mapToTrainDTO);
+        return trainRepository.findAllTrainDTOs(pageable);
     }
 
     /**
      * Получение всех маршрутов из указанного города.
-     * Формирует список маршрутов в формате "город отправления - город назначения".
+     * Формирует список уникальных маршрутов в формате "город отправления - город назначения",
+     * включая поезда, проходящие через город как промежуточную остановку.
+     * Данные берутся из индекса маршрутов без обращения к БД.
      *
      * @param city город отправления
      * @return список маршрутов в виде строк
      */
     @Override
     public List<String> getRouteFromCity(String city) {
-        return trainRepository.findAllByCityFrom(city)
+        return getRouteSummaryFromCity(city)
                 .stream()
-                .map(train -> train.getCityFrom() + " - " + train.getCityTo())
+                .map(route -> route.cityFrom() + " - " + route.cityTo())
                 .toList();
     }
 
+    /**
+     * Получение маршрутов из указанного города с количеством рейсов и ближайшим отправлением.
+     *
+     * @param city город отправления
+     * @return список маршрутов
+     */
+    @Override
+    public List<RouteDTO> getRouteSummaryFromCity(String city) {
+        return routeService.getRoutesFromCity(TransportType.TRAIN, city);
+    }
+
     /**
      * Поиск поездов, которые отправляются из одного города и прибывают в другой.
      * Поезда могут быть как прямыми, так и с промежуточными остановками.
+     * Остановки найденных поездов загружаются одним запросом.
      *
      * @param cityFrom город отправления
      * @param cityTo город прибытия
      * @return список объектов TrainDTO, которые соответствуют поисковым критериям
      */
+    @Transactional(readOnly = true)
     @Override
     public List<TrainDTO> findTrainsByCities(String cityFrom, String cityTo) {
-        List<Train> trainsByCities = trainRepository.findTrainsByCities(cityFrom, cityTo);
-        return trainsByCities.stream()
-                .map(trainMapper::mapToTrainDTO)
+        return trainRepository.findTrainDTOsByCities(cityFrom, cityTo);
+    }
+
+    /**
+     * Потоковая выгрузка всех поездов в формате NDJSON.
+     * Остановки дочитываются одним запросом на пачку поездов, а не по запросу на каждый поезд.
+     *
+     * @param outputStream поток, в который пишется выгрузка
+     * @throws IOException если запись в поток не удалась
+     */
+    @Override
+    public void exportTrains(OutputStream outputStream) throws IOException {
+        ndjsonExporter.export(trainRepository::streamAllForExport, this::mapWithStopLists, outputStream);
+    }
+
+    private List<TrainDTO> mapWithStopLists(List<Train> trains) {
+        Map<Long, List<String>> stopsByTrain = trainRepository.findStopListsByTrainIds(
+                trains.stream().map(Train::getId).toList());
+        return trains.stream()
+                .map(train -> trainMapper.mapToTrainDTO(train, stopsByTrain.getOrDefault(train.getId(), List.of())))
                 .toList();
     }
-}
\ No newline at end of file
+}
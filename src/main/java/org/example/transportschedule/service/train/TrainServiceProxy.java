@@ -1,17 +1,24 @@
 package org.example.transportschedule.service.train;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.transportschedule.constant.Constants;
+import org.example.transportschedule.model.dto.RouteDTO;
 import org.example.transportschedule.model.dto.TrainDTO;
+import org.example.transportschedule.model.enums.TransportType;
 import org.example.transportschedule.service.redis.RedisService;
+import org.example.transportschedule.service.version.ScheduleVersionService;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 @Service
@@ -20,6 +27,8 @@ import java.util.List;
 @Slf4j
 public class TrainServiceProxy implements TrainService {
 
+    private static final String CACHE_HIT_KEY = "cache.hit";
+
     /**
      * Делегирование вызовов основному сервису без кеширования.
      * Рекомендуется убрать из основной реализации логику кеширования.
@@ -28,6 +37,10 @@ public class TrainServiceProxy implements TrainService {
 
     private final RedisService redisService;
 
+    private final ScheduleVersionService scheduleVersionService;
+
+    private final ObservationRegistry observationRegistry;
+
     /**
      * Получение поезда по id с использованием кеша.
      * Если поезд не найден в кеше, запрос выполняется к основной базе данных.
@@ -40,44 +53,72 @@ public class TrainServiceProxy implements TrainService {
         String cacheKey = Constants.TRAIN_CACHE_KEY_PREFIX + id;
         log.info("Запрос поезда с id: {}", id);
 
-        TrainDTO cachedTrain = redisService.getFromRedis(cacheKey, TrainDTO.class);
-        if (cachedTrain != null) {
-            log.info("Найден в кеше поезд с id: {}", id);
-            return cachedTrain;
+        Observation observation = startCacheObservation("getTrainById");
+        try (Observation.Scope scope = observation.openScope()) {
+            TrainDTO cachedTrain = redisService.getFromRedis(cacheKey, TrainDTO.class);
+            observation.lowCardinalityKeyValue(CACHE_HIT_KEY, String.valueOf(cachedTrain != null));
+            if (cachedTrain != null) {
+                log.info("Найден в кеше поезд с id: {}", id);
+                return cachedTrain;
+            }
+
+            log.info("Поезд с id: {} не найден в кеше, обращаемся к БД", id);
+            TrainDTO trainDTO = trainServiceImpl.getTrainById(id);
+            redisService.addToRedis(cacheKey, trainDTO, 30L);
+            return trainDTO;
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
         }
-
-        log.info("Поезд с id: {} не найден в кеше, обращаемся к БД", id);
-        TrainDTO trainDTO = trainServiceImpl.getTrainById(id);
-        redisService.addToRedis(cacheKey, trainDTO, 30L);
-        return trainDTO;
     }
 
     /**
      * Получение всех поездов с пагинацией с использованием кеша.
      * Если данные не найдены в кеше, запрос выполняется к основной базе данных.
+     * Ключ кеша содержит версию расписания, прочитанную до обращения к БД, поэтому записи
+     * не нужно очищать страницы: после фиксации записи версия увеличивается и старые страницы не читаются.
      *
      * @param pageable параметры для пагинации
      * @return страница с объектами TrainDTO
      */
     @Override
     public Page<TrainDTO> getAllTrains(Pageable pageable) {
-        // Формируем ключ на основе номера страницы и размера
-        String cacheKey = Constants.TRAINS_CACHE_KEY_PREFIX_WITH_PAGE + "_" + pageable.getPageNumber() + "_" + pageable.getPageSize();
         log.info("Запрос всех поездов, страница: {}", pageable);
-
-        // Получаем закешированный список TrainDTO
-        List<TrainDTO> cachedList = redisService.getAll(cacheKey, TrainDTO.class);
-        if (cachedList != null && !cachedList.isEmpty()) {
-            log.info("Найдены данные в кеше для страницы: {}", pageable);
-            // Здесь totalElements можно сохранить отдельно, если требуется
-            return new PageImpl<>(cachedList, pageable, cachedList.size());
+        String version = scheduleVersionService.currentVersion(TransportType.TRAIN);
+        if (version == null) {
+            log.info("Версия расписания неизвестна, страница: {} читается из БД без кеша", pageable);
+            return trainServiceImpl.getAllTrains(pageable);
         }
 
-        log.info("Данных в кеше для страницы: {} нет, обращаемся к БД", pageable);
-        Page<TrainDTO> page = trainServiceImpl.getAllTrains(pageable);
-        // Сохраняем в кеш только содержимое страницы (list)
-        redisService.addToRedis(cacheKey, page.getContent(), 30L);
-        return page;
+        // Формируем ключ на основе версии, номера страницы и размера
+        String cacheKey = Constants.TRAINS_CACHE_KEY_PREFIX_WITH_PAGE + version + "_" + pageable.getPageNumber()
+                + "_" + pageable.getPageSize();
+
+        Observation observation = startCacheObservation("getAllTrains");
+        try (Observation.Scope scope = observation.openScope()) {
+            // Получаем закешированный список TrainDTO
+            List<TrainDTO> cachedList = redisService.getAll(cacheKey, TrainDTO.class);
+            boolean hit = cachedList != null && !cachedList.isEmpty();
+            observation.lowCardinalityKeyValue(CACHE_HIT_KEY, String.valueOf(hit));
+            if (hit) {
+                log.info("Найдены данные в кеше для страницы: {}", pageable);
+                // Здесь totalElements можно сохранить отдельно, если требуется
+                return new PageImpl<>(cachedList, pageable, cachedList.size());
+            }
+
+            log.info("Данных в кеше для страницы: {} нет, обращаемся к БД", pageable);
+            Page<TrainDTO> page = trainServiceImpl.getAllTrains(pageable);
+            // Сохраняем в кеш только содержимое страницы (list)
+            redisService.addToRedis(cacheKey, page.getContent(), 30L);
+            return page;
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
     }
 
     /**
@@ -134,6 +175,19 @@ public class TrainServiceProxy implements TrainService {
         return trainServiceImpl.getRouteFromCity(city);
     }
 
+    /**
+     * Получение маршрутов из указанного города с количеством рейсов и ближайшим отправлением.
+     * Маршруты обслуживаются из индекса в памяти, поэтому дополнительный кеш не нужен.
+     *
+     * @param city название города отправления
+     * @return список маршрутов
+     */
+    @Override
+    public List<RouteDTO> getRouteSummaryFromCity(String city) {
+        log.info("Запрос сводки маршрутов из города: {}", city);
+        return trainServiceImpl.getRouteSummaryFromCity(city);
+    }
+
     /**
      * Поиск поездов между двумя городами.
      * Поезда могут быть найдены как прямые, так и с промежуточными остановками.
@@ -147,4 +201,26 @@ public class TrainServiceProxy implements TrainService {
         log.info("Поиск поездов с городами отправления '{}' и прибытия '{}'", cityFrom, cityTo);
         return trainServiceImpl.findTrainsByCities(cityFrom, cityTo);
     }
-}
\ No newline at end of file
+
+    /**
+     * Потоковая выгрузка всех поездов. Кеш не используется.
+     *
+     * @param outputStream поток, в который пишется выгрузка
+     */
+    @Override
+    public void exportTrains(OutputStream outputStream) throws IOException {
+        log.info("Экспорт всех поездов в формате NDJSON");
+        trainServiceImpl.exportTrains(outputStream);
+    }
+
+    /**
+     * Span решения о кеше: дочерние span-ы показывают обращения к Redis и, при промахе, к БД,
+     * а признак cache.hit — чем закончилась проверка кеша.
+     */
+    private Observation startCacheObservation(String operation) {
+        return Observation.createNotStarted("train.cache", observationRegistry)
+                .contextualName("train cache " + operation)
+                .lowCardinalityKeyValue("operation", operation)
+                .start();
+    }
+}
@@ -8,6 +8,7 @@ import org.example.transportschedule.model.dto.UserDTO;
 import org.example.transportschedule.model.entity.User;
 import org.example.transportschedule.model.enums.Role;
 import org.example.transportschedule.repository.user.UserRepository;
+import org.example.transportschedule.security.UserDetailsCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -25,6 +26,7 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
 
     /**
      * Получает пользователя по его идентификатору.
@@ -94,11 +96,16 @@ public class UserServiceImpl implements UserService {
                     return new UserNotFoundException(id);
                 });
 
+        String previousUsername = existingUser.getUsername();
         existingUser.setUsername(userDTO.username());
         existingUser.setPassword(passwordEncoder.encode(userDTO.password()));
         existingUser.setRole(userDTO.role());
 
         User updatedUser = userRepository.save(existingUser);
+
+        // Сброс после сохранения: загрузка, начатая до сохранения, не оставит в кеше старый пароль и роль
+        userDetailsCache.evict(previousUsername);
+        userDetailsCache.evict(updatedUser.getUsername());
         log.info("Пользователь с ID {} успешно обновлен", id);
         return userMapper.mapToUserDTO(updatedUser);
     }
@@ -111,11 +118,13 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteUser(long id) {
         log.info("Удаление пользователя с ID: {}", id);
-        if (!userRepository.existsById(id)) {
-            log.error("Пользователь с ID {} не найден", id);
-            throw new UserNotFoundException(id);
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.error("Пользователь с ID {} не найден", id);
+                    return new UserNotFoundException(id);
+                });
+        userRepository.delete(user);
+        userDetailsCache.evict(user.getUsername());
         log.info("Пользователь с ID {} успешно удален", id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package org.example.transportschedule.service.version;
+
+import org.example.transportschedule.model.enums.TransportType;
+
+public interface ScheduleVersionService {
+    String currentVersion(TransportType type);
+
+    void bump(TransportType type);
+}
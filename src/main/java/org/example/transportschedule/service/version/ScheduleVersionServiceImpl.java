@@ -0,0 +1,102 @@
+package org.example.transportschedule.service.version;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.transportschedule.constant.Constants;
+import org.example.transportschedule.model.enums.TransportType;
+import org.example.transportschedule.model.event.ScheduleChangedEvent;
+import org.example.transportschedule.service.redis.RedisService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Версии расписания по видам транспорта, общие для всех узлов (хранятся в Redis).
+ * Версия увеличивается после фиксации каждой транзакции, изменившей рейсы этого вида,
+ * и служит основой ETag списков и результатов поиска и ключей страничных кешей.
+ * <p>
+ * Увеличение, не дошедшее до Redis, откладывается только на этом узле (см. ResilientRedisService):
+ * другие узлы до его повтора выдают прежнюю версию, а перезапуск узла его теряет. Поэтому версия живет
+ * не дольше schedule.versions.max-age-minutes с момента создания и затем начинается заново
+ * с большего значения — это предел, в течение которого клиент может получить 304 для измененных данных.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScheduleVersionServiceImpl implements ScheduleVersionService {
+
+    private final RedisService redisService;
+
+    @Value("${schedule.versions.max-age-minutes:5}")
+    private long maxAgeMinutes;
+
+    /**
+     * Текущая версия расписания.
+     *
+     * @param type вид транспорта
+     * @return версия или null, если она сейчас неизвестна (Redis недоступен)
+     */
+    @Override
+    public String currentVersion(TransportType type) {
+        return redisService.getVersion(versionKey(type), maxAgeMinutes);
+    }
+
+    /**
+     * Увеличение версии расписания. Внутри транзакции выполняется один раз после ее фиксации
+     * (сколько бы рейсов она ни изменила), при откате не выполняется; вне транзакции — сразу.
+     *
+     * @param type вид транспорта
+     */
+    @Override
+    public void bump(TransportType type) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(type);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<TransportType> changedTypes = (Set<TransportType>) TransactionSynchronizationManager.getResource(this);
+        if (changedTypes == null) {
+            Set<TransportType> types = EnumSet.noneOf(TransportType.class);
+            TransactionSynchronizationManager.bindResource(this, types);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    types.forEach(ScheduleVersionServiceImpl.this::increment);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ScheduleVersionServiceImpl.this);
+                }
+            });
+            changedTypes = types;
+        }
+        changedTypes.add(type);
+    }
+
+    /**
+     * Изменение рейса. Слушатель вызывается синхронно внутри транзакции записи,
+     * само увеличение версии откладывается до фиксации.
+     *
+     * @param event событие изменения рейса
+     */
+    @EventListener
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        bump(event.type());
+    }
+
+    private void increment(TransportType type) {
+        redisService.incrementVersion(versionKey(type), maxAgeMinutes);
+        log.debug("Версия расписания {} увеличена", type);
+    }
+
+    private static String versionKey(TransportType type) {
+        return Constants.SCHEDULE_VERSION_KEY_PREFIX + type.name();
+    }
+}
@@ -0,0 +1,23 @@
+-- Порядок остановок поезда. Без явного столбца порядка PostgreSQL возвращает строки коллекции в произвольном
+-- порядке, а для маршрута порядок остановок важен. Существующие строки нумеруются в порядке их физического
+-- расположения: Hibernate вставлял остановки в порядке списка, и строки одного поезда не перемещались.
+
+alter table train_stop_list add column if not exists stop_order integer;
+
+update train_stop_list s
+set stop_order = numbered.stop_order
+from (select ctid, row_number() over (partition by train_id order by ctid) - 1 as stop_order
+      from train_stop_list) numbered
+where s.ctid = numbered.ctid;
+
+alter table train_stop_list alter column stop_order set not null;
+
+alter table train_stop_list_history add column if not exists stop_order integer;
+
+update train_stop_list_history s
+set stop_order = numbered.stop_order
+from (select ctid, row_number() over (partition by train_id order by ctid) - 1 as stop_order
+      from train_stop_list_history) numbered
+where s.ctid = numbered.ctid;
+
+alter table train_stop_list_history alter column stop_order set not null;
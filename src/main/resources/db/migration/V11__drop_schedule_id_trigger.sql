@@ -0,0 +1,10 @@
+-- Проверка уникальности id триггером (V8) выполняла на каждую вставку поиск по всем секциям таблицы,
+-- то есть стоила столько же, сколько несекционированный индекс, и при этом не защищала от одновременных
+-- вставок одного явного id. Идентификаторы рейсов выдаются только последовательностями buses_id_seq
+-- и trains_id_seq (Hibernate и default nextval), поэтому уникальность id обеспечивает последовательность,
+-- а первичный ключ (id, date_of_departure) — уникальность внутри секции. Явные id при импорте
+-- должны браться из тех же последовательностей.
+
+drop trigger if exists buses_id_unique on buses;
+drop trigger if exists trains_id_unique on trains;
+drop function if exists check_schedule_id_unique();
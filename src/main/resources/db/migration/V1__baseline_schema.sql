@@ -0,0 +1,39 @@
+-- Исходная схема, ранее создававшаяся Hibernate (ddl-auto: update).
+-- Для существующих баз эта версия помечается как базовая (baseline-on-migrate) и не выполняется.
+
+create table if not exists users
+(
+    id       bigint generated by default as identity,
+    password varchar(255),
+    role     varchar(255) check (role in ('ADMIN', 'USER')),
+    username varchar(255),
+    primary key (id)
+);
+
+create table if not exists buses
+(
+    id                bigint generated by default as identity,
+    city_from         varchar(255),
+    city_to           varchar(255),
+    date_of_arrival   timestamp(6) not null,
+    date_of_departure timestamp(6) not null,
+    price             float(53)    not null,
+    primary key (id)
+);
+
+create table if not exists trains
+(
+    id                bigint generated by default as identity,
+    city_from         varchar(255),
+    city_to           varchar(255),
+    date_of_arrival   timestamp(6) not null,
+    date_of_departure timestamp(6) not null,
+    price             float(53)    not null,
+    primary key (id)
+);
+
+create table if not exists train_stop_list
+(
+    train_id  bigint not null references trains (id),
+    stop_list varchar(255)
+);
@@ -0,0 +1,108 @@
+-- Секционирование таблиц расписания по дате отправления (по месяцам).
+-- Запросы с условием на date_of_departure затрагивают только нужные секции.
+
+create or replace function create_monthly_partitions(parent_table text, from_date date, to_date date)
+    returns void
+    language plpgsql
+as
+$$
+declare
+    month_start date := date_trunc('month', from_date)::date;
+begin
+    while month_start < to_date
+        loop
+            execute format(
+                    'create table if not exists %I partition of %I for values from (%L) to (%L)',
+                    parent_table || '_p' || to_char(month_start, 'YYYY_MM'),
+                    parent_table,
+                    month_start,
+                    (month_start + interval '1 month')::date);
+            month_start := (month_start + interval '1 month')::date;
+        end loop;
+end;
+$$;
+
+-- Внешний ключ на секционированную таблицу требует уникальности по ключу секционирования,
+-- поэтому связь train_stop_list -> trains больше не закрепляется ограничением.
+-- Строки остановок удаляются Hibernate вместе с поездом.
+do
+$$
+    declare
+        fk record;
+    begin
+        for fk in select conname from pg_constraint where conrelid = 'train_stop_list'::regclass and contype = 'f'
+            loop
+                execute format('alter table train_stop_list drop constraint %I', fk.conname);
+            end loop;
+    end;
+$$;
+
+-- Автобусы
+alter table buses rename to buses_legacy;
+alter table buses_legacy alter column id drop identity if exists;
+alter table buses_legacy drop constraint if exists buses_pkey;
+
+create sequence buses_id_seq;
+
+create table buses
+(
+    id                bigint       not null default nextval('buses_id_seq'),
+    city_from         varchar(255),
+    city_to           varchar(255),
+    date_of_arrival   timestamp(6) not null,
+    date_of_departure timestamp(6) not null,
+    price             float(53)    not null,
+    primary key (id, date_of_departure)
+) partition by range (date_of_departure);
+
+alter sequence buses_id_seq owned by buses.id;
+
+create table buses_default partition of buses default;
+
+select create_monthly_partitions(
+               'buses',
+               coalesce((select min(date_of_departure) from buses_legacy)::date, current_date),
+               (current_date + interval '12 months')::date);
+
+insert into buses (id, city_from, city_to, date_of_arrival, date_of_departure, price)
+select id, city_from, city_to, date_of_arrival, date_of_departure, price
+from buses_legacy;
+
+select setval('buses_id_seq', coalesce((select max(id) from buses), 0) + 1, false);
+
+drop table buses_legacy;
+
+-- Поезда
+alter table trains rename to trains_legacy;
+alter table trains_legacy alter column id drop identity if exists;
+alter table trains_legacy drop constraint if exists trains_pkey;
+
+create sequence trains_id_seq;
+
+create table trains
+(
+    id                bigint       not null default nextval('trains_id_seq'),
+    city_from         varchar(255),
+    city_to           varchar(255),
+    date_of_arrival   timestamp(6) not null,
+    date_of_departure timestamp(6) not null,
+    price             float(53)    not null,
+    primary key (id, date_of_departure)
+) partition by range (date_of_departure);
+
+alter sequence trains_id_seq owned by trains.id;
+
+create table trains_default partition of trains default;
+
+select create_monthly_partitions(
+               'trains',
+               coalesce((select min(date_of_departure) from trains_legacy)::date, current_date),
+               (current_date + interval '12 months')::date);
+
+insert into trains (id, city_from, city_to, date_of_arrival, date_of_departure, price)
+select id, city_from, city_to, date_of_arrival, date_of_departure, price
+from trains_legacy;
+
+select setval('trains_id_seq', coalesce((select max(id) from trains), 0) + 1, false);
+
+drop table trains_legacy;
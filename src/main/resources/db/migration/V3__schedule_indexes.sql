@@ -0,0 +1,18 @@
+-- Индексы под запросы сервиса. Индексы на секционированной таблице создаются в каждой секции.
+
+-- Маршруты из города и поиск по городам
+create index if not exists idx_buses_city_from_departure on buses (city_from, date_of_departure);
+create index if not exists idx_buses_city_to on buses (city_to);
+create index if not exists idx_trains_city_from_departure on trains (city_from, date_of_departure);
+create index if not exists idx_trains_city_to on trains (city_to);
+
+-- Сортировка страниц по умолчанию (dateOfArrival) и выборки ближайших отправлений
+create index if not exists idx_buses_date_of_arrival on buses (date_of_arrival);
+create index if not exists idx_buses_date_of_departure on buses (date_of_departure);
+create index if not exists idx_trains_date_of_arrival on trains (date_of_arrival);
+create index if not exists idx_trains_date_of_departure on trains (date_of_departure);
+
+-- Ленивая загрузка и пакетная дочитка остановок по поезду
+create index if not exists idx_train_stop_list_train_id on train_stop_list (train_id);
+-- Поиск поездов, проходящих через город
+create index if not exists idx_train_stop_list_stop_train on train_stop_list (stop_list, train_id);
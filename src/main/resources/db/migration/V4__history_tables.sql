@@ -0,0 +1,69 @@
+-- Исторические таблицы для рейсов, вышедших за горизонт хранения.
+-- Рабочие таблицы buses/trains содержат только актуальное расписание.
+
+create table if not exists buses_history
+(
+    id                bigint       not null,
+    city_from         varchar(255),
+    city_to           varchar(255),
+    date_of_arrival   timestamp(6) not null,
+    date_of_departure timestamp(6) not null,
+    price             float(53)    not null,
+    archived_at       timestamp(6) not null default now(),
+    primary key (id)
+);
+
+create table if not exists trains_history
+(
+    id                bigint       not null,
+    city_from         varchar(255),
+    city_to           varchar(255),
+    date_of_arrival   timestamp(6) not null,
+    date_of_departure timestamp(6) not null,
+    price             float(53)    not null,
+    archived_at       timestamp(6) not null default now(),
+    primary key (id)
+);
+
+create table if not exists train_stop_list_history
+(
+    train_id  bigint not null references trains_history (id),
+    stop_list varchar(255)
+);
+
+create index if not exists idx_buses_history_departure on buses_history (date_of_departure);
+create index if not exists idx_buses_history_city_from_departure on buses_history (city_from, date_of_departure);
+create index if not exists idx_trains_history_departure on trains_history (date_of_departure);
+create index if not exists idx_trains_history_city_from_departure on trains_history (city_from, date_of_departure);
+create index if not exists idx_train_stop_list_history_train_id on train_stop_list_history (train_id);
+
+-- Удаление опустевших месячных секций, целиком лежащих раньше указанной даты
+create or replace function drop_empty_partitions_before(parent_table text, before_date date)
+    returns integer
+    language plpgsql
+as
+$$
+declare
+    part       record;
+    is_empty   boolean;
+    dropped    integer := 0;
+begin
+    for part in
+        select c.relname as name
+        from pg_inherits i
+                 join pg_class c on c.oid = i.inhrelid
+                 join pg_class p on p.oid = i.inhparent
+        where p.relname = parent_table
+          and c.relname ~ ('^' || parent_table || '_p[0-9]{4}_[0-9]{2}$')
+          and to_date(right(c.relname, 7), 'YYYY_MM') + interval '1 month' <= before_date
+        loop
+            execute format('select not exists (select 1 from %I)', part.name) into is_empty;
+            if is_empty then
+                execute format('alter table %I detach partition %I', parent_table, part.name);
+                execute format('drop table %I', part.name);
+                dropped := dropped + 1;
+            end if;
+        end loop;
+    return dropped;
+end;
+$$;
@@ -0,0 +1,39 @@
+-- Сводка по направлениям (коридорам) за день: количество рейсов, цены, первое и последнее отправление.
+-- Поддерживается приложением инкрементально, аналитические запросы не сканируют таблицы рейсов.
+
+create table if not exists corridor_daily_stats
+(
+    transport_type  varchar(16)  not null,
+    city_from       varchar(255) not null,
+    city_to         varchar(255) not null,
+    departure_date  date         not null,
+    trip_count      bigint       not null,
+    price_sum       float(53)    not null,
+    price_min       float(53)    not null,
+    first_departure timestamp(6) not null,
+    last_departure  timestamp(6) not null,
+    primary key (transport_type, city_from, city_to, departure_date)
+);
+
+create index if not exists idx_corridor_daily_stats_date on corridor_daily_stats (departure_date);
+
+-- Начальное заполнение по рабочим и архивным таблицам
+insert into corridor_daily_stats (transport_type, city_from, city_to, departure_date, trip_count,
+                                  price_sum, price_min, first_departure, last_departure)
+select 'BUS', city_from, city_to, cast(date_of_departure as date), count(*),
+       sum(price), min(price), min(date_of_departure), max(date_of_departure)
+from (select city_from, city_to, date_of_departure, price from buses
+      union all
+      select city_from, city_to, date_of_departure, price from buses_history) trips
+where city_from is not null and city_to is not null
+group by city_from, city_to, cast(date_of_departure as date);
+
+insert into corridor_daily_stats (transport_type, city_from, city_to, departure_date, trip_count,
+                                  price_sum, price_min, first_departure, last_departure)
+select 'TRAIN', city_from, city_to, cast(date_of_departure as date), count(*),
+       sum(price), min(price), min(date_of_departure), max(date_of_departure)
+from (select city_from, city_to, date_of_departure, price from trains
+      union all
+      select city_from, city_to, date_of_departure, price from trains_history) trips
+where city_from is not null and city_to is not null
+group by city_from, city_to, cast(date_of_departure as date);
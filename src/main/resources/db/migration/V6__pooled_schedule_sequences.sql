@@ -0,0 +1,10 @@
+-- Идентификаторы рейсов выдаются Hibernate пачками по 50 (pooled-оптимизатор),
+-- что позволяет объединять вставки в JDBC-батчи. Значение последовательности — верхняя граница
+-- выданного диапазона, поэтому она сдвигается так, чтобы первый диапазон начинался после max(id).
+-- Вставки в обход Hibernate (default nextval) по-прежнему получают уникальные значения.
+
+alter sequence buses_id_seq increment by 50;
+select setval('buses_id_seq', coalesce((select max(id) from buses), 0) + 50, true);
+
+alter sequence trains_id_seq increment by 50;
+select setval('trains_id_seq', coalesce((select max(id) from trains), 0) + 50, true);
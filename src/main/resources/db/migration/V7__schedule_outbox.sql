@@ -0,0 +1,24 @@
+-- Транзакционный outbox изменений расписания. Строка пишется в той же транзакции, что и изменение рейса.
+-- Смещение (event_offset) назначается ретранслятором в момент публикации, поэтому порядок смещений
+-- совпадает с порядком публикации даже при параллельно фиксируемых транзакциях записи.
+
+create table if not exists schedule_outbox
+(
+    id             bigint generated by default as identity,
+    transport_type varchar(16)  not null,
+    entity_id      bigint       not null,
+    change_type    varchar(16)  not null,
+    before         jsonb,
+    after          jsonb,
+    created_at     timestamp(6) not null,
+    event_offset   bigint,
+    published_at   timestamp(6),
+    primary key (id)
+);
+
+create sequence if not exists schedule_outbox_offset_seq;
+
+-- Очередь неопубликованных событий
+create index if not exists idx_schedule_outbox_unpublished on schedule_outbox (id) where event_offset is null;
+-- Чтение изменений после смещения
+create unique index if not exists idx_schedule_outbox_offset on schedule_outbox (event_offset);
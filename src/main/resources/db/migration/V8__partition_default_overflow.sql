@@ -0,0 +1,86 @@
+-- Рейсы с датой отправления за горизонтом созданных секций попадают в секцию по умолчанию.
+-- PostgreSQL не создает секцию, строки которой уже лежат в секции по умолчанию, поэтому для такого месяца
+-- секция по умолчанию отсоединяется, создается месячная секция, строки переносятся в нее,
+-- и секция по умолчанию присоединяется обратно. Все шаги выполняются в одной транзакции.
+
+create or replace function create_monthly_partitions(parent_table text, from_date date, to_date date)
+    returns void
+    language plpgsql
+as
+$$
+declare
+    month_start    date := date_trunc('month', from_date)::date;
+    month_end      date;
+    partition_name text;
+    default_name   text := parent_table || '_default';
+    has_overflow   boolean;
+begin
+    while month_start < to_date
+        loop
+            month_end := (month_start + interval '1 month')::date;
+            partition_name := parent_table || '_p' || to_char(month_start, 'YYYY_MM');
+
+            if to_regclass(partition_name) is null then
+                execute format('select exists (select 1 from %I where date_of_departure >= %L and date_of_departure < %L)',
+                               default_name, month_start, month_end)
+                    into has_overflow;
+
+                if has_overflow then
+                    execute format('alter table %I detach partition %I', parent_table, default_name);
+                    execute format('create table %I partition of %I for values from (%L) to (%L)',
+                                   partition_name, parent_table, month_start, month_end);
+                    execute format('insert into %I select * from %I where date_of_departure >= %L and date_of_departure < %L',
+                                   partition_name, default_name, month_start, month_end);
+                    execute format('delete from %I where date_of_departure >= %L and date_of_departure < %L',
+                                   default_name, month_start, month_end);
+                    execute format('alter table %I attach partition %I default', parent_table, default_name);
+                    raise notice 'Rows of % moved from % to %', month_start, default_name, partition_name;
+                else
+                    execute format('create table %I partition of %I for values from (%L) to (%L)',
+                                   partition_name, parent_table, month_start, month_end);
+                end if;
+            end if;
+
+            month_start := month_end;
+        end loop;
+end;
+$$;
+
+-- Первичный ключ секционированной таблицы обязан включать ключ секционирования, поэтому (id, date_of_departure)
+-- не мешает двум рейсам с одним id в разных месяцах. Уникальность id проверяется триггером по всем секциям
+-- (индекс первичного ключа каждой секции начинается с id). Значения из последовательности уникальны и так;
+-- триггер защищает от явно заданных id (импорт, ручные вставки). Одновременные вставки одного и того же
+-- явного id в разных транзакциях триггер не видит.
+create or replace function check_schedule_id_unique()
+    returns trigger
+    language plpgsql
+as
+$$
+declare
+    is_duplicate boolean;
+begin
+    if tg_op = 'UPDATE' and new.id = old.id then
+        return new;
+    end if;
+
+    execute format('select exists (select 1 from %I where id = $1)', tg_argv[0])
+        into is_duplicate
+        using new.id;
+    if is_duplicate then
+        raise exception 'Duplicate id % in %', new.id, tg_argv[0] using errcode = 'unique_violation';
+    end if;
+    return new;
+end;
+$$;
+
+create trigger buses_id_unique
+    before insert or update of id
+    on buses
+    for each row
+execute function check_schedule_id_unique('buses');
+
+create trigger trains_id_unique
+    before insert or update of id
+    on trains
+    for each row
+execute function check_schedule_id_unique('trains');
@@ -0,0 +1,19 @@
+-- Отметки outbox: до какого смещения события опубликованы в Redis и до какого удалены по сроку хранения.
+-- Смещения назначаются и фиксируются до публикации, поэтому сбой между публикацией и фиксацией
+-- не приводит к повторной публикации тех же событий под новыми смещениями.
+-- Отметка удаления позволяет отличить пропуск из-за очистки от обычных разрывов последовательности
+-- (смещения, зарезервированные неудавшейся транзакцией ретранслятора, не используются).
+
+create table if not exists schedule_outbox_state
+(
+    id                      int    not null check (id = 1),
+    streamed_through_offset bigint not null,
+    purged_through_offset   bigint not null,
+    primary key (id)
+);
+
+-- Уже назначенные смещения были опубликованы прежней версией ретранслятора в той же транзакции
+insert into schedule_outbox_state (id, streamed_through_offset, purged_through_offset)
+select 1, coalesce(max(event_offset), 0), 0
+from schedule_outbox
+on conflict do nothing;
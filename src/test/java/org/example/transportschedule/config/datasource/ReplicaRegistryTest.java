@@ -0,0 +1,42 @@
+package org.example.transportschedule.config.datasource;
+
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Переход чтения на основную БД, когда реплика не прошла проверку отставания.
+ */
+class ReplicaRegistryTest {
+
+    @Test
+    void servesNoReplicaBeforeFirstCheck() {
+        try (ReplicaRegistry registry = registry("jdbc:postgresql://127.0.0.1:1/station_db")) {
+            assertThat(registry.nextHealthyReplica()).isEmpty();
+        }
+    }
+
+    @Test
+    void dropsUnreachableReplica() {
+        try (ReplicaRegistry registry = registry("jdbc:postgresql://127.0.0.1:1/station_db")) {
+            registry.checkReplicationLag();
+
+            assertThat(registry.nextHealthyReplica()).isEmpty();
+        }
+    }
+
+    private static ReplicaRegistry registry(String url) {
+        ReplicaDataSourceProperties.Replica replica = new ReplicaDataSourceProperties.Replica();
+        replica.setName("replica-1");
+        replica.setUrl(url);
+        replica.setUsername("postgres");
+        replica.setPassword("postgres");
+        return new ReplicaRegistry(List.of(replica), Duration.ofSeconds(1),
+                new MicrometerMetricsTrackerFactory(new SimpleMeterRegistry()));
+    }
+}
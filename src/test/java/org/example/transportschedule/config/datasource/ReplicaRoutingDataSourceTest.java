@@ -0,0 +1,46 @@
+package org.example.transportschedule.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final ReplicaRegistry replicaRegistry = mock(ReplicaRegistry.class);
+    private final ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(replicaRegistry);
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void routesReadOnlyTransactionToHealthyReplica() {
+        when(replicaRegistry.nextHealthyReplica()).thenReturn(Optional.of("replica-1"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("replica-1");
+    }
+
+    @Test
+    void fallsBackToPrimaryWithoutHealthyReplica() {
+        when(replicaRegistry.nextHealthyReplica()).thenReturn(Optional.empty());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void keepsWritesOnPrimary() {
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        verify(replicaRegistry, never()).nextHealthyReplica();
+    }
+}
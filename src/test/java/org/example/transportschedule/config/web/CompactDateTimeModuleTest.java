@@ -0,0 +1,53 @@
+package org.example.transportschedule.config.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.example.transportschedule.model.dto.BusDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactDateTimeModuleTest {
+
+    private static final BusDTO BUS = new BusDTO("Москва", "Тверь", 500,
+            LocalDateTime.of(2026, 10, 19, 10, 0), LocalDateTime.of(2026, 10, 19, 13, 30));
+
+    private final ObjectMapper cborMapper =
+            BinaryFormatConfig.binaryObjectMapper(Jackson2ObjectMapperBuilder.json(), new CBORFactory());
+    private final ObjectMapper smileMapper =
+            BinaryFormatConfig.binaryObjectMapper(Jackson2ObjectMapperBuilder.json(), new SmileFactory());
+
+    @Test
+    void writesDatesAsEpochSeconds() throws Exception {
+        JsonNode bus = cborMapper.readTree(cborMapper.writeValueAsBytes(BUS));
+
+        assertThat(bus.get("dateOfDeparture").isIntegralNumber()).isTrue();
+        assertThat(bus.get("dateOfDeparture").asLong()).isEqualTo(BUS.dateOfDeparture().toEpochSecond(ZoneOffset.UTC));
+        assertThat(bus.get("dateOfArrival").asLong()).isEqualTo(BUS.dateOfArrival().toEpochSecond(ZoneOffset.UTC));
+    }
+
+    @Test
+    void readsBackWhatItWrites() throws Exception {
+        assertThat(cborMapper.readValue(cborMapper.writeValueAsBytes(BUS), BusDTO.class)).isEqualTo(BUS);
+        assertThat(smileMapper.readValue(smileMapper.writeValueAsBytes(BUS), BusDTO.class)).isEqualTo(BUS);
+    }
+
+    @Test
+    void acceptsDtoDateFormat() throws Exception {
+        byte[] body = cborMapper.writeValueAsBytes(Map.of(
+                "cityFrom", "Москва",
+                "cityTo", "Тверь",
+                "price", 500,
+                "dateOfDeparture", "19.10.2026 10:00",
+                "dateOfArrival", "19.10.2026 13:30"));
+
+        assertThat(cborMapper.readValue(body, BusDTO.class)).isEqualTo(BUS);
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.transportschedule.controller.bus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.example.transportschedule.config.web.BinaryFormatConfig;
+import org.example.transportschedule.controller.support.ScheduleETags;
+import org.example.transportschedule.model.dto.BusDTO;
+import org.example.transportschedule.model.enums.TransportType;
+import org.example.transportschedule.service.bus.BusService;
+import org.example.transportschedule.service.version.ScheduleVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.accept.ContentNegotiationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Выбор формата ответа по Accept и ETag, различающийся по формату.
+ */
+class BusControllerFormatTest {
+
+    private static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+    private static final BusDTO BUS = new BusDTO("Москва", "Тверь", 500,
+            LocalDateTime.of(2026, 10, 19, 10, 0), LocalDateTime.of(2026, 10, 19, 13, 30));
+
+    private final BusService busService = mock(BusService.class);
+    private final ScheduleVersionService scheduleVersionService = mock(ScheduleVersionService.class);
+    private final ObjectMapper cborMapper =
+            BinaryFormatConfig.binaryObjectMapper(Jackson2ObjectMapperBuilder.json(), new CBORFactory());
+    private final ObjectMapper smileMapper =
+            BinaryFormatConfig.binaryObjectMapper(Jackson2ObjectMapperBuilder.json(), new SmileFactory());
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ScheduleETags scheduleETags = new ScheduleETags(scheduleVersionService, new ContentNegotiationManager());
+        mockMvc = MockMvcBuilders.standaloneSetup(new BusController(busService, scheduleETags))
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .setMessageConverters(
+                        new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build()),
+                        new MappingJackson2CborHttpMessageConverter(cborMapper),
+                        new MappingJackson2SmileHttpMessageConverter(smileMapper))
+                .build();
+
+        when(busService.getBusById(1L)).thenReturn(BUS);
+        when(busService.getAllBuses(any())).thenReturn(new PageImpl<>(List.of(BUS), PageRequest.of(0, 20), 1));
+        when(scheduleVersionService.currentVersion(TransportType.BUS)).thenReturn("42");
+    }
+
+    @Test
+    void respondsWithJsonByDefault() throws Exception {
+        mockMvc.perform(get("/api/buses/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.dateOfDeparture").value("19.10.2026 10:00"));
+    }
+
+    @Test
+    void respondsWithCborWhenAccepted() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/buses/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        assertThat(cborMapper.readValue(result.getResponse().getContentAsByteArray(), BusDTO.class)).isEqualTo(BUS);
+    }
+
+    @Test
+    void respondsWithSmileWhenAccepted() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/buses/1").accept(APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_SMILE))
+                .andReturn();
+
+        assertThat(smileMapper.readValue(result.getResponse().getContentAsByteArray(), BusDTO.class)).isEqualTo(BUS);
+    }
+
+    @Test
+    void eTagDependsOnNegotiatedFormat() throws Exception {
+        mockMvc.perform(get("/api/buses"))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"bus-42\""));
+        mockMvc.perform(get("/api/buses").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"bus-42-cbor\""));
+        mockMvc.perform(get("/api/buses").accept(APPLICATION_SMILE))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"bus-42-smile\""));
+    }
+
+    @Test
+    void jsonETagDoesNotMatchBinaryResponse() throws Exception {
+        mockMvc.perform(get("/api/buses").header(HttpHeaders.IF_NONE_MATCH, "W/\"bus-42\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/buses").accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"bus-42\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"bus-42-cbor\""));
+    }
+}
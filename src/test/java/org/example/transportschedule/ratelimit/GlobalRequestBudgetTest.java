@@ -0,0 +1,91 @@
+package org.example.transportschedule.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GlobalRequestBudgetTest {
+
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.increment(anyString(), anyLong())).thenAnswer(invocation -> counters
+                .computeIfAbsent(invocation.getArgument(0), key -> new AtomicLong())
+                .addAndGet(invocation.getArgument(1)));
+    }
+
+    @Test
+    void grantsExactlyBudgetPerWindowAcrossNodes() {
+        GlobalRequestBudget first = budget(25, 10);
+        GlobalRequestBudget second = budget(25, 10);
+
+        int granted = 0;
+        for (int i = 0; i < 40; i++) {
+            if ((i % 2 == 0 ? first : second).tryAcquire()) {
+                granted++;
+            }
+        }
+
+        assertThat(granted).isEqualTo(25);
+    }
+
+    @Test
+    void startsNewBudgetInNextWindow() {
+        GlobalRequestBudget budget = budget(3, 3);
+        for (int i = 0; i < 3; i++) {
+            assertThat(budget.tryAcquire()).isTrue();
+        }
+        assertThat(budget.tryAcquire()).isFalse();
+
+        now.addAndGet(1000);
+        assertThat(budget.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void releasedPermitCanBeReused() {
+        GlobalRequestBudget budget = budget(1, 1);
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+
+        budget.release();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void doesNotLimitWhenRedisIsUnavailable() {
+        when(valueOperations.increment(anyString(), anyLong()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        GlobalRequestBudget budget = budget(5, 5);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(budget.tryAcquire()).isTrue();
+        }
+    }
+
+    private GlobalRequestBudget budget(int requestsPerSecond, int leaseSize) {
+        RateLimitProperties.Global properties = new RateLimitProperties.Global();
+        properties.setRequestsPerSecond(requestsPerSecond);
+        properties.setLeaseSize(leaseSize);
+        return new GlobalRequestBudget(redisTemplate, properties, Runnable::run, now::get);
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.transportschedule.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TokenBucketLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final TokenBucketLimiter limiter = new TokenBucketLimiter(client(5, 1), now::get);
+
+    @Test
+    void allowsBurstUpToCapacityAndReportsWait() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryConsume("ip:1", 1)).isZero();
+        }
+
+        assertThat(limiter.tryConsume("ip:1", 1)).isCloseTo(TimeUnit.SECONDS.toNanos(1), within(1L));
+        assertThat(limiter.tryConsume("ip:1", 3)).isCloseTo(TimeUnit.SECONDS.toNanos(3), within(1L));
+        assertThat(limiter.tryConsume("ip:2", 1)).isZero();
+    }
+
+    @Test
+    void refillsOverTimeUpToCapacity() {
+        assertThat(limiter.tryConsume("ip:1", 5)).isZero();
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(2500));
+        assertThat(limiter.tryConsume("ip:1", 2)).isZero();
+        assertThat(limiter.tryConsume("ip:1", 1)).isPositive();
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        assertThat(limiter.tryConsume("ip:1", 5)).isZero();
+        assertThat(limiter.tryConsume("ip:1", 1)).isPositive();
+    }
+
+    @Test
+    void refundReturnsTokensWithoutExceedingCapacity() {
+        assertThat(limiter.tryConsume("ip:1", 5)).isZero();
+
+        limiter.refund("ip:1", 3);
+        assertThat(limiter.tryConsume("ip:1", 3)).isZero();
+        assertThat(limiter.tryConsume("ip:1", 1)).isPositive();
+
+        limiter.refund("ip:1", 100);
+        assertThat(limiter.tryConsume("ip:1", 5)).isZero();
+        assertThat(limiter.tryConsume("ip:1", 1)).isPositive();
+    }
+
+    private static RateLimitProperties.Client client(int capacity, double refillPerSecond) {
+        RateLimitProperties.Client client = new RateLimitProperties.Client();
+        client.setCapacity(capacity);
+        client.setRefillPerSecond(refillPerSecond);
+        client.setStripes(4);
+        return client;
+    }
+}
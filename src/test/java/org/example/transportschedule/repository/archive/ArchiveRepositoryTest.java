@@ -0,0 +1,110 @@
+package org.example.transportschedule.repository.archive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Перенос рейсов в историю на настоящем PostgreSQL: запросы используют секционирование,
+ * data-modifying CTE и внешний ключ исторических остановок, которых нет в схеме H2 от Hibernate.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ArchiveRepository.class)
+class ArchiveRepositoryTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.now().withNano(0).minusDays(1);
+
+    @Autowired
+    private ArchiveRepository archiveRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Test
+    void movesDepartedBusesOnly() {
+        insertTrip("buses", 101, CUTOFF.minusDays(3));
+        insertTrip("buses", 102, CUTOFF.plusDays(3));
+
+        List<Object[]> moved = archiveRepository.moveBusesToHistory(CUTOFF, 10);
+
+        assertThat(moved).extracting(row -> ((Number) row[0]).longValue()).containsExactly(101L);
+        assertThat(count("select count(*) from buses_history where id = 101")).isOne();
+        assertThat(count("select count(*) from buses where id in (101, 102)")).isOne();
+    }
+
+    @Test
+    void movesDepartedTrainWithStopsInRouteOrder() {
+        insertTrain(201, CUTOFF.minusDays(3), "Владимир", "Нижний Новгород", "Казань");
+
+        List<Object[]> moved = archiveRepository.moveTrainsToHistory(
+                archiveRepository.findTrainIdsDepartedBefore(CUTOFF, 10), CUTOFF);
+
+        assertThat(moved).extracting(row -> ((Number) row[0]).longValue()).containsExactly(201L);
+        assertThat(jdbcTemplate.queryForList(
+                "select stop_list from train_stop_list_history where train_id = 201 order by stop_order", String.class))
+                .containsExactly("Владимир", "Нижний Новгород", "Казань");
+        assertThat(count("select count(*) from trains where id = 201")).isZero();
+        assertThat(count("select count(*) from train_stop_list where train_id = 201")).isZero();
+    }
+
+    @Test
+    void keepsStopsOfTrainRedatedAfterSelection() {
+        insertTrain(301, CUTOFF.minusDays(3), "Владимир", "Нижний Новгород");
+        insertTrain(302, CUTOFF.minusDays(2), "Тверь");
+        List<Long> selected = archiveRepository.findTrainIdsDepartedBefore(CUTOFF, 10);
+
+        // Поезд перенесли на будущую дату между выбором пачки и переносом
+        jdbcTemplate.update("update trains set date_of_departure = ?, date_of_arrival = ? where id = 301",
+                CUTOFF.plusDays(5), CUTOFF.plusDays(5).plusHours(4));
+        List<Object[]> moved = archiveRepository.moveTrainsToHistory(selected, CUTOFF);
+
+        assertThat(moved).extracting(row -> ((Number) row[0]).longValue()).containsExactly(302L);
+        assertThat(count("select count(*) from trains where id = 301")).isOne();
+        assertThat(count("select count(*) from train_stop_list where train_id = 301")).isEqualTo(2);
+        assertThat(count("select count(*) from train_stop_list_history where train_id = 301")).isZero();
+        assertThat(count("select count(*) from train_stop_list_history where train_id = 302")).isOne();
+    }
+
+    private void insertTrain(long id, LocalDateTime departure, String... stops) {
+        insertTrip("trains", id, departure);
+        for (int i = 0; i < stops.length; i++) {
+            jdbcTemplate.update("insert into train_stop_list (train_id, stop_list, stop_order) values (?, ?, ?)",
+                    id, stops[i], i);
+        }
+    }
+
+    private void insertTrip(String table, long id, LocalDateTime departure) {
+        jdbcTemplate.update("insert into " + table
+                        + " (id, city_from, city_to, date_of_departure, date_of_arrival, price) values (?, ?, ?, ?, ?, ?)",
+                id, "Москва", "Казань", departure, departure.plusHours(4), 1000);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.transportschedule.repository.train;
+
+import org.example.transportschedule.model.dto.TrainDTO;
+import org.example.transportschedule.model.entity.Train;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверка, что чтение поездов с остановками не вырождается в N+1 запросов.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class TrainRepositoryQueryCountTest {
+
+    private static final int TRAIN_COUNT = 10;
+
+    @Autowired
+    private TrainRepository trainRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < TRAIN_COUNT; i++) {
+            entityManager.persist(train(i, "Москва", "Казань", List.of("Владимир", "Нижний Новгород")));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAllTrainDTOsLoadsStopListsInOneQuery() {
+        Page<TrainDTO> page = trainRepository.findAllTrainDTOs(PageRequest.of(0, 5, Sort.by("dateOfArrival")));
+
+        assertThat(page.getContent()).hasSize(5)
+                .allSatisfy(train -> assertThat(train.stopList()).containsExactly("Владимир", "Нижний Новгород"));
+        assertThat(page.getTotalElements()).isEqualTo(TRAIN_COUNT);
+        // Поезда страницы, остановки всей страницы и подсчет общего количества
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    void findTrainDTOsByCitiesLoadsStopListsInOneQuery() {
+        List<TrainDTO> trains = trainRepository.findTrainDTOsByCities("Владимир", "Казань");
+
+        assertThat(trains).hasSize(TRAIN_COUNT)
+                .allSatisfy(train -> assertThat(train.stopList()).hasSize(2));
+        // Найденные поезда и остановки всех найденных поездов
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    private Train train(int index, String cityFrom, String cityTo, List<String> stops) {
+        Train train = new Train();
+        train.setCityFrom(cityFrom);
+        train.setCityTo(cityTo);
+        train.setPrice(1000.0 + index);
+        train.setDateOfDeparture(LocalDateTime.of(2025, 3, 1, 8, 0).plusHours(index));
+        train.setDateOfArrival(LocalDateTime.of(2025, 3, 1, 20, 0).plusHours(index));
+        train.setStopList(new ArrayList<>(stops));
+        return train;
+    }
+}
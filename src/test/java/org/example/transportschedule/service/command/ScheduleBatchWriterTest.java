@@ -0,0 +1,82 @@
+package org.example.transportschedule.service.command;
+
+import org.example.transportschedule.exception.BusNotFoundException;
+import org.example.transportschedule.mapper.bus.BusMapper;
+import org.example.transportschedule.mapper.train.TrainMapper;
+import org.example.transportschedule.model.dto.BusDTO;
+import org.example.transportschedule.model.entity.Bus;
+import org.example.transportschedule.model.enums.TransportType;
+import org.example.transportschedule.model.event.ScheduleChangedEvent;
+import org.example.transportschedule.repository.bus.BusRepository;
+import org.example.transportschedule.repository.train.TrainRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ScheduleBatchWriterTest {
+
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2026, 10, 20, 10, 0);
+
+    private final BusRepository busRepository = mock(BusRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final ScheduleBatchWriter batchWriter = new ScheduleBatchWriter(busRepository,
+            mock(TrainRepository.class), mock(BusMapper.class), mock(TrainMapper.class), eventPublisher);
+
+    @Test
+    void appliesLastUpdateOfTripInBatch() {
+        Bus bus = bus(1, "Тверь", 500);
+        when(busRepository.findAllById(any())).thenReturn(List.of(bus));
+        ScheduleCommand first = ScheduleCommand.updateBus(1, busDTO("Клин", 300));
+        ScheduleCommand last = ScheduleCommand.updateBus(1, busDTO("Тверь", 700));
+
+        List<CommandOutcome> outcomes = batchWriter.apply(List.of(first, last));
+
+        assertThat(bus.getCityTo()).isEqualTo("Тверь");
+        assertThat(bus.getPrice()).isEqualTo(700);
+        assertThat(outcomes).extracting(CommandOutcome::command).containsExactly(first, last);
+        assertThat(outcomes).allSatisfy(outcome -> assertThat(outcome.isApplied()).isTrue());
+
+        // Одно событие на рейс: от исходного состояния к последнему
+        ArgumentCaptor<ScheduleChangedEvent> event = ArgumentCaptor.forClass(ScheduleChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().type()).isEqualTo(TransportType.BUS);
+        assertThat(event.getValue().before().price()).isEqualTo(500);
+        assertThat(event.getValue().after().price()).isEqualTo(700);
+    }
+
+    @Test
+    void failsAllUpdatesOfMissingTrip() {
+        when(busRepository.findAllById(any())).thenReturn(List.of());
+        ScheduleCommand first = ScheduleCommand.updateBus(2, busDTO("Клин", 300));
+        ScheduleCommand last = ScheduleCommand.updateBus(2, busDTO("Тверь", 700));
+
+        List<CommandOutcome> outcomes = batchWriter.apply(List.of(first, last));
+
+        assertThat(outcomes).hasSize(2).allSatisfy(outcome ->
+                assertThat(outcome.error()).isEqualTo(new BusNotFoundException(2L).getMessage()));
+    }
+
+    private static BusDTO busDTO(String cityTo, double price) {
+        return new BusDTO("Москва", cityTo, price, DEPARTURE, DEPARTURE.plusHours(3));
+    }
+
+    private static Bus bus(long id, String cityTo, double price) {
+        Bus bus = new Bus();
+        bus.setId(id);
+        bus.setCityFrom("Москва");
+        bus.setCityTo(cityTo);
+        bus.setPrice(price);
+        bus.setDateOfDeparture(DEPARTURE);
+        bus.setDateOfArrival(DEPARTURE.plusHours(3));
+        return bus;
+    }
+}
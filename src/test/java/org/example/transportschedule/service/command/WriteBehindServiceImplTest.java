@@ -0,0 +1,116 @@
+package org.example.transportschedule.service.command;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.transportschedule.exception.WriteQueueFullException;
+import org.example.transportschedule.model.dto.BusDTO;
+import org.example.transportschedule.model.dto.CommandReceiptDTO;
+import org.example.transportschedule.model.enums.CommandStatus;
+import org.example.transportschedule.service.redis.RedisService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WriteBehindServiceImplTest {
+
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2026, 10, 20, 10, 0);
+
+    private final ScheduleBatchWriter batchWriter = mock(ScheduleBatchWriter.class);
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+    private final Map<String, CommandReceiptDTO> receipts = new ConcurrentHashMap<>();
+    private final CountDownLatch completedReceipts = new CountDownLatch(3);
+    private final WriteBehindServiceImpl writeBehindService = new WriteBehindServiceImpl(batchWriter,
+            mock(RedisService.class), redisTemplate, new ObjectMapper());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(writeBehindService, "queueCapacity", 100);
+        ReflectionTestUtils.setField(writeBehindService, "batchSize", 10);
+        ReflectionTestUtils.setField(writeBehindService, "receiptTtlMinutes", 60L);
+        ReflectionTestUtils.setField(writeBehindService, "shutdownTimeout", Duration.ofSeconds(5));
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        doAnswer(invocation -> {
+            CommandReceiptDTO receipt = invocation.getArgument(1);
+            receipts.put(receipt.receiptId(), receipt);
+            if (receipt.completedAt() != null) {
+                completedReceipts.countDown();
+            }
+            return null;
+        }).when(valueOperations).set(anyString(), any(), any(Duration.class));
+
+        writeBehindService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writeBehindService.isRunning()) {
+            writeBehindService.stop();
+        }
+    }
+
+    @Test
+    void appliesCommandsOneByOneAfterBatchRollback() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        BusDTO invalid = bus("Тверь", -1);
+        when(batchWriter.apply(any())).thenAnswer(invocation -> {
+            List<ScheduleCommand> commands = invocation.getArgument(0);
+            if (firstBatchStarted.getCount() > 0) {
+                // Первая пачка задерживается, пока в очередь не встанут остальные команды
+                firstBatchStarted.countDown();
+                releaseFirstBatch.await(5, TimeUnit.SECONDS);
+            }
+            if (commands.stream().anyMatch(command -> command.bus() == invalid)) {
+                throw new DataIntegrityViolationException("price must not be negative");
+            }
+            return commands.stream().map(command -> CommandOutcome.applied(command, 1L)).toList();
+        });
+
+        CommandReceiptDTO warmUp = writeBehindService.submitAddBus(bus("Клин", 300));
+        assertThat(firstBatchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CommandReceiptDTO valid = writeBehindService.submitAddBus(bus("Тверь", 500));
+        CommandReceiptDTO rejected = writeBehindService.submitAddBus(invalid);
+        releaseFirstBatch.countDown();
+
+        assertThat(completedReceipts.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(receipts.get(warmUp.receiptId()).status()).isEqualTo(CommandStatus.APPLIED);
+        assertThat(receipts.get(valid.receiptId()).status()).isEqualTo(CommandStatus.APPLIED);
+        assertThat(receipts.get(rejected.receiptId()).status()).isEqualTo(CommandStatus.FAILED);
+        assertThat(receipts.get(rejected.receiptId()).error()).isEqualTo("price must not be negative");
+    }
+
+    @Test
+    void rejectsCommandsAfterStop() {
+        writeBehindService.stop();
+
+        assertThatThrownBy(() -> writeBehindService.submitAddBus(bus("Тверь", 500)))
+                .isInstanceOf(WriteQueueFullException.class);
+    }
+
+    private static BusDTO bus(String cityTo, double price) {
+        return new BusDTO("Москва", cityTo, price, DEPARTURE, DEPARTURE.plusHours(3));
+    }
+}
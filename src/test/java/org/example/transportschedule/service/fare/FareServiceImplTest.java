@@ -0,0 +1,78 @@
+package org.example.transportschedule.service.fare;
+
+import org.example.transportschedule.model.dto.FareAdjustmentDTO;
+import org.example.transportschedule.model.dto.FareAdjustmentResultDTO;
+import org.example.transportschedule.model.entity.Bus;
+import org.example.transportschedule.model.enums.TransportType;
+import org.example.transportschedule.repository.fare.FareRepository;
+import org.example.transportschedule.repository.outbox.OutboxRepository;
+import org.example.transportschedule.service.redis.RedisService;
+import org.example.transportschedule.service.stats.CorridorStatsService;
+import org.example.transportschedule.service.version.ScheduleVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FareServiceImplTest {
+
+    private static final FareAdjustmentDTO RULE =
+            new FareAdjustmentDTO(TransportType.BUS, "Москва", null, null, null, null, 10.0, null);
+
+    private final FareRepository fareRepository = mock(FareRepository.class);
+    private final CorridorStatsService corridorStatsService = mock(CorridorStatsService.class);
+    private final ScheduleVersionService scheduleVersionService = mock(ScheduleVersionService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final FareServiceImpl fareService = new FareServiceImpl(fareRepository, mock(OutboxRepository.class),
+            mock(RedisService.class), corridorStatsService, scheduleVersionService,
+            new TransactionTemplate(transactionManager));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(fareService, "chunkSize", 10);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(fareRepository.findIdRange(Bus.class, RULE)).thenReturn(Optional.of(new long[]{1, 30}));
+    }
+
+    @Test
+    void bumpsVersionOncePerRule() {
+        when(fareRepository.applyAdjustment(eq(Bus.class), eq(RULE), anyLong(), anyLong()))
+                .thenReturn(List.of(1L), List.of(15L), List.of(30L));
+
+        FareAdjustmentResultDTO result = fareService.adjustFares(RULE);
+
+        assertThat(result.busesUpdated()).isEqualTo(3);
+        assertThat(result.chunks()).isEqualTo(3);
+        assertThat(result.completed()).isTrue();
+        verify(scheduleVersionService, times(1)).bump(TransportType.BUS);
+        verify(corridorStatsService, times(1)).requestFullRefresh(TransportType.BUS);
+    }
+
+    @Test
+    void reportsPartialResultWhenChunkFails() {
+        when(fareRepository.applyAdjustment(eq(Bus.class), eq(RULE), anyLong(), anyLong()))
+                .thenReturn(List.of(1L, 2L))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        FareAdjustmentResultDTO result = fareService.adjustFares(RULE);
+
+        assertThat(result.busesUpdated()).isEqualTo(2);
+        assertThat(result.completed()).isFalse();
+        verify(scheduleVersionService, times(1)).bump(TransportType.BUS);
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.transportschedule.service.partition;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Миграции на настоящем PostgreSQL: основные тесты работают на H2 со схемой от Hibernate
+ * и секционирование не проверяют.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SchedulePartitionMigrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .load()
+                .migrate();
+    }
+
+    @Test
+    void createsPartitionForMonthWithRowsInDefaultPartition() throws SQLException {
+        LocalDate month = LocalDate.now().withDayOfMonth(1).plusMonths(24);
+        String partition = "buses_p" + month.format(DateTimeFormatter.ofPattern("yyyy_MM"));
+
+        try (Connection connection = connect()) {
+            long id = insertBus(connection, null, month.atTime(10, 0));
+            assertThat(partitionOf(connection, id)).isEqualTo("buses_default");
+
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "select create_monthly_partitions('buses', ?, ?)")) {
+                statement.setObject(1, month);
+                statement.setObject(2, month.plusMonths(1));
+                statement.execute();
+            }
+
+            assertThat(partitionOf(connection, id)).isEqualTo(partition);
+            assertThat(queryLong(connection,
+                    "select count(*) from pg_inherits where inhrelid = 'buses_default'::regclass")).isOne();
+        }
+    }
+
+    @Test
+    void sequenceIdsStayUniqueAcrossPartitions() throws SQLException {
+        try (Connection connection = connect()) {
+            LocalDateTime departure = LocalDate.now().withDayOfMonth(1).atTime(10, 0);
+            long first = insertBus(connection, null, departure);
+            long second = insertBus(connection, null, departure.plusMonths(1));
+
+            assertThat(second).isNotEqualTo(first);
+            assertThat(partitionOf(connection, second)).isNotEqualTo(partitionOf(connection, first));
+            assertThat(queryLong(connection,
+                    "select count(*) from pg_trigger where tgname in ('buses_id_unique', 'trains_id_unique')")).isZero();
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    private static long insertBus(Connection connection, Long id, LocalDateTime departure) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+                insert into buses (id, city_from, city_to, date_of_departure, date_of_arrival, price)
+                values (coalesce(?, nextval('buses_id_seq')), 'Москва', 'Тверь', ?, ?, 500)
+                returning id""")) {
+            statement.setObject(1, id, Types.BIGINT);
+            statement.setTimestamp(2, Timestamp.valueOf(departure));
+            statement.setTimestamp(3, Timestamp.valueOf(departure.plusHours(3)));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private static String partitionOf(Connection connection, long id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select tableoid::regclass::text from buses where id = ?")) {
+            statement.setLong(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
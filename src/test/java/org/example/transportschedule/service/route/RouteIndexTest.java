@@ -0,0 +1,62 @@
+package org.example.transportschedule.service.route;
+
+import org.example.transportschedule.model.dto.RouteDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+    private final RouteIndex index = new RouteIndex();
+
+    @Test
+    void countsTripFromOriginAndIntermediateStops() {
+        index.put(1, "Москва", "Казань", List.of("Владимир", "Нижний Новгород"), NOW.plusHours(2));
+        index.put(2, "Москва", "Казань", List.of(), NOW.plusHours(5));
+
+        assertThat(index.routesFrom("Москва", NOW))
+                .containsExactly(new RouteDTO("Москва", "Казань", 2, NOW.plusHours(2)));
+        assertThat(index.routesFrom("Владимир", NOW))
+                .containsExactly(new RouteDTO("Владимир", "Казань", 1, NOW.plusHours(2)));
+        assertThat(index.cities()).containsExactlyInAnyOrder("Москва", "Владимир", "Нижний Новгород");
+    }
+
+    @Test
+    void reportsNearestDepartureAfterNow() {
+        index.put(1, "Москва", "Тверь", List.of(), NOW.minusHours(1));
+        index.put(2, "Москва", "Тверь", List.of(), NOW.plusHours(3));
+
+        assertThat(index.routesFrom("Москва", NOW))
+                .containsExactly(new RouteDTO("Москва", "Тверь", 2, NOW.plusHours(3)));
+    }
+
+    @Test
+    void replacesPreviousStateOfSameTrip() {
+        index.put(1, "Москва", "Тверь", List.of(), NOW.plusHours(1));
+        index.put(1, "Москва", "Казань", List.of(), NOW.plusHours(2));
+
+        assertThat(index.routesFrom("Москва", NOW))
+                .containsExactly(new RouteDTO("Москва", "Казань", 1, NOW.plusHours(2)));
+    }
+
+    @Test
+    void ignoresRepeatedChanges() {
+        index.put(1, "Москва", "Тверь", List.of("Клин"), NOW.plusHours(1));
+        index.put(1, "Москва", "Тверь", List.of("Клин"), NOW.plusHours(1));
+        index.remove(2);
+
+        assertThat(index.routesFrom("Клин", NOW))
+                .containsExactly(new RouteDTO("Клин", "Тверь", 1, NOW.plusHours(1)));
+
+        index.remove(1);
+        index.remove(1);
+
+        assertThat(index.routesFrom("Москва", NOW)).isEmpty();
+        assertThat(index.routesFrom("Клин", NOW)).isEmpty();
+    }
+}
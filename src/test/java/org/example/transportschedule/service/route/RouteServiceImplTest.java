@@ -0,0 +1,84 @@
+package org.example.transportschedule.service.route;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.transportschedule.model.dto.RouteDTO;
+import org.example.transportschedule.model.dto.ScheduleChangeDTO;
+import org.example.transportschedule.model.enums.ChangeType;
+import org.example.transportschedule.model.enums.TransportType;
+import org.example.transportschedule.model.event.TripSnapshot;
+import org.example.transportschedule.repository.bus.BusRepository;
+import org.example.transportschedule.repository.train.TrainRepository;
+import org.example.transportschedule.service.redis.RedisService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RouteServiceImplTest {
+
+    private static final LocalDateTime DEPARTURE = LocalDateTime.now().plusDays(1).withSecond(0).withNano(0);
+
+    private final BusRepository busRepository = mock(BusRepository.class);
+    private final TrainRepository trainRepository = mock(TrainRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final RouteServiceImpl routeService = new RouteServiceImpl(busRepository, trainRepository,
+            mock(RedisService.class), objectMapper, transactionManager);
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(trainRepository.streamRouteRows()).thenReturn(Stream.empty());
+    }
+
+    @Test
+    void appliesPublishedChangesAfterRebuild() throws Exception {
+        when(busRepository.streamRouteRows()).thenReturn(Stream.empty());
+        routeService.rebuild();
+
+        String created = change(1, ChangeType.CREATED, trip("Тверь"));
+        routeService.onScheduleChange(created);
+        // Повтор сообщения после сбоя ретранслятора
+        routeService.onScheduleChange(created);
+
+        assertThat(routeService.getRoutesFromCity(TransportType.BUS, "Москва"))
+                .containsExactly(new RouteDTO("Москва", "Тверь", 1, DEPARTURE));
+
+        routeService.onScheduleChange(change(1, ChangeType.DELETED, null));
+
+        assertThat(routeService.getRoutesFromCity(TransportType.BUS, "Москва")).isEmpty();
+    }
+
+    @Test
+    void replaysChangesReceivedDuringRebuild() {
+        when(busRepository.streamRouteRows()).thenAnswer(invocation -> {
+            // Рейс изменили, пока курсор перестроения читал его прежнее состояние
+            routeService.onScheduleChange(change(1, ChangeType.UPDATED, trip("Казань")));
+            return Stream.<Object[]>of(new Object[]{1L, "Москва", "Тверь", DEPARTURE});
+        });
+
+        routeService.rebuild();
+
+        assertThat(routeService.getRoutesFromCity(TransportType.BUS, "Москва"))
+                .containsExactly(new RouteDTO("Москва", "Казань", 1, DEPARTURE));
+    }
+
+    private static TripSnapshot trip(String cityTo) {
+        return new TripSnapshot("Москва", cityTo, List.of(), 500, DEPARTURE, DEPARTURE.plusHours(3));
+    }
+
+    private String change(long id, ChangeType changeType, TripSnapshot after) throws Exception {
+        return objectMapper.writeValueAsString(new ScheduleChangeDTO(id, id, TransportType.BUS, id, changeType,
+                null, after, LocalDateTime.now()));
+    }
+}
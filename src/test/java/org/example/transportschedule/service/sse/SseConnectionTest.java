@@ -0,0 +1,72 @@
+package org.example.transportschedule.service.sse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class SseConnectionTest {
+
+    private static final Set<DataWithMediaType> FRAME = SseEmitter.event().data("{}").build();
+
+    private final SseEmitter emitter = mock(SseEmitter.class);
+    private final List<Runnable> writerTasks = new ArrayList<>();
+    private final List<Runnable> slowWriterTasks = new ArrayList<>();
+    private final Executor writer = writerTasks::add;
+    private final Executor slowWriter = slowWriterTasks::add;
+
+    @Test
+    void keepsFastConnectionOnWriterPool() throws Exception {
+        SseConnection connection = new SseConnection(emitter, Set.of("city:Москва"), 8, writer, slowWriter,
+                1000, c -> {
+        });
+
+        connection.enqueue(FRAME);
+        connection.enqueue(FRAME);
+        writerTasks.remove(0).run();
+
+        verify(emitter, times(2)).send(anySet());
+        assertThat(connection.isSlow()).isFalse();
+        assertThat(writerTasks).isEmpty();
+        assertThat(slowWriterTasks).isEmpty();
+    }
+
+    @Test
+    void movesSlowConnectionToSlowWriterPool() throws Exception {
+        doAnswer(invocation -> {
+            Thread.sleep(20);
+            return null;
+        }).when(emitter).send(any(Set.class));
+        SseConnection connection = new SseConnection(emitter, Set.of("city:Москва"), 8, writer, slowWriter,
+                5, c -> {
+        });
+
+        connection.enqueue(FRAME);
+        connection.enqueue(FRAME);
+        writerTasks.remove(0).run();
+
+        // Первый кадр записан потоком общего пула, остаток очереди передан пулу медленных соединений
+        verify(emitter, times(1)).send(anySet());
+        assertThat(connection.isSlow()).isTrue();
+        assertThat(slowWriterTasks).hasSize(1);
+
+        slowWriterTasks.remove(0).run();
+        connection.enqueue(FRAME);
+
+        verify(emitter, times(2)).send(anySet());
+        assertThat(writerTasks).isEmpty();
+        assertThat(slowWriterTasks).hasSize(1);
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.transportschedule.service.train;
+
+import org.example.transportschedule.mapper.train.TrainMapperImpl;
+import org.example.transportschedule.model.dto.TrainDTO;
+import org.example.transportschedule.model.entity.Train;
+import org.example.transportschedule.service.export.NdjsonExporter;
+import org.example.transportschedule.service.route.RouteService;
+import org.example.transportschedule.support.SqlStatementCounting;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.transportschedule.support.SqlStatementCounting.assertStatements;
+
+/**
+ * Количество SQL-запросов сервисных методов чтения поездов не зависит от числа поездов (нет N+1 по stopList).
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@Import({TrainServiceImpl.class, TrainMapperImpl.class, SqlStatementCounting.class})
+class TrainServiceSqlStatementsTest {
+
+    private static final int TRAIN_COUNT = 10;
+
+    @Autowired
+    private TrainServiceImpl trainService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private RouteService routeService;
+
+    @MockitoBean
+    private NdjsonExporter ndjsonExporter;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < TRAIN_COUNT; i++) {
+            entityManager.persist(train(i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getAllTrainsExecutesConstantNumberOfStatements() {
+        // Поезда страницы, остановки всей страницы и подсчет общего количества
+        Page<TrainDTO> page = assertStatements(3, () -> trainService.getAllTrains(PageRequest.of(0, 5)));
+
+        assertThat(page.getContent()).hasSize(5)
+                .allSatisfy(train -> assertThat(train.stopList()).hasSize(2));
+    }
+
+    @Test
+    void findTrainsByCitiesExecutesConstantNumberOfStatements() {
+        // Найденные поезда и остановки всех найденных поездов
+        List<TrainDTO> trains = assertStatements(2, () -> trainService.findTrainsByCities("Москва", "Казань"));
+
+        assertThat(trains).hasSize(TRAIN_COUNT);
+    }
+
+    private Train train(int index) {
+        Train train = new Train();
+        train.setCityFrom("Москва");
+        train.setCityTo("Казань");
+        train.setPrice(1000.0 + index);
+        train.setDateOfDeparture(LocalDateTime.of(2025, 3, 1, 8, 0).plusHours(index));
+        train.setDateOfArrival(LocalDateTime.of(2025, 3, 1, 20, 0).plusHours(index));
+        train.setStopList(new ArrayList<>(List.of("Владимир", "Нижний Новгород")));
+        return train;
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.transportschedule.support;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.example.transportschedule.config.sql.SqlStatistics;
+import org.example.transportschedule.config.sql.SqlStatisticsListener;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Подсчет JDBC-запросов в тестах срезов (@DataJpaTest и т.п.), где прокси datasource-micrometer не поднимается.
+ * Подключается через {@code @Import(SqlStatementCounting.class)}; источник данных оборачивается тем же
+ * слушателем, что и в приложении, поэтому учитываются все запросы, включая ленивые загрузки коллекций.
+ * <pre>
+ * List&lt;TrainDTO&gt; trains = SqlStatementCounting.assertStatements(2, () -&gt; trainService.findTrainsByCities(from, to));
+ * </pre>
+ */
+@TestConfiguration
+public class SqlStatementCounting {
+
+    @Bean
+    static BeanPostProcessor sqlStatementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlStatisticsListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Выполняет действие и проверяет количество выполненных им JDBC-запросов.
+     *
+     * @param expected ожидаемое количество запросов
+     * @param action   проверяемое действие
+     * @return результат действия
+     */
+    public static <T> T assertStatements(long expected, Supplier<T> action) {
+        SqlStatistics.Measured<T> measured = SqlStatistics.measure(action);
+        assertThat(measured.statistics().statements())
+                .as("JDBC statements")
+                .isEqualTo(expected);
+        return measured.result();
+    }
+}